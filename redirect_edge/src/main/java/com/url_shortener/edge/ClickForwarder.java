@@ -0,0 +1,130 @@
+package com.url_shortener.edge;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Forwards the clicks of redirects answered here to the management API, which
+ * feeds them to the same click counter, rollups, visitor sketches and trending
+ * summaries as its own redirects.
+ *
+ * Recording only appends to a bounded queue, so the redirect never waits on
+ * the management API. A scheduled flush posts the queue in batches; a batch
+ * that fails is put back and retried on the next flush. Clicks arriving at a
+ * full queue are dropped and counted.
+ *
+ * Without {@code app.clicks.key} nothing is recorded, since the management
+ * API refuses clicks without its matching key.
+ */
+@Component
+public class ClickForwarder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickForwarder.class);
+
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(10);
+
+    private final WebClient webClient;
+    private final String endpoint;
+    private final String key;
+    private final int batchSize;
+    private final int maxPending;
+    private final boolean enabled;
+
+    private final ConcurrentLinkedQueue<ForwardedClick> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    public ClickForwarder(WebClient.Builder webClientBuilder,
+                          @Value("${app.clicks.endpoint:http://localhost:8080/internal/edge/clicks}") String endpoint,
+                          @Value("${app.clicks.key:}") String key,
+                          @Value("${app.clicks.batch-size:1000}") int batchSize,
+                          @Value("${app.clicks.max-pending:100000}") int maxPending) {
+        this.webClient = webClientBuilder.build();
+        this.endpoint = endpoint;
+        this.key = key;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.enabled = key != null && !key.isBlank();
+        if (!enabled) {
+            logger.warn("app.clicks.key is not set; clicks of redirects answered here are not forwarded");
+        }
+    }
+
+    public void record(ForwardedClick click) {
+        if (!enabled) {
+            return;
+        }
+        if (depth.incrementAndGet() > maxPending) {
+            depth.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        pending.offer(click);
+    }
+
+    /**
+     * Sends everything queued so far. Runs on the scheduler, never on an event-loop thread.
+     */
+    @Scheduled(fixedDelayString = "${app.clicks.flush-interval-ms:1000}")
+    public void flush() {
+        List<ForwardedClick> batch;
+        while (!(batch = take()).isEmpty()) {
+            try {
+                webClient.post()
+                        .uri(endpoint)
+                        .header("X-Edge-Key", key)
+                        .bodyValue(batch)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .block(SEND_TIMEOUT);
+            } catch (RuntimeException e) {
+                // A batch the management API did receive but failed to acknowledge is counted twice
+                requeue(batch);
+                logger.warn("Failed to forward {} clicks ({} waiting, {} dropped): {}",
+                        batch.size(), depth.get(), dropped.sum(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public int getPending() {
+        return depth.get();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private List<ForwardedClick> take() {
+        List<ForwardedClick> batch = new ArrayList<>(Math.min(batchSize, Math.max(depth.get(), 1)));
+        ForwardedClick click;
+        while (batch.size() < batchSize && (click = pending.poll()) != null) {
+            depth.decrementAndGet();
+            batch.add(click);
+        }
+        return batch;
+    }
+
+    private void requeue(List<ForwardedClick> batch) {
+        for (ForwardedClick click : batch) {
+            record(click);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.url_shortener.edge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One redirect answered here, in the shape the management API's
+ * {@code /internal/edge/clicks} endpoint accepts.
+ */
+@Getter
+@AllArgsConstructor
+public class ForwardedClick {
+    private final Long urlId;
+    private final Long organizationId;
+    private final LocalDateTime clickedAt;
+    private final String referrer;
+    private final String userAgent;
+    private final String clientIp;
+}
@@ -0,0 +1,54 @@
+package com.url_shortener.edge;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache in front of {@link RedirectLookup}, configured with the
+ * same {@code app.redirect-cache.*} properties as the management API.
+ *
+ * Concurrent misses for one link share a single query. Unknown links are
+ * cached as empty for only {@code miss-ttl-seconds}: enough to absorb a burst
+ * of scans for random codes, short enough that a link created through the
+ * management API starts redirecting here almost at once. This module never
+ * sees the management API's evictions, so the TTL is how long an edited or
+ * deleted link can still redirect here.
+ */
+@Component
+public class RedirectCache {
+
+    private final AsyncCache<String, Optional<RedirectTarget>> cache;
+    private final RedirectLookup redirectLookup;
+
+    public RedirectCache(RedirectLookup redirectLookup,
+                         @Value("${app.redirect-cache.max-size:100000}") long maxSize,
+                         @Value("${app.redirect-cache.ttl-seconds:30}") long ttlSeconds,
+                         @Value("${app.redirect-cache.miss-ttl-seconds:1}") long missTtlSeconds) {
+        this.redirectLookup = redirectLookup;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Duration missTtl = Duration.ofSeconds(missTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<String, Optional<RedirectTarget>>writing((key, target) -> target.isPresent() ? ttl : missTtl))
+                .buildAsync();
+    }
+
+    public Mono<RedirectTarget> get(String orgShortName, String shortCode) {
+        // The org short name cannot contain '/', so the first one ends it
+        String key = orgShortName + "/" + shortCode;
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) ->
+                        redirectLookup.find(orgShortName, shortCode)
+                                .map(Optional::of)
+                                .defaultIfEmpty(Optional.empty())
+                                .toFuture()))
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+}
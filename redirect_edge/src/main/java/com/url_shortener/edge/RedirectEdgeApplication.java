@@ -0,0 +1,14 @@
+package com.url_shortener.edge;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+public class RedirectEdgeApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(RedirectEdgeApplication.class, args);
+    }
+}
@@ -0,0 +1,93 @@
+package com.url_shortener.edge;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Answers redirects the way the management API's {@code RedirectController}
+ * does: a cacheable 301 or, for trackable links, an uncacheable 302 with
+ * Location, or 404 with the same JSON error body. Every redirect answered is
+ * handed to {@link ClickForwarder}, as the management API records its own.
+ */
+@Component
+public class RedirectHandler {
+
+    private final RedirectCache redirectCache;
+    private final ClickForwarder clickForwarder;
+    private final long maxAgeSeconds;
+
+    public RedirectHandler(RedirectCache redirectCache,
+                           ClickForwarder clickForwarder,
+                           @Value("${app.redirect.cache.max-age-seconds:3600}") long maxAgeSeconds) {
+        this.redirectCache = redirectCache;
+        this.clickForwarder = clickForwarder;
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    public Mono<ServerResponse> redirect(ServerRequest request) {
+        String orgShortName = request.pathVariable("orgShortName");
+        String shortCode = request.pathVariable("shortCode");
+
+        return redirectCache.get(orgShortName, shortCode)
+                .flatMap(target -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    if (target.isExpiredAt(now)) {
+                        return notFound("Short URL has expired");
+                    }
+                    clickForwarder.record(click(target, request, now));
+                    return found(target);
+                })
+                .switchIfEmpty(Mono.defer(() -> notFound("Short URL not found")))
+                .onErrorResume(e -> notFound("Failed to process redirect: " + e.getMessage()));
+    }
+
+    // Same headers as the management API's RedirectCachePolicy
+    private Mono<ServerResponse> found(RedirectTarget target) {
+        long maxAge = target.isTrackable() ? 0 : maxAgeSeconds;
+        if (maxAge > 0 && target.getExpiresAt() != null) {
+            maxAge = Math.min(maxAge, Duration.between(LocalDateTime.now(), target.getExpiresAt()).getSeconds());
+        }
+        ServerResponse.BodyBuilder response = ServerResponse
+                .status(target.isTrackable() ? HttpStatus.FOUND : HttpStatus.MOVED_PERMANENTLY)
+                .location(URI.create(target.getOriginalUrl()));
+        if (maxAge > 0) {
+            long expires = System.currentTimeMillis() + maxAge * 1000;
+            response.cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePublic())
+                    .headers(headers -> headers.setExpires(expires));
+        } else {
+            response.cacheControl(CacheControl.noStore());
+        }
+        return response.build();
+    }
+
+    // Same request metadata as the management API's ClickContext
+    private static ForwardedClick click(RedirectTarget target, ServerRequest request, LocalDateTime now) {
+        String clientIp = request.remoteAddress()
+                .map(address -> address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString())
+                .orElse(null);
+        return new ForwardedClick(target.getUrlId(), target.getOrganizationId(), now,
+                request.headers().firstHeader("Referer"), request.headers().firstHeader("User-Agent"), clientIp);
+    }
+
+    private static Mono<ServerResponse> notFound(String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("message", message);
+        body.put("data", null);
+        return ServerResponse.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body);
+    }
+}
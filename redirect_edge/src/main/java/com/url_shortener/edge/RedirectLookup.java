@@ -0,0 +1,40 @@
+package com.url_shortener.edge;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reads redirect targets from the management API's schema over R2DBC.
+ * Read-only: the tables are owned and migrated by the url_shortener module.
+ */
+@Component
+public class RedirectLookup {
+
+    private static final String LOOKUP_SQL =
+            "SELECT u.id, u.organization_id, u.original_url, u.expires_at, u.trackable " +
+            "FROM urls u JOIN organizations o ON o.id = u.organization_id " +
+            "WHERE o.short_name = :orgShortName AND o.active = TRUE " +
+            "AND u.short_code = :shortCode AND u.active = TRUE";
+
+    private final DatabaseClient databaseClient;
+
+    public RedirectLookup(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<RedirectTarget> find(String orgShortName, String shortCode) {
+        return databaseClient.sql(LOOKUP_SQL)
+                .bind("orgShortName", orgShortName)
+                .bind("shortCode", shortCode)
+                .map((row, metadata) -> new RedirectTarget(
+                        row.get("id", Long.class),
+                        row.get("organization_id", Long.class),
+                        row.get("original_url", String.class),
+                        row.get("expires_at", LocalDateTime.class),
+                        Boolean.TRUE.equals(row.get("trackable", Boolean.class))))
+                .one();
+    }
+}
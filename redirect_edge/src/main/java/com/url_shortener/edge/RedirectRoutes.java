@@ -0,0 +1,18 @@
+package com.url_shortener.edge;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class RedirectRoutes {
+
+    @Bean
+    RouterFunction<ServerResponse> redirectRoute(RedirectHandler redirectHandler) {
+        return route(GET("/s/{orgShortName}/{shortCode}"), redirectHandler::redirect);
+    }
+}
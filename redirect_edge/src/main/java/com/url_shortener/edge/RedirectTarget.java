@@ -0,0 +1,23 @@
+package com.url_shortener.edge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a short link resolves to; the same shape the management API caches.
+ */
+@Getter
+@AllArgsConstructor
+public class RedirectTarget {
+    private final Long urlId;
+    private final Long organizationId;
+    private final String originalUrl;
+    private final LocalDateTime expiresAt;
+    private final boolean trackable;
+
+    public boolean isExpiredAt(LocalDateTime now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+}
@@ -0,0 +1,82 @@
+package com.url_shortener.edge;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClickForwarderTest {
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private final AtomicReference<HttpStatus> status = new AtomicReference<>(HttpStatus.OK);
+
+    private final WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction(request -> {
+        requests.add(request);
+        return Mono.just(ClientResponse.create(status.get()).build());
+    });
+
+    @Test
+    void flushPostsQueuedClicksInBatches() {
+        ClickForwarder forwarder = new ClickForwarder(webClientBuilder, "http://management/internal/edge/clicks", "key", 2, 10);
+        for (long id = 1; id <= 3; id++) {
+            forwarder.record(click(id));
+        }
+
+        forwarder.flush();
+
+        assertEquals(2, requests.size());
+        assertEquals("http://management/internal/edge/clicks", requests.get(0).url().toString());
+        assertEquals("key", requests.get(0).headers().getFirst("X-Edge-Key"));
+        assertEquals(0, forwarder.getPending());
+    }
+
+    @Test
+    void failedBatchIsKeptForTheNextFlush() {
+        ClickForwarder forwarder = new ClickForwarder(webClientBuilder, "http://management/internal/edge/clicks", "key", 10, 10);
+        forwarder.record(click(1));
+        status.set(HttpStatus.SERVICE_UNAVAILABLE);
+
+        forwarder.flush();
+        assertEquals(1, forwarder.getPending());
+
+        status.set(HttpStatus.OK);
+        forwarder.flush();
+        assertEquals(2, requests.size());
+        assertEquals(0, forwarder.getPending());
+    }
+
+    @Test
+    void clicksBeyondTheLimitAreDropped() {
+        ClickForwarder forwarder = new ClickForwarder(webClientBuilder, "http://management/internal/edge/clicks", "key", 10, 2);
+        for (long id = 1; id <= 3; id++) {
+            forwarder.record(click(id));
+        }
+
+        assertEquals(2, forwarder.getPending());
+        assertEquals(1, forwarder.getDropped());
+    }
+
+    @Test
+    void withoutKeyNothingIsForwarded() {
+        ClickForwarder forwarder = new ClickForwarder(webClientBuilder, "http://management/internal/edge/clicks", "", 10, 10);
+        forwarder.record(click(1));
+
+        forwarder.flush();
+
+        assertEquals(0, forwarder.getPending());
+        assertTrue(requests.isEmpty());
+    }
+
+    private static ForwardedClick click(long urlId) {
+        return new ForwardedClick(urlId, 1L, LocalDateTime.now(), null, "agent", "198.51.100.7");
+    }
+}
@@ -0,0 +1,108 @@
+package com.url_shortener.edge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedirectHandlerTest {
+
+    @Mock
+    private RedirectLookup redirectLookup;
+
+    @Mock
+    private ClickForwarder clickForwarder;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        // Misses expire at once, so a link created after a 404 is found on the next request
+        RedirectCache cache = new RedirectCache(redirectLookup, 100, 60, 0);
+        client = WebTestClient.bindToRouterFunction(
+                new RedirectRoutes().redirectRoute(new RedirectHandler(cache, clickForwarder, 3600))).build();
+    }
+
+    @Test
+    void redirect_Success_IsCached() {
+        when(redirectLookup.find("acme", "abc123"))
+                .thenReturn(Mono.just(new RedirectTarget(1L, 1L, "https://example.com", null, false)));
+
+        for (int i = 0; i < 2; i++) {
+            client.get().uri("/s/acme/abc123").exchange()
+                    .expectStatus().isEqualTo(301)
+                    .expectHeader().valueEquals("Location", "https://example.com")
+                    .expectHeader().valueEquals("Cache-Control", "max-age=3600, public");
+        }
+        verify(redirectLookup, times(1)).find("acme", "abc123");
+        verify(clickForwarder, times(2)).record(argThat(click -> click.getUrlId() == 1L && click.getOrganizationId() == 1L));
+    }
+
+    @Test
+    void redirect_ForwardsRequestMetadata() {
+        when(redirectLookup.find("acme", "abc123"))
+                .thenReturn(Mono.just(new RedirectTarget(1L, 7L, "https://example.com", null, false)));
+
+        client.get().uri("/s/acme/abc123")
+                .header("Referer", "https://referrer.example")
+                .header("User-Agent", "agent")
+                .exchange()
+                .expectStatus().isEqualTo(301);
+
+        verify(clickForwarder).record(argThat(click -> click.getOrganizationId() == 7L
+                && "https://referrer.example".equals(click.getReferrer())
+                && "agent".equals(click.getUserAgent())
+                && click.getClickedAt() != null));
+    }
+
+    @Test
+    void redirect_MissIsNotCachedForTheRedirectTtl() {
+        when(redirectLookup.find("acme", "fresh"))
+                .thenReturn(Mono.empty(), Mono.just(new RedirectTarget(4L, 1L, "https://example.com", null, false)));
+
+        client.get().uri("/s/acme/fresh").exchange().expectStatus().isNotFound();
+        client.get().uri("/s/acme/fresh").exchange().expectStatus().isEqualTo(301);
+
+        verify(redirectLookup, times(2)).find("acme", "fresh");
+    }
+
+    @Test
+    void redirect_Trackable() {
+        when(redirectLookup.find("acme", "tracked"))
+                .thenReturn(Mono.just(new RedirectTarget(3L, 1L, "https://example.com", null, true)));
+
+        client.get().uri("/s/acme/tracked").exchange()
+                .expectStatus().isEqualTo(302)
+                .expectHeader().valueEquals("Cache-Control", "no-store");
+    }
+
+    @Test
+    void redirect_NotFound() {
+        when(redirectLookup.find("acme", "missing")).thenReturn(Mono.empty());
+
+        client.get().uri("/s/acme/missing").exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.success").isEqualTo(false)
+                .jsonPath("$.message").isEqualTo("Short URL not found");
+        verifyNoInteractions(clickForwarder);
+    }
+
+    @Test
+    void redirect_Expired() {
+        when(redirectLookup.find("acme", "old"))
+                .thenReturn(Mono.just(new RedirectTarget(2L, 1L, "https://example.com", LocalDateTime.now().minusDays(1), false)));
+
+        client.get().uri("/s/acme/old").exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Short URL has expired");
+        verifyNoInteractions(clickForwarder);
+    }
+}
@@ -0,0 +1,117 @@
+-- Brings a PostgreSQL database created from the original schema up to date
+-- with the current entities, so that the prod profile's ddl-auto=validate
+-- passes. Every statement is idempotent; run it once before deploying:
+--
+--   psql "$DATABASE_URL" -v ON_ERROR_STOP=1 -f db/upgrade-postgresql.sql
+
+BEGIN;
+
+-- ==================== URLS ====================
+-- Ids now come from a pooled sequence so inserts can be batched. The old
+-- IDENTITY default stays harmless; UrlIdSequenceAligner moves the sequence
+-- past the existing ids on startup.
+CREATE SEQUENCE IF NOT EXISTS urls_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE urls ADD COLUMN IF NOT EXISTS unique_visitors BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE urls ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+ALTER TABLE urls ADD COLUMN IF NOT EXISTS trackable BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Fails if two URLs of an organization already share an organization_url_id;
+-- renumber those before running the script
+CREATE UNIQUE INDEX IF NOT EXISTS uk_urls_organization_url_id ON urls (organization_id, organization_url_id);
+CREATE INDEX IF NOT EXISTS idx_urls_org_created ON urls (organization_id, active, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_urls_creator_created ON urls (created_by, active, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_urls_created ON urls (created_at);
+CREATE INDEX IF NOT EXISTS idx_urls_updated ON urls (updated_at);
+CREATE INDEX IF NOT EXISTS idx_urls_active_expires ON urls (active, expires_at);
+
+-- ==================== ORGANIZATIONS ====================
+ALTER TABLE organizations ADD COLUMN IF NOT EXISTS member_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE organizations ADD COLUMN IF NOT EXISTS active_url_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE organizations ADD COLUMN IF NOT EXISTS unique_visitors BIGINT NOT NULL DEFAULT 0;
+
+-- OrganizationCountReconciler recomputes these too; filling them here makes
+-- them right from the first request
+UPDATE organizations SET
+    member_count = (SELECT COUNT(*) FROM user_organizations m WHERE m.organization_id = organizations.id AND m.active = TRUE),
+    active_url_count = (SELECT COUNT(*) FROM urls u WHERE u.organization_id = organizations.id AND u.active = TRUE);
+
+CREATE INDEX IF NOT EXISTS idx_organizations_owner_created ON organizations (owner_id, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_user_organizations_user ON user_organizations (user_id, active, organization_id);
+
+-- ==================== ID ALLOCATION ====================
+CREATE TABLE IF NOT EXISTS sequence_blocks (
+    name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS organization_url_sequences (
+    organization_id BIGINT PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS short_code_reservations (
+    code VARCHAR(16) PRIMARY KEY,
+    reserved_at TIMESTAMP(6) NOT NULL
+);
+
+-- ==================== CLICK ANALYTICS ====================
+CREATE TABLE IF NOT EXISTS url_clicks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    url_id BIGINT NOT NULL,
+    clicked_at TIMESTAMP(6) NOT NULL,
+    referrer VARCHAR(512),
+    user_agent_hash BIGINT,
+    ip_prefix VARCHAR(64),
+    weight INTEGER NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_url_clicks_url_clicked_at ON url_clicks (url_id, clicked_at);
+
+CREATE TABLE IF NOT EXISTS click_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    url_id BIGINT NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    click_count BIGINT NOT NULL,
+    CONSTRAINT uk_click_rollups_bucket UNIQUE (url_id, granularity, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS visitor_sketches (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    scope VARCHAR(20) NOT NULL,
+    scope_id BIGINT NOT NULL,
+    bucket_day DATE NOT NULL,
+    registers BYTEA NOT NULL,
+    CONSTRAINT uk_visitor_sketches_bucket UNIQUE (scope, scope_id, bucket_day)
+);
+
+-- ==================== IMPORTS ====================
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    organization_id BIGINT NOT NULL,
+    created_by BIGINT NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    file_path VARCHAR(1024) NOT NULL,
+    original_file_name VARCHAR(255),
+    processed_rows BIGINT NOT NULL,
+    created_count BIGINT NOT NULL,
+    failed_count BIGINT NOT NULL,
+    owner VARCHAR(64),
+    heartbeat_at TIMESTAMP(6),
+    error_message VARCHAR(1000),
+    created_at TIMESTAMP(6) NOT NULL,
+    finished_at TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_import_jobs_status ON import_jobs (status);
+
+CREATE TABLE IF NOT EXISTS import_job_errors (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    row_index BIGINT NOT NULL,
+    message VARCHAR(500) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_import_job_errors_job ON import_job_errors (job_id, row_index);
+
+COMMIT;
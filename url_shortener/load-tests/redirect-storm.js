@@ -0,0 +1,53 @@
+// Redirect storm: 10k concurrent connections hammering one short URL.
+//
+// Harness only: no results are recorded in the repository yet.
+// Run once against each execution mode and compare the p99/p99.9 lines:
+//   java -jar target/*.jar --spring.profiles.active=prod
+//   java -jar target/*.jar --spring.profiles.active=prod,vthreads   (built with -Pjava21)
+//   k6 run -e BASE_URL=http://localhost:8080 -e REDIRECT_PATH=/s/acme/abc123 load-tests/redirect-storm.js
+//
+// Raise the client's open file limit first (ulimit -n 65536).
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const REDIRECT_PATH = __ENV.REDIRECT_PATH;
+const MISS_RATIO = Number(__ENV.MISS_RATIO || '0.05');
+
+export const options = {
+    scenarios: {
+        storm: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 10000 },
+                { duration: '2m', target: 10000 },
+                { duration: '15s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'p(99.9)', 'max'],
+    thresholds: {
+        'http_req_duration{kind:hit}': ['p(99)<500'],
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    if (!REDIRECT_PATH) {
+        throw new Error('Set REDIRECT_PATH to an existing short URL path, e.g. /s/acme/abc123');
+    }
+}
+
+export default function () {
+    // A small share of unknown codes reaches the database on every request
+    const miss = Math.random() < MISS_RATIO;
+    const path = miss ? `${REDIRECT_PATH}-missing-${__VU}` : REDIRECT_PATH;
+    const res = http.get(`${BASE_URL}${path}`, {
+        redirects: 0,
+        tags: { kind: miss ? 'miss' : 'hit' },
+        responseCallback: http.expectedStatuses(301, 404),
+    });
+    check(res, { 'answered': (r) => r.status === (miss ? 404 : 301) });
+}
@@ -4,9 +4,11 @@ import com.url_shortener.config.CorsProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties(CorsProperties.class)
+@EnableScheduling
 public class UrlShortenerApplication {
 
     public static void main(String[] args) {
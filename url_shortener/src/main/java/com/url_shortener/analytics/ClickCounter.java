@@ -0,0 +1,148 @@
+package com.url_shortener.analytics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates redirect clicks in memory and applies them to {@code urls.click_count}
+ * in periodic JDBC batches, so the redirect path never updates or locks the row.
+ *
+ * Each URL id gets a {@link LongAdder}; the flusher writes the difference between
+ * its current sum and what was already written. Entries that saw no clicks during
+ * an interval are dropped from the map but kept for one more flush, which picks up
+ * any increment from a caller that looked the entry up just before it was dropped.
+ * Flushes run on the {@link ClickScheduler}.
+ */
+@Component
+public class ClickCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickCounter.class);
+
+    private static final String FLUSH_SQL = "UPDATE urls SET click_count = click_count + ? WHERE id = ?";
+
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClickScheduler clickScheduler;
+    private final long flushIntervalMillis;
+    private final int maxPending;
+
+    // Entries removed from the map by the previous flush
+    private List<Pending> retired = new ArrayList<>();
+
+    public ClickCounter(JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        ClickScheduler clickScheduler,
+                        @Value("${app.clicks.flush-interval-ms:2000}") long flushIntervalMillis,
+                        @Value("${app.clicks.max-pending:50000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clickScheduler = clickScheduler;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPending = maxPending;
+    }
+
+    @PostConstruct
+    public void start() {
+        clickScheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis);
+    }
+
+    public void record(Long urlId) {
+        pending.computeIfAbsent(urlId, Pending::new).clicks.increment();
+        if (pending.size() > maxPending && earlyFlushScheduled.compareAndSet(false, true)) {
+            clickScheduler.runNow(this::flush);
+        }
+    }
+
+    /**
+     * Clicks recorded for the URL that have not been written to the database yet.
+     */
+    public long pendingClicks(Long urlId) {
+        Pending p = pending.get(urlId);
+        return p != null ? p.clicks.sum() - p.flushed : 0;
+    }
+
+    public synchronized void flush() {
+        earlyFlushScheduled.set(false);
+
+        List<Pending> written = new ArrayList<>();
+        List<Long> totals = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        List<Pending> idle = new ArrayList<>();
+
+        for (Pending p : retired) {
+            collect(p, written, totals, batch);
+        }
+        for (Pending p : pending.values()) {
+            if (!collect(p, written, totals, batch)) {
+                idle.add(p);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+            } catch (RuntimeException e) {
+                // Nothing is marked as written, so the same deltas are retried next time
+                logger.error("Failed to flush {} click counters: {}", batch.size(), e.getMessage());
+                return;
+            }
+            for (int i = 0; i < written.size(); i++) {
+                written.get(i).flushed = totals.get(i);
+            }
+        }
+
+        List<Pending> nowRetired = new ArrayList<>();
+        for (Pending p : idle) {
+            if (pending.remove(p.urlId, p)) {
+                nowRetired.add(p);
+            }
+        }
+        retired = nowRetired;
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+        // Anything still unwritten lives in the entries the last flush retired
+        flush();
+        logger.info("Drained pending click counters on shutdown");
+    }
+
+    private static boolean collect(Pending p, List<Pending> written, List<Long> totals, List<Object[]> batch) {
+        long total = p.clicks.sum();
+        long delta = total - p.flushed;
+        if (delta <= 0) {
+            return false;
+        }
+        written.add(p);
+        totals.add(total);
+        batch.add(new Object[]{delta, p.urlId});
+        return true;
+    }
+
+    private static final class Pending {
+        private final Long urlId;
+        private final LongAdder clicks = new LongAdder();
+        // Only written by the flusher, which is serialized
+        private volatile long flushed;
+
+        private Pending(Long urlId) {
+            this.urlId = urlId;
+        }
+    }
+}
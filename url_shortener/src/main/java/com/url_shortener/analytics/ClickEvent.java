@@ -0,0 +1,171 @@
+package com.url_shortener.analytics;
+
+import com.url_shortener.dto.ClickContext;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One redirect click, as it travels from the redirect path to the batch writer.
+ */
+@Getter
+@AllArgsConstructor
+public class ClickEvent {
+
+    private static final int MAX_REFERRER_LENGTH = 512;
+
+    private final Long urlId;
+    private final Long organizationId;
+    private final LocalDateTime clickedAt;
+    private final String referrer;
+    private final Long userAgentHash;
+    private final String ipPrefix;
+    // Hash of the full client address and user agent; kept in memory for the
+    // unique-visitor sketches and never written out
+    private final Long visitorHash;
+    private final int weight;
+
+    public static ClickEvent of(Long urlId, Long organizationId, ClickContext context, LocalDateTime clickedAt) {
+        String referrer = context != null ? context.getReferrer() : null;
+        if (referrer != null && referrer.length() > MAX_REFERRER_LENGTH) {
+            referrer = referrer.substring(0, MAX_REFERRER_LENGTH);
+        }
+        Long userAgentHash = context != null && context.getUserAgent() != null
+                ? Hashing.hash64(context.getUserAgent())
+                : null;
+        String ipPrefix = context != null ? ipPrefix(context.getClientIp()) : null;
+        Long visitorHash = context != null && context.getClientIp() != null
+                ? Hashing.hash64(context.getClientIp() + "\n" + (context.getUserAgent() != null ? context.getUserAgent() : ""))
+                : null;
+        return new ClickEvent(urlId, organizationId, clickedAt, referrer, userAgentHash, ipPrefix, visitorHash, 1);
+    }
+
+    public ClickEvent withWeight(int weight) {
+        return new ClickEvent(urlId, organizationId, clickedAt, referrer, userAgentHash, ipPrefix, visitorHash, weight);
+    }
+
+    /**
+     * Truncates an address to its /24 (IPv4) or /48 (IPv6) network so that
+     * individual clients are not stored. Only address literals are parsed;
+     * anything else, host names included, yields null without a DNS lookup.
+     */
+    static String ipPrefix(String clientIp) {
+        if (clientIp == null || clientIp.isEmpty()) {
+            return null;
+        }
+        int[] v4 = parseIpv4(clientIp);
+        if (v4 == null) {
+            int[] v6 = parseIpv6(clientIp);
+            if (v6 == null) {
+                return null;
+            }
+            if (!isIpv4Mapped(v6)) {
+                return String.format("%x:%x:%x::/48", v6[0], v6[1], v6[2]);
+            }
+            v4 = new int[]{v6[6] >> 8, v6[6] & 0xff, v6[7] >> 8};
+        }
+        return v4[0] + "." + v4[1] + "." + v4[2] + ".0/24";
+    }
+
+    // Dotted quad with decimal octets, e.g. 203.0.113.42
+    private static int[] parseIpv4(String value) {
+        String[] parts = value.split("\\.", -1);
+        if (parts.length != 4) {
+            return null;
+        }
+        int[] octets = new int[4];
+        for (int i = 0; i < 4; i++) {
+            String part = parts[i];
+            if (part.isEmpty() || part.length() > 3) {
+                return null;
+            }
+            for (int j = 0; j < part.length(); j++) {
+                if (part.charAt(j) < '0' || part.charAt(j) > '9') {
+                    return null;
+                }
+            }
+            octets[i] = Integer.parseInt(part);
+            if (octets[i] > 255) {
+                return null;
+            }
+        }
+        return octets;
+    }
+
+    // Eight 16-bit groups; accepts "::" compression, a trailing dotted quad and a %zone suffix
+    private static int[] parseIpv6(String value) {
+        int zone = value.indexOf('%');
+        String address = zone >= 0 ? value.substring(0, zone) : value;
+        if (address.indexOf(':') < 0) {
+            return null;
+        }
+        int compression = address.indexOf("::");
+        if (compression >= 0 && address.indexOf("::", compression + 1) >= 0) {
+            return null;
+        }
+        List<Integer> head = compression >= 0
+                ? parseGroups(address.substring(0, compression))
+                : parseGroups(address);
+        List<Integer> tail = compression >= 0
+                ? parseGroups(address.substring(compression + 2))
+                : new ArrayList<>();
+        if (head == null || tail == null) {
+            return null;
+        }
+        int count = head.size() + tail.size();
+        if (compression >= 0 ? count > 7 : count != 8) {
+            return null;
+        }
+        int[] groups = new int[8];
+        for (int i = 0; i < head.size(); i++) {
+            groups[i] = head.get(i);
+        }
+        for (int i = 0; i < tail.size(); i++) {
+            groups[8 - tail.size() + i] = tail.get(i);
+        }
+        return groups;
+    }
+
+    private static List<Integer> parseGroups(String value) {
+        List<Integer> groups = new ArrayList<>();
+        if (value.isEmpty()) {
+            return groups;
+        }
+        String[] parts = value.split(":", -1);
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (i == parts.length - 1 && part.indexOf('.') >= 0) {
+                int[] v4 = parseIpv4(part);
+                if (v4 == null) {
+                    return null;
+                }
+                groups.add((v4[0] << 8) | v4[1]);
+                groups.add((v4[2] << 8) | v4[3]);
+                continue;
+            }
+            if (part.isEmpty() || part.length() > 4) {
+                return null;
+            }
+            for (int j = 0; j < part.length(); j++) {
+                if (Character.digit(part.charAt(j), 16) < 0) {
+                    return null;
+                }
+            }
+            groups.add(Integer.parseInt(part, 16));
+        }
+        return groups;
+    }
+
+    // ::ffff:a.b.c.d is an IPv4 client seen through a dual-stack socket
+    private static boolean isIpv4Mapped(int[] groups) {
+        for (int i = 0; i < 5; i++) {
+            if (groups[i] != 0) {
+                return false;
+            }
+        }
+        return groups[5] == 0xffff;
+    }
+}
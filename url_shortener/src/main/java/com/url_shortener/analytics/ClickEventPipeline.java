@@ -0,0 +1,182 @@
+package com.url_shortener.analytics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Carries click events from the redirect path to the {@code url_clicks} table.
+ *
+ * Publishing only appends to a bounded ring buffer and never waits. Once the
+ * buffer is filled past {@code app.click-events.sample-above}, one event in
+ * {@code app.click-events.sample-rate} is kept and weighted accordingly, and
+ * events arriving at a full buffer are dropped. A writer on the
+ * {@link ClickScheduler} drains the buffer, inserts events in JDBC batches and
+ * folds them into the click rollups in the same transaction. Every drained event also feeds the unique-visitor
+ * sketches and the trending summaries, whether or not its batch could be
+ * written.
+ */
+@Component
+public class ClickEventPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickEventPipeline.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO url_clicks (url_id, clicked_at, referrer, user_agent_hash, ip_prefix, weight) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final ClickRingBuffer<ClickEvent> buffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final ClickRollupWriter clickRollupWriter;
+    private final VisitorSketchWriter visitorSketchWriter;
+    private final TrendingTracker trendingTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final ClickScheduler clickScheduler;
+    private final long flushIntervalMillis;
+    private final int batchSize;
+    private final int sampleThreshold;
+    private final int sampleRate;
+
+    private final AtomicBoolean earlyDrainScheduled = new AtomicBoolean();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public ClickEventPipeline(JdbcTemplate jdbcTemplate,
+                              ClickRollupWriter clickRollupWriter,
+                              VisitorSketchWriter visitorSketchWriter,
+                              TrendingTracker trendingTracker,
+                              PlatformTransactionManager transactionManager,
+                              ClickScheduler clickScheduler,
+                              @Value("${app.click-events.flush-interval-ms:1000}") long flushIntervalMillis,
+                              @Value("${app.click-events.buffer-size:65536}") int bufferSize,
+                              @Value("${app.click-events.batch-size:1000}") int batchSize,
+                              @Value("${app.click-events.sample-above:0.75}") double sampleAbove,
+                              @Value("${app.click-events.sample-rate:10}") int sampleRate) {
+        this.buffer = new ClickRingBuffer<>(bufferSize);
+        this.jdbcTemplate = jdbcTemplate;
+        this.clickRollupWriter = clickRollupWriter;
+        this.visitorSketchWriter = visitorSketchWriter;
+        this.trendingTracker = trendingTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clickScheduler = clickScheduler;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.batchSize = batchSize;
+        this.sampleThreshold = (int) (buffer.capacity() * sampleAbove);
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public void publish(ClickEvent event) {
+        int occupancy = buffer.size();
+        if (occupancy >= sampleThreshold && sampleRate > 1) {
+            if (ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+                sampledOut.increment();
+                return;
+            }
+            event = event.withWeight(sampleRate);
+        }
+        if (!buffer.offer(event)) {
+            dropped.increment();
+            return;
+        }
+        if (occupancy >= batchSize && earlyDrainScheduled.compareAndSet(false, true)) {
+            clickScheduler.runNow(this::drain);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        clickScheduler.scheduleWithFixedDelay(this::drain, flushIntervalMillis);
+    }
+
+    public synchronized void drain() {
+        earlyDrainScheduled.set(false);
+        List<ClickEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            ClickEvent event;
+            while (batch.size() < batchSize && (event = buffer.poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            visitorSketchWriter.add(batch);
+            trendingTracker.add(batch);
+            write(batch);
+            if (batch.size() < batchSize) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drain();
+        logger.info("Click event pipeline stopped (sampled out: {}, dropped: {}, failed: {})",
+                sampledOut.sum(), dropped.sum(), failed.sum());
+    }
+
+    public int getPending() {
+        return buffer.size();
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void write(List<ClickEvent> batch) {
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeInTransaction(batch));
+            } catch (DataIntegrityViolationException e) {
+                // Another node created one of the rollup buckets concurrently; on
+                // the second attempt the increment finds the row
+                transactionTemplate.executeWithoutResult(status -> writeInTransaction(batch));
+            }
+        } catch (RuntimeException e) {
+            // Analytics are best effort: a failed batch is logged and discarded
+            // rather than retried, so a database outage cannot back up the buffer
+            failed.add(batch.size());
+            logger.error("Failed to write {} click events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void writeInTransaction(List<ClickEvent> batch) {
+        insertEvents(batch);
+        clickRollupWriter.apply(batch);
+    }
+
+    private void insertEvents(List<ClickEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+            ps.setLong(1, event.getUrlId());
+            ps.setTimestamp(2, Timestamp.valueOf(event.getClickedAt()));
+            ps.setString(3, event.getReferrer());
+            if (event.getUserAgentHash() != null) {
+                ps.setLong(4, event.getUserAgentHash());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setString(5, event.getIpPrefix());
+            ps.setInt(6, event.getWeight());
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package com.url_shortener.analytics;
+
+import com.url_shortener.entity.ClickRollup;
+import com.url_shortener.repository.ClickRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Folds batches of click events into minute, hour and day buckets of
+ * {@code click_rollups}. Each batch becomes one JDBC batch of increments plus
+ * one batch of inserts for buckets that did not exist yet.
+ */
+@Component
+public class ClickRollupWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickRollupWriter.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE click_rollups SET click_count = click_count + ? WHERE url_id = ? AND granularity = ? AND bucket_start = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO click_rollups (url_id, granularity, bucket_start, click_count) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClickRollupRepository clickRollupRepository;
+
+    @Value("${app.rollups.minute-retention-days:7}")
+    private int minuteRetentionDays;
+
+    @Value("${app.rollups.hour-retention-days:180}")
+    private int hourRetentionDays;
+
+    public ClickRollupWriter(JdbcTemplate jdbcTemplate, ClickRollupRepository clickRollupRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clickRollupRepository = clickRollupRepository;
+    }
+
+    /**
+     * Applies the batch to the rollups. Must run inside the caller's transaction.
+     */
+    public void apply(List<ClickEvent> events) {
+        Map<BucketKey, Long> increments = new HashMap<>();
+        for (ClickEvent event : events) {
+            for (ClickRollup.Granularity granularity : ClickRollup.Granularity.values()) {
+                BucketKey key = new BucketKey(event.getUrlId(), granularity, granularity.bucketOf(event.getClickedAt()));
+                increments.merge(key, (long) event.getWeight(), Long::sum);
+            }
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<BucketKey, Long>> entries = new ArrayList<>(increments.entrySet());
+        List<Object[]> updates = new ArrayList<>(entries.size());
+        for (Map.Entry<BucketKey, Long> e : entries) {
+            BucketKey key = e.getKey();
+            updates.add(new Object[]{e.getValue(), key.urlId, key.granularity.name(), Timestamp.valueOf(key.bucketStart)});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                BucketKey key = entries.get(i).getKey();
+                inserts.add(new Object[]{key.urlId, key.granularity.name(), Timestamp.valueOf(key.bucketStart), entries.get(i).getValue()});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+    }
+
+    /**
+     * Fine-grained buckets are only kept as long as charts at that resolution make sense.
+     */
+    @Scheduled(cron = "${app.rollups.cleanup-cron:0 15 3 * * *}")
+    @Transactional
+    public void purgeExpiredBuckets() {
+        LocalDateTime now = LocalDateTime.now();
+        int minutes = clickRollupRepository.deleteOlderThan(ClickRollup.Granularity.MINUTE, now.minusDays(minuteRetentionDays));
+        int hours = clickRollupRepository.deleteOlderThan(ClickRollup.Granularity.HOUR, now.minusDays(hourRetentionDays));
+        logger.info("Purged {} minute and {} hour click rollups", minutes, hours);
+    }
+
+    private static final class BucketKey {
+        private final Long urlId;
+        private final ClickRollup.Granularity granularity;
+        private final LocalDateTime bucketStart;
+
+        private BucketKey(Long urlId, ClickRollup.Granularity granularity, LocalDateTime bucketStart) {
+            this.urlId = urlId;
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BucketKey)) return false;
+            BucketKey other = (BucketKey) o;
+            return urlId.equals(other.urlId) && granularity == other.granularity && bucketStart.equals(other.bucketStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(urlId, granularity, bucketStart);
+        }
+    }
+}
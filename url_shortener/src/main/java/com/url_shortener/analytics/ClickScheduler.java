@@ -0,0 +1,44 @@
+package com.url_shortener.analytics;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs the click counter flush and the click event drain on threads of their
+ * own, one each, rather than on the shared {@code @Scheduled} pool. A filter
+ * rebuild, count reconciliation or rollup purge there can take minutes, and
+ * the click buffers would sample, drop and grow in the meantime.
+ *
+ * This is deliberately not a {@code TaskScheduler} bean, which would replace
+ * the scheduler Spring Boot configures for everything else.
+ */
+@Component
+public class ClickScheduler {
+
+    private final ThreadPoolTaskScheduler scheduler;
+
+    public ClickScheduler() {
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setPoolSize(2);
+        this.scheduler.setThreadNamePrefix("click-flush-");
+        this.scheduler.initialize();
+    }
+
+    public void scheduleWithFixedDelay(Runnable task, long delayMillis) {
+        scheduler.scheduleWithFixedDelay(task, Instant.now().plusMillis(delayMillis), Duration.ofMillis(delayMillis));
+    }
+
+    public void runNow(Runnable task) {
+        scheduler.schedule(task, Instant.now());
+    }
+
+    // The counter and the pipeline depend on this bean, so their own final flushes have already run
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,160 @@
+package com.url_shortener.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitters summary over forward-decayed weights.
+ *
+ * At most {@code capacity} keys are tracked. A key that is not tracked takes
+ * over the smallest counter and inherits its count as the error bound, so any
+ * key whose true weight exceeds total / capacity is guaranteed to be present.
+ * Counters sit in an indexed min-heap, which keeps updates at O(log capacity).
+ *
+ * Weights are scaled by exp(lambda * (t - landmark)); older clicks therefore
+ * count for less without ever touching existing counters. Not thread-safe.
+ */
+final class DecayingSpaceSaving {
+
+    // Renormalize before the scale factor loses precision
+    private static final double MAX_EXPONENT = 30;
+
+    private final int capacity;
+    private final double lambdaPerMilli;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final Counter[] heap;
+    private int size;
+    private long landmarkMillis;
+
+    DecayingSpaceSaving(int capacity, double lambdaPerMilli, long nowMillis) {
+        this.capacity = capacity;
+        this.lambdaPerMilli = lambdaPerMilli;
+        this.heap = new Counter[capacity];
+        this.landmarkMillis = nowMillis;
+    }
+
+    void add(long key, long weight, long nowMillis) {
+        double exponent = lambdaPerMilli * (nowMillis - landmarkMillis);
+        if (exponent > MAX_EXPONENT) {
+            rescale(Math.exp(-exponent));
+            landmarkMillis = nowMillis;
+            exponent = 0;
+        }
+        double decayed = weight * Math.exp(exponent);
+
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += decayed;
+            siftDown(counter.index);
+            return;
+        }
+        if (size < capacity) {
+            counter = new Counter(key, decayed, 0);
+            counter.index = size;
+            heap[size++] = counter;
+            counters.put(key, counter);
+            siftUp(counter.index);
+            return;
+        }
+        // Replace the smallest counter; its count bounds the overestimate
+        Counter evicted = heap[0];
+        counters.remove(evicted.key);
+        Counter replacement = new Counter(key, evicted.count + decayed, evicted.count);
+        replacement.index = 0;
+        heap[0] = replacement;
+        counters.put(key, replacement);
+        siftDown(0);
+    }
+
+    /**
+     * Returns up to {@code limit} keys by descending weight, with weights
+     * decayed to {@code nowMillis}.
+     */
+    List<Counter> top(int limit, long nowMillis) {
+        double scale = Math.exp(-lambdaPerMilli * (nowMillis - landmarkMillis));
+        Counter[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, Comparator.comparingDouble((Counter c) -> c.count).reversed());
+        List<Counter> result = new ArrayList<>(Math.min(limit, size));
+        for (int i = 0; i < sorted.length && i < limit; i++) {
+            Counter c = sorted[i];
+            result.add(new Counter(c.key, c.count * scale, c.error * scale));
+        }
+        return result;
+    }
+
+    /**
+     * Largest tracked weight decayed to {@code nowMillis}, or 0 when empty.
+     */
+    double maxWeight(long nowMillis) {
+        double max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, heap[i].count);
+        }
+        return max * Math.exp(-lambdaPerMilli * (nowMillis - landmarkMillis));
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rescale(double factor) {
+        for (int i = 0; i < size; i++) {
+            heap[i].count *= factor;
+            heap[i].error *= factor;
+        }
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    static final class Counter {
+        final long key;
+        double count;
+        double error;
+        int index;
+
+        Counter(long key, double count, double error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
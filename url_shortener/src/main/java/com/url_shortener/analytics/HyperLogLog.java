@@ -0,0 +1,187 @@
+package com.url_shortener.analytics;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch for estimating distinct visitors.
+ *
+ * Uses 2^11 registers (about 2.3% standard error) fed with 64-bit hashes, so
+ * no large-range correction is needed. Registers are 6 bits wide and are
+ * serialized packed, four registers to three bytes.
+ *
+ * Most URLs see few visitors per day, so a sketch starts sparse: a sorted
+ * list of the registers that are set, serialized as three bytes each. It
+ * turns dense once more than {@link #SPARSE_LIMIT} registers are set, where
+ * the sparse form would stop being the smaller one. Estimates and merges do
+ * not depend on the representation.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 11;
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+    public static final int SERIALIZED_SIZE = REGISTER_COUNT * 6 / 8;
+    // Sparse form is at most 3 * 256 = 768 bytes, so its length never equals SERIALIZED_SIZE
+    public static final int SPARSE_LIMIT = 256;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+    private static final int SPARSE_ENTRY_SIZE = 3;
+
+    // Dense registers; null while sparse
+    private byte[] registers;
+    // Sparse entries (index << 8 | rank), sorted by index
+    private int[] sparse = new int[8];
+    private int sparseSize;
+
+    public void add(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // The guard bit caps the rank at 64 - PRECISION + 1, which fits in 6 bits
+        long remaining = (hash << PRECISION) | (1L << (PRECISION - 1));
+        set(index, (byte) (Long.numberOfLeadingZeros(remaining) + 1));
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.registers == null) {
+            for (int i = 0; i < other.sparseSize; i++) {
+                set(other.sparse[i] >>> 8, (byte) other.sparse[i]);
+            }
+            return;
+        }
+        if (registers == null) {
+            toDense();
+        }
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public boolean isSparse() {
+        return registers == null;
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        if (registers == null) {
+            zeros = REGISTER_COUNT - sparseSize;
+            sum = zeros;
+            for (int i = 0; i < sparseSize; i++) {
+                sum += 1.0 / (1L << (sparse[i] & 0xff));
+            }
+        } else {
+            for (byte register : registers) {
+                sum += 1.0 / (1L << register);
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+        }
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            // Linear counting is more accurate while many registers are still empty
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        if (registers == null) {
+            byte[] out = new byte[sparseSize * SPARSE_ENTRY_SIZE];
+            for (int i = 0, o = 0; i < sparseSize; i++, o += SPARSE_ENTRY_SIZE) {
+                // 11-bit index and 6-bit rank in 24 bits
+                int packed = ((sparse[i] >>> 8) << 6) | (sparse[i] & 0x3f);
+                out[o] = (byte) (packed >>> 16);
+                out[o + 1] = (byte) (packed >>> 8);
+                out[o + 2] = (byte) packed;
+            }
+            return out;
+        }
+        byte[] out = new byte[SERIALIZED_SIZE];
+        for (int i = 0, o = 0; i < REGISTER_COUNT; i += 4, o += 3) {
+            int r0 = registers[i], r1 = registers[i + 1], r2 = registers[i + 2], r3 = registers[i + 3];
+            out[o] = (byte) ((r0 << 2) | (r1 >>> 4));
+            out[o + 1] = (byte) (((r1 & 0x0f) << 4) | (r2 >>> 2));
+            out[o + 2] = (byte) (((r2 & 0x03) << 6) | r3);
+        }
+        return out;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes.length == SERIALIZED_SIZE) {
+            sketch.registers = new byte[REGISTER_COUNT];
+            for (int i = 0, o = 0; i < REGISTER_COUNT; i += 4, o += 3) {
+                int b0 = bytes[o] & 0xff, b1 = bytes[o + 1] & 0xff, b2 = bytes[o + 2] & 0xff;
+                sketch.registers[i] = (byte) (b0 >>> 2);
+                sketch.registers[i + 1] = (byte) (((b0 & 0x03) << 4) | (b1 >>> 4));
+                sketch.registers[i + 2] = (byte) (((b1 & 0x0f) << 2) | (b2 >>> 6));
+                sketch.registers[i + 3] = (byte) (b2 & 0x3f);
+            }
+            return sketch;
+        }
+        if (bytes.length % SPARSE_ENTRY_SIZE != 0 || bytes.length / SPARSE_ENTRY_SIZE > SPARSE_LIMIT) {
+            throw new IllegalArgumentException("Expected " + SERIALIZED_SIZE + " bytes or a sparse sketch but got " + bytes.length);
+        }
+        for (int o = 0; o < bytes.length; o += SPARSE_ENTRY_SIZE) {
+            int packed = ((bytes[o] & 0xff) << 16) | ((bytes[o + 1] & 0xff) << 8) | (bytes[o + 2] & 0xff);
+            sketch.set(packed >>> 6, (byte) (packed & 0x3f));
+        }
+        return sketch;
+    }
+
+    private void set(int index, byte rank) {
+        if (registers != null) {
+            if (rank > registers[index]) {
+                registers[index] = rank;
+            }
+            return;
+        }
+        int position = find(index);
+        if (position >= 0) {
+            if (rank > (sparse[position] & 0xff)) {
+                sparse[position] = (index << 8) | rank;
+            }
+            return;
+        }
+        if (sparseSize == SPARSE_LIMIT) {
+            toDense();
+            registers[index] = rank;
+            return;
+        }
+        int insertAt = -position - 1;
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(SPARSE_LIMIT, sparse.length * 2));
+        }
+        System.arraycopy(sparse, insertAt, sparse, insertAt + 1, sparseSize - insertAt);
+        sparse[insertAt] = (index << 8) | rank;
+        sparseSize++;
+    }
+
+    // Binary search by register index; same contract as Arrays.binarySearch
+    private int find(int index) {
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midIndex = sparse[mid] >>> 8;
+            if (midIndex < index) {
+                low = mid + 1;
+            } else if (midIndex > index) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        registers = new byte[REGISTER_COUNT];
+        for (int i = 0; i < sparseSize; i++) {
+            registers[sparse[i] >>> 8] = (byte) (sparse[i] & 0xff);
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+}
@@ -0,0 +1,100 @@
+package com.url_shortener.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the hottest URLs of each organization in memory.
+ *
+ * Every organization gets a {@link DecayingSpaceSaving} summary fed by drained
+ * click events, with clicks losing half their weight every
+ * {@code app.trending.half-life-minutes}. Reading the top list only sorts the
+ * tracked counters and never touches the database.
+ */
+@Component
+public class TrendingTracker {
+
+    // Summaries whose hottest URL has decayed below this are dropped
+    private static final double IDLE_WEIGHT = 0.01;
+
+    private final ConcurrentHashMap<Long, DecayingSpaceSaving> summaries = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final double lambdaPerMilli;
+
+    public TrendingTracker(@Value("${app.trending.capacity:200}") int capacity,
+                           @Value("${app.trending.half-life-minutes:60}") long halfLifeMinutes) {
+        this.capacity = capacity;
+        this.lambdaPerMilli = Math.log(2) / (halfLifeMinutes * 60_000.0);
+    }
+
+    public void add(List<ClickEvent> events) {
+        long now = System.currentTimeMillis();
+        for (ClickEvent event : events) {
+            if (event.getOrganizationId() == null) {
+                continue;
+            }
+            // Updating inside compute() keeps pruneIdle from dropping the summary mid-add
+            summaries.compute(event.getOrganizationId(), (id, summary) -> {
+                if (summary == null) {
+                    summary = new DecayingSpaceSaving(capacity, lambdaPerMilli, now);
+                }
+                synchronized (summary) {
+                    summary.add(event.getUrlId(), event.getWeight(), now);
+                }
+                return summary;
+            });
+        }
+    }
+
+    public List<Trend> top(Long organizationId, int limit) {
+        DecayingSpaceSaving summary = summaries.get(organizationId);
+        if (summary == null) {
+            return Collections.emptyList();
+        }
+        List<DecayingSpaceSaving.Counter> counters;
+        synchronized (summary) {
+            counters = summary.top(limit, System.currentTimeMillis());
+        }
+        List<Trend> trends = new ArrayList<>(counters.size());
+        for (DecayingSpaceSaving.Counter counter : counters) {
+            trends.add(new Trend(counter.key, counter.count, counter.error));
+        }
+        return trends;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.prune-interval-ms:600000}")
+    public void pruneIdle() {
+        long now = System.currentTimeMillis();
+        for (Long organizationId : summaries.keySet()) {
+            summaries.computeIfPresent(organizationId, (id, summary) -> {
+                synchronized (summary) {
+                    return summary.maxWeight(now) < IDLE_WEIGHT ? null : summary;
+                }
+            });
+        }
+    }
+
+    /**
+     * A tracked URL with its decayed click weight. {@code error} bounds how
+     * much of the score may come from URLs it displaced.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Trend {
+        private final Long urlId;
+        private final double score;
+        private final double error;
+    }
+}
@@ -0,0 +1,213 @@
+package com.url_shortener.analytics;
+
+import com.url_shortener.entity.VisitorSketch;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains HyperLogLog sketches of distinct visitors per URL and per
+ * organization, one per day plus a lifetime sketch.
+ *
+ * Drained click events update in-memory sketches; a scheduled flush merges
+ * them into {@code visitor_sketches} and refreshes the {@code unique_visitors}
+ * estimate on {@code urls} and {@code organizations}. Merging takes the
+ * register-wise maximum, so a flush that fails can simply be merged again
+ * later.
+ *
+ * Sketches start sparse, so a key costs a few bytes until it sees hundreds
+ * of visitors. Once {@code max-dirty-keys} keys are pending the drain thread
+ * flushes early, which bounds the heap between flushes. Each flush works in
+ * chunks of {@code flush-chunk-size} keys, one transaction per chunk: one
+ * locking read of the stored rows, then batched updates and inserts.
+ */
+@Component
+public class VisitorSketchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(VisitorSketchWriter.class);
+
+    private static final String SELECT_SQL_PREFIX =
+            "SELECT scope, scope_id, bucket_day, registers FROM visitor_sketches WHERE (scope, scope_id, bucket_day) IN (";
+    private static final String UPDATE_SQL =
+            "UPDATE visitor_sketches SET registers = ? WHERE scope = ? AND scope_id = ? AND bucket_day = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO visitor_sketches (scope, scope_id, bucket_day, registers) VALUES (?, ?, ?, ?)";
+    private static final String URL_ESTIMATE_SQL = "UPDATE urls SET unique_visitors = ? WHERE id = ?";
+    private static final String ORGANIZATION_ESTIMATE_SQL = "UPDATE organizations SET unique_visitors = ? WHERE id = ?";
+
+    // Same order on every node, so concurrent flushes lock rows in the same order
+    private static final Comparator<SketchKey> KEY_ORDER = Comparator
+            .comparing((SketchKey key) -> key.scope)
+            .thenComparing(key -> key.scopeId)
+            .thenComparing(key -> key.day);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxDirtyKeys;
+    private final int chunkSize;
+
+    // Guarded by this
+    private Map<SketchKey, HyperLogLog> dirty = new HashMap<>();
+
+    public VisitorSketchWriter(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.visitors.max-dirty-keys:20000}") int maxDirtyKeys,
+                               @Value("${app.visitors.flush-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxDirtyKeys = maxDirtyKeys;
+        this.chunkSize = chunkSize;
+    }
+
+    public void add(List<ClickEvent> events) {
+        boolean full;
+        synchronized (this) {
+            for (ClickEvent event : events) {
+                Long visitorHash = event.getVisitorHash();
+                if (visitorHash == null) {
+                    continue;
+                }
+                LocalDate day = event.getClickedAt().toLocalDate();
+                sketch(VisitorSketch.Scope.URL, event.getUrlId(), day).add(visitorHash);
+                sketch(VisitorSketch.Scope.URL, event.getUrlId(), VisitorSketch.LIFETIME).add(visitorHash);
+                if (event.getOrganizationId() != null) {
+                    sketch(VisitorSketch.Scope.ORGANIZATION, event.getOrganizationId(), day).add(visitorHash);
+                    sketch(VisitorSketch.Scope.ORGANIZATION, event.getOrganizationId(), VisitorSketch.LIFETIME).add(visitorHash);
+                }
+            }
+            full = dirty.size() >= maxDirtyKeys;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.visitors.flush-interval-ms:10000}")
+    public void flush() {
+        Map<SketchKey, HyperLogLog> batch;
+        synchronized (this) {
+            if (dirty.isEmpty()) {
+                return;
+            }
+            batch = dirty;
+            dirty = new HashMap<>();
+        }
+        List<SketchKey> keys = new ArrayList<>(batch.keySet());
+        keys.sort(KEY_ORDER);
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            List<SketchKey> chunk = keys.subList(from, Math.min(from + chunkSize, keys.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> mergeIntoStore(chunk, batch));
+            } catch (RuntimeException e) {
+                // Also covers a concurrent insert of the same bucket by another node;
+                // re-merging is idempotent, so the chunk is kept for next time
+                logger.warn("Failed to flush {} visitor sketches, will retry: {}", chunk.size(), e.getMessage());
+                synchronized (this) {
+                    for (SketchKey key : chunk) {
+                        dirty.merge(key, batch.get(key), (current, retained) -> {
+                            current.merge(retained);
+                            return current;
+                        });
+                    }
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    synchronized int pendingKeys() {
+        return dirty.size();
+    }
+
+    private HyperLogLog sketch(VisitorSketch.Scope scope, Long scopeId, LocalDate day) {
+        return dirty.computeIfAbsent(new SketchKey(scope, scopeId, day), key -> new HyperLogLog());
+    }
+
+    private void mergeIntoStore(List<SketchKey> chunk, Map<SketchKey, HyperLogLog> batch) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL_PREFIX);
+        List<Object> params = new ArrayList<>(chunk.size() * 3);
+        for (SketchKey key : chunk) {
+            sql.append(params.isEmpty() ? "(?, ?, ?)" : ", (?, ?, ?)");
+            params.add(key.scope.name());
+            params.add(key.scopeId);
+            params.add(Date.valueOf(key.day));
+        }
+        sql.append(") FOR UPDATE");
+        Map<SketchKey, byte[]> stored = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            SketchKey key = new SketchKey(VisitorSketch.Scope.valueOf(rs.getString(1)), rs.getLong(2),
+                    rs.getDate(3).toLocalDate());
+            stored.put(key, rs.getBytes(4));
+        }, params.toArray());
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> urlEstimates = new ArrayList<>();
+        List<Object[]> organizationEstimates = new ArrayList<>();
+        for (SketchKey key : chunk) {
+            HyperLogLog merged = batch.get(key);
+            Date day = Date.valueOf(key.day);
+            byte[] registers = stored.get(key);
+            if (registers == null) {
+                inserts.add(new Object[]{key.scope.name(), key.scopeId, day, merged.toBytes()});
+            } else {
+                HyperLogLog delta = merged;
+                merged = HyperLogLog.fromBytes(registers);
+                merged.merge(delta);
+                updates.add(new Object[]{merged.toBytes(), key.scope.name(), key.scopeId, day});
+            }
+            if (VisitorSketch.LIFETIME.equals(key.day)) {
+                Object[] estimate = {merged.estimate(), key.scopeId};
+                (key.scope == VisitorSketch.Scope.URL ? urlEstimates : organizationEstimates).add(estimate);
+            }
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        jdbcTemplate.batchUpdate(URL_ESTIMATE_SQL, urlEstimates);
+        jdbcTemplate.batchUpdate(ORGANIZATION_ESTIMATE_SQL, organizationEstimates);
+    }
+
+    private static final class SketchKey {
+        private final VisitorSketch.Scope scope;
+        private final Long scopeId;
+        private final LocalDate day;
+
+        private SketchKey(VisitorSketch.Scope scope, Long scopeId, LocalDate day) {
+            this.scope = scope;
+            this.scopeId = scopeId;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SketchKey)) return false;
+            SketchKey other = (SketchKey) o;
+            return scope == other.scope && scopeId.equals(other.scopeId) && day.equals(other.day);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, scopeId, day);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.url_shortener.cache;
+
+import com.url_shortener.entity.UserOrganization;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-node cache of access decisions keyed by (organization id, user email).
+ *
+ * Evictions follow the same pattern as {@link RedirectCache}: applied at once
+ * and again after the surrounding transaction completes. Other nodes pick up
+ * membership, ownership and deletion changes when their entries expire, so
+ * the TTL bounds how long a revoked user can keep access elsewhere.
+ */
+@Component
+public class AccessCache {
+
+    private final BoundedTtlCache<String, AccessDecision> cache;
+
+    public AccessCache(@Value("${app.access-cache.max-size:100000}") int maxSize,
+                       @Value("${app.access-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public AccessDecision get(String userEmail, Long organizationId) {
+        return cache.get(key(userEmail, organizationId));
+    }
+
+    /**
+     * Stamp to take before loading a decision from the database.
+     */
+    public long stamp() {
+        return cache.stamp();
+    }
+
+    public void put(String userEmail, Long organizationId, UserOrganization.Role role, long stamp) {
+        cache.put(key(userEmail, organizationId), new AccessDecision(organizationId, role), stamp);
+    }
+
+    public void evictOrganization(Long organizationId) {
+        cache.invalidateIf((key, decision) -> Objects.equals(decision.getOrganizationId(), organizationId));
+        AfterCompletion.register(() -> cache.invalidateIf((key, decision) -> Objects.equals(decision.getOrganizationId(), organizationId)));
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static String key(String userEmail, Long organizationId) {
+        // The id is numeric, so the first ':' always ends it
+        return organizationId + ":" + userEmail;
+    }
+}
@@ -0,0 +1,20 @@
+package com.url_shortener.cache;
+
+import com.url_shortener.entity.UserOrganization;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A user's standing in an organization, as held by {@link AccessCache}. A null
+ * role records that the user has no access, so denials are cached as well.
+ */
+@Getter
+@AllArgsConstructor
+public class AccessDecision {
+    private final Long organizationId;
+    private final UserOrganization.Role role;
+
+    public boolean isAllowed() {
+        return role != null;
+    }
+}
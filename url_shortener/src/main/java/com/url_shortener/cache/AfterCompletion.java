@@ -0,0 +1,26 @@
+package com.url_shortener.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Repeats a cache eviction once the surrounding transaction completes, so a
+ * read that loads the old row between the first eviction and the commit
+ * cannot leave it cached. Outside a transaction there is nothing to repeat.
+ */
+final class AfterCompletion {
+
+    private AfterCompletion() {
+    }
+
+    static void register(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.url_shortener.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+
+/**
+ * Small in-process cache bounded both by size and by time-to-live.
+ * Keys are spread over independently locked LRU segments so concurrent
+ * lookups for different keys rarely contend.
+ *
+ * Loads that race with an invalidation are guarded by a stamp: callers take
+ * {@link #stamp()} before reading the source of truth and pass it to
+ * {@link #put(Object, Object, long)}, which drops the value if any
+ * invalidation happened in between.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final List<Segment<K, V>> segments;
+    private final long ttlNanos;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BoundedTtlCache(int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        int perSegment = Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        this.segments = new ArrayList<>(SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments.add(new Segment<>(perSegment));
+        }
+        this.ttlNanos = unit.toNanos(ttl);
+    }
+
+    public V get(K key) {
+        return segmentFor(key).get(key, System.nanoTime());
+    }
+
+    /**
+     * Returns the current invalidation stamp, to be taken before loading a value.
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public void put(K key, V value) {
+        segmentFor(key).put(key, value, System.nanoTime() + ttlNanos, -1, invalidations);
+    }
+
+    /**
+     * Caches the value only if nothing was invalidated since {@code stamp} was taken.
+     */
+    public void put(K key, V value, long stamp) {
+        segmentFor(key).put(key, value, System.nanoTime() + ttlNanos, stamp, invalidations);
+    }
+
+    public void invalidate(K key) {
+        invalidations.incrementAndGet();
+        segmentFor(key).remove(key);
+    }
+
+    public void invalidateIf(BiPredicate<K, V> predicate) {
+        invalidations.incrementAndGet();
+        for (Segment<K, V> segment : segments) {
+            segment.removeIf(predicate);
+        }
+    }
+
+    public void clear() {
+        invalidateIf((k, v) -> true);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments.get(h & (SEGMENT_COUNT - 1));
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtNanos;
+
+        private Entry(V value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        private Segment(int capacity) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized V get(K key, long now) {
+            Entry<V> entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiresAtNanos >= 0) {
+                map.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized void put(K key, V value, long expiresAtNanos, long stamp, AtomicLong invalidations) {
+            if (stamp >= 0 && stamp != invalidations.get()) {
+                return;
+            }
+            map.put(key, new Entry<>(value, expiresAtNanos));
+        }
+
+        synchronized void remove(K key) {
+            map.remove(key);
+        }
+
+        synchronized void removeIf(BiPredicate<K, V> predicate) {
+            Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, Entry<V>> e = it.next();
+                if (predicate.test(e.getKey(), e.getValue().value)) {
+                    it.remove();
+                }
+            }
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+}
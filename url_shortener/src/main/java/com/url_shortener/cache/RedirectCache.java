@@ -0,0 +1,99 @@
+package com.url_shortener.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-node cache of redirect targets keyed by (organization short name, short code).
+ * Previews share the cache under their own keys, by short code alone and by
+ * (organization id, organization URL id).
+ *
+ * Evictions are applied immediately and again after the surrounding transaction
+ * commits, so a redirect that reads the database between the two cannot
+ * re-populate the cache with the old row. Other nodes only see changes once
+ * their entries expire, which bounds staleness across the cluster to the TTL.
+ */
+@Component
+public class RedirectCache {
+
+    private final BoundedTtlCache<String, RedirectTarget> cache;
+
+    public RedirectCache(@Value("${app.redirect-cache.max-size:100000}") int maxSize,
+                         @Value("${app.redirect-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public RedirectTarget get(String orgShortName, String shortCode) {
+        return cache.get(key(orgShortName, shortCode));
+    }
+
+    /**
+     * Stamp to take before loading a target from the database.
+     */
+    public long stamp() {
+        return cache.stamp();
+    }
+
+    public void put(String orgShortName, String shortCode, RedirectTarget target, long stamp) {
+        cache.put(key(orgShortName, shortCode), target, stamp);
+    }
+
+    public RedirectTarget getPreview(String shortCode) {
+        return cache.get(previewKey(shortCode));
+    }
+
+    public void putPreview(String shortCode, RedirectTarget target, long stamp) {
+        cache.put(previewKey(shortCode), target, stamp);
+    }
+
+    public RedirectTarget getPreview(Long organizationId, Long organizationUrlId) {
+        return cache.get(previewKey(organizationId, organizationUrlId));
+    }
+
+    public void putPreview(Long organizationId, Long organizationUrlId, RedirectTarget target, long stamp) {
+        cache.put(previewKey(organizationId, organizationUrlId), target, stamp);
+    }
+
+    public void evict(String orgShortName, String shortCode) {
+        String key = key(orgShortName, shortCode);
+        cache.invalidate(key);
+        AfterCompletion.register(() -> cache.invalidate(key));
+    }
+
+    /**
+     * Evicts the redirect and both preview entries of one URL.
+     */
+    public void evict(String orgShortName, String shortCode, Long organizationId, Long organizationUrlId) {
+        List<String> keys = List.of(key(orgShortName, shortCode), previewKey(shortCode),
+                previewKey(organizationId, organizationUrlId));
+        keys.forEach(cache::invalidate);
+        AfterCompletion.register(() -> keys.forEach(cache::invalidate));
+    }
+
+    public void evictOrganization(Long organizationId) {
+        cache.invalidateIf((key, target) -> Objects.equals(target.getOrganizationId(), organizationId));
+        AfterCompletion.register(() -> cache.invalidateIf((key, target) -> Objects.equals(target.getOrganizationId(), organizationId)));
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static String key(String orgShortName, String shortCode) {
+        // Neither part can contain '/', since both come from single path segments
+        return orgShortName + "/" + shortCode;
+    }
+
+    // Preview keys contain no '/', so they never collide with redirect keys
+    private static String previewKey(String shortCode) {
+        return "code:" + shortCode;
+    }
+
+    private static String previewKey(Long organizationId, Long organizationUrlId) {
+        return "id:" + organizationId + ":" + organizationUrlId;
+    }
+}
@@ -0,0 +1,26 @@
+package com.url_shortener.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a short link resolves to, as held by {@link RedirectCache}. Title and
+ * description are kept so previews can be answered from the same entry.
+ */
+@Getter
+@AllArgsConstructor
+public class RedirectTarget {
+    private final Long urlId;
+    private final Long organizationId;
+    private final String originalUrl;
+    private final LocalDateTime expiresAt;
+    private final boolean trackable;
+    private final String title;
+    private final String description;
+
+    public boolean isExpiredAt(LocalDateTime now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+}
@@ -0,0 +1,202 @@
+package com.url_shortener.cache;
+
+import com.url_shortener.response.ShortCodeFilterStatsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional per-node Bloom filter over the short codes of active URLs, used to
+ * answer redirects for codes that cannot exist without touching the database.
+ *
+ * When {@code app.short-code-filter.enabled} is set, the first sync builds
+ * the filter from a streaming scan; until then every code passes. Codes
+ * created or renamed on this node are added at once. Those written by other
+ * nodes are picked up by the periodic sync, which re-reads rows created or
+ * updated since the previous sync minus a grace period for late commits, so
+ * on multiple nodes a new link can 404 elsewhere for up to one sync interval.
+ *
+ * Deleted codes cannot be removed from a Bloom filter and only raise its
+ * false-positive rate, as do creates beyond the sized capacity; the filter is
+ * rebuilt when that estimate passes {@code rebuild-false-positive-rate}.
+ */
+@Component
+public class ShortCodeFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShortCodeFilter.class);
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM urls WHERE active = TRUE";
+    private static final String SCAN_SQL = "SELECT short_code FROM urls WHERE active = TRUE";
+    private static final String SYNC_SQL =
+            "SELECT short_code FROM urls WHERE active = TRUE AND (created_at >= ? OR updated_at >= ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final double rebuildFalsePositiveRate;
+    private final long minCapacity;
+    private final long graceSeconds;
+    private final int fetchSize;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile BloomFilter current;
+    // Receives concurrent adds while a rebuild scans, so none are lost in the swap
+    private volatile BloomFilter building;
+    private volatile long capacity;
+    private volatile LocalDateTime lastSync;
+    private volatile LocalDateTime lastBuiltAt;
+
+    public ShortCodeFilter(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.short-code-filter.enabled:false}") boolean enabled,
+                           @Value("${app.short-code-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${app.short-code-filter.rebuild-false-positive-rate:0.03}") double rebuildFalsePositiveRate,
+                           @Value("${app.short-code-filter.min-capacity:100000}") long minCapacity,
+                           @Value("${app.short-code-filter.sync-grace-seconds:60}") long graceSeconds,
+                           @Value("${app.short-code-filter.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // PostgreSQL only streams with auto-commit off
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildFalsePositiveRate = rebuildFalsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.graceSeconds = graceSeconds;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * False means no active URL has this code; true means the database must be asked.
+     */
+    public boolean mightContain(String shortCode) {
+        BloomFilter filter = current;
+        if (filter == null) {
+            return true;
+        }
+        if (filter.mightContain(shortCode)) {
+            passed.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void add(String shortCode) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(shortCode);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(shortCode);
+        }
+    }
+
+    /**
+     * Records a lookup the filter let through that found no URL. Also counts
+     * codes that exist only under another organization, so the rate derived
+     * from it is an upper bound.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.short-code-filter.sync-interval-ms:5000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            BloomFilter filter = current;
+            if (filter == null || filter.estimatedFalsePositiveRate() > rebuildFalsePositiveRate) {
+                rebuild();
+            } else {
+                catchUp(filter);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Short code filter sync failed: {}", e.getMessage());
+        }
+    }
+
+    void rebuild() {
+        LocalDateTime started = LocalDateTime.now();
+        long active = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        // Headroom so creates do not push the rate up before the next rebuild
+        long newCapacity = Math.max(minCapacity, active * 2);
+        BloomFilter next = BloomFilter.create(newCapacity, falsePositiveRate);
+        building = next;
+        try {
+            long scanned = scan(SCAN_SQL, next, null);
+            current = next;
+            capacity = newCapacity;
+            lastSync = started;
+            lastBuiltAt = started;
+            logger.info("Built short code filter over {} codes ({} KB, {} hash functions)",
+                    scanned, next.memoryBytes() / 1024, next.hashFunctions());
+        } finally {
+            building = null;
+        }
+    }
+
+    private void catchUp(BloomFilter filter) {
+        LocalDateTime started = LocalDateTime.now();
+        scan(SYNC_SQL, filter, Timestamp.valueOf(lastSync.minusSeconds(graceSeconds)));
+        lastSync = started;
+    }
+
+    private long scan(String sql, BloomFilter filter, Timestamp since) {
+        long[] count = {0};
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            if (since != null) {
+                statement.setTimestamp(1, since);
+                statement.setTimestamp(2, since);
+            }
+            return statement;
+        }, rs -> {
+            filter.put(rs.getString(1));
+            count[0]++;
+        }));
+        return count[0];
+    }
+
+    public ShortCodeFilterStatsResponse stats() {
+        ShortCodeFilterStatsResponse stats = new ShortCodeFilterStatsResponse();
+        stats.setEnabled(enabled);
+        BloomFilter filter = current;
+        stats.setReady(filter != null);
+        stats.setTargetFalsePositiveRate(falsePositiveRate);
+        stats.setRejectedLookups(rejected.sum());
+        stats.setPassedLookups(passed.sum());
+        stats.setFalsePositives(falsePositives.sum());
+        long absentLookups = rejected.sum() + falsePositives.sum();
+        stats.setObservedFalsePositiveRate(absentLookups == 0 ? 0 : (double) falsePositives.sum() / absentLookups);
+        if (filter != null) {
+            stats.setCapacity(capacity);
+            stats.setBitCount(filter.bitCount());
+            stats.setHashFunctions(filter.hashFunctions());
+            stats.setMemoryBytes(filter.memoryBytes());
+            stats.setEstimatedFalsePositiveRate(filter.estimatedFalsePositiveRate());
+            stats.setLastBuiltAt(lastBuiltAt);
+        }
+        return stats;
+    }
+}
@@ -1,8 +1,15 @@
 package com.url_shortener.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.url_shortener.ratelimit.RateLimitFilter;
+import com.url_shortener.ratelimit.RateLimiter;
+import com.url_shortener.service.UrlService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -13,7 +20,7 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationFi
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 
-import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 @EnableWebSecurity
@@ -22,35 +29,65 @@ public class AppConfig {
     @Autowired
     private CorsProperties corsProperties;
 
+    @Value("${app.jwt.token-cache.max-size:10000}")
+    private int tokenCacheMaxSize;
+
+    @Value("${app.jwt.token-cache.ttl-seconds:300}")
+    private long tokenCacheTtlSeconds;
+
+    @Value("${app.redirect.fast-path.enabled:true}")
+    private boolean redirectFastPathEnabled;
+
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.sessionManagement(management -> management.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Completion of a streamed response was authorized with its original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/s/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().permitAll())
-                .addFilterBefore(new JwtTokenValidator(), BasicAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenValidator(new JwtTokenCache(tokenCacheMaxSize, tokenCacheTtlSeconds)),
+                        BasicAuthenticationFilter.class)
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()));
         return http.build();
     }
 
+    // Built once; the properties do not change after startup
     private CorsConfigurationSource corsConfigurationSource() {
-        return new CorsConfigurationSource() {
-            @Override
-            public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
-                CorsConfiguration cfg = new CorsConfiguration();
-                cfg.setAllowedOrigins(corsProperties.getAllowedOrigins());
-                cfg.setAllowedMethods(corsProperties.getAllowedMethods());
-                cfg.setAllowCredentials(corsProperties.isAllowCredentials());
-                cfg.setAllowedHeaders(corsProperties.getAllowedHeaders());
-                cfg.setExposedHeaders(corsProperties.getExposedHeaders());
-                cfg.setMaxAge(corsProperties.getMaxAge());
-                return cfg;
-            }
-        };
+        CorsConfiguration cfg = new CorsConfiguration();
+        cfg.setAllowedOrigins(corsProperties.getAllowedOrigins());
+        cfg.setAllowedMethods(corsProperties.getAllowedMethods());
+        cfg.setAllowCredentials(corsProperties.isAllowCredentials());
+        cfg.setAllowedHeaders(corsProperties.getAllowedHeaders());
+        cfg.setExposedHeaders(corsProperties.getExposedHeaders());
+        cfg.setMaxAge(corsProperties.getMaxAge());
+        return request -> cfg;
+    }
+
+    // First of all filters, so a limited request costs no further work
+    @Bean
+    FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, objectMapper));
+        registration.addUrlPatterns("/s/*", "/api/urls", "/api/urls/bulk");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // Ordered ahead of the security filter chain so redirects never enter it
+    @Bean
+    FilterRegistrationBean<RedirectFastPathFilter> redirectFastPathFilter(
+            UrlService urlService, ObjectMapper objectMapper, RedirectCachePolicy cachePolicy) {
+        FilterRegistrationBean<RedirectFastPathFilter> registration =
+                new FilterRegistrationBean<>(new RedirectFastPathFilter(urlService, objectMapper, cachePolicy));
+        registration.addUrlPatterns("/s/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registration.setEnabled(redirectFastPathEnabled);
+        return registration;
     }
 
     @Bean
@@ -13,8 +13,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
 
 /**
  * Central authentication filter that validates authentication for protected endpoints
@@ -22,13 +20,13 @@ import java.util.List;
  */
 public class AuthenticationFilter extends OncePerRequestFilter {
 
-    private static final List<String> PUBLIC_PATHS = Arrays.asList(
+    private static final String[] PUBLIC_PATHS = {
             "/api/auth/signup",
             "/api/auth/signin",
             "/api/public/",
             "/s/",
             "/error"
-    );
+    };
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -63,7 +61,12 @@ public class AuthenticationFilter extends OncePerRequestFilter {
     }
 
     private boolean isPublicPath(String path) {
-        return PUBLIC_PATHS.stream().anyMatch(path::startsWith);
+        for (String publicPath : PUBLIC_PATHS) {
+            if (path.startsWith(publicPath)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void handleAuthenticationError(HttpServletResponse response, String message) throws IOException {
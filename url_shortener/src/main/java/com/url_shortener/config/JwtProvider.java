@@ -1,6 +1,7 @@
 package com.url_shortener.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.context.annotation.Configuration;
@@ -18,6 +19,9 @@ public class JwtProvider {
 
     private static SecretKey key = Keys.hmacShaKeyFor(JwtConstant.SECRET_KEY.getBytes());
 
+    // Immutable and thread-safe, so one instance serves every request
+    private static final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
     public String generateToken(Authentication auth) {
         Collection<? extends GrantedAuthority> authorities = auth.getAuthorities();
         String roles = populateAuthorities(authorities);
@@ -46,7 +50,7 @@ public class JwtProvider {
         if (jwt.startsWith("Bearer ")) {
             jwt = jwt.substring(7);
         }
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+        Claims claims = parseClaims(jwt);
         String email = String.valueOf(claims.get("email"));
         return email;
     }
@@ -56,10 +60,17 @@ public class JwtProvider {
             if (jwt.startsWith("Bearer ")) {
                 jwt = jwt.substring(7);
             }
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt);
+            parseClaims(jwt);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies the signature and expiry of a bare token and returns its claims.
+     */
+    public static Claims parseClaims(String jwt) {
+        return parser.parseClaimsJws(jwt).getBody();
+    }
+}
@@ -0,0 +1,97 @@
+package com.url_shortener.config;
+
+import com.url_shortener.cache.BoundedTtlCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claims of tokens that already passed signature verification, keyed by their
+ * SHA-256 digest so raw bearer tokens are never held in memory. An entry is
+ * served until the earlier of the cache TTL and the token's own expiry.
+ *
+ * Only the claims are cached; the filter builds a new Authentication for each
+ * request, so nothing one request does to its security context reaches another.
+ */
+public class JwtTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final BoundedTtlCache<String, VerifiedToken> cache;
+
+    public JwtTokenCache(int maxSize, long ttlSeconds) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns the claims of a previously verified token, or null.
+     */
+    public VerifiedClaims get(String jwt) {
+        String key = digest(jwt);
+        VerifiedToken verified = cache.get(key);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.expiresAtMillis <= System.currentTimeMillis()) {
+            cache.invalidate(key);
+            return null;
+        }
+        return verified.claims;
+    }
+
+    /**
+     * @param expiresAtMillis the token's exp claim, or {@link Long#MAX_VALUE} when it has none
+     */
+    public void put(String jwt, VerifiedClaims claims, long expiresAtMillis) {
+        cache.put(digest(jwt), new VerifiedToken(claims, expiresAtMillis));
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static String digest(String jwt) {
+        return HexFormat.of().formatHex(SHA_256.get().digest(jwt.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * The claims the filter authenticates with: the email and the raw
+     * comma-separated authorities.
+     */
+    public static final class VerifiedClaims {
+        private final String email;
+        private final String authorities;
+
+        public VerifiedClaims(String email, String authorities) {
+            this.email = email;
+            this.authorities = authorities;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getAuthorities() {
+            return authorities;
+        }
+    }
+
+    private static final class VerifiedToken {
+        private final VerifiedClaims claims;
+        private final long expiresAtMillis;
+
+        private VerifiedToken(VerifiedClaims claims, long expiresAtMillis) {
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
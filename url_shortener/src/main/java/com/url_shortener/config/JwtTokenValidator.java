@@ -1,8 +1,6 @@
 package com.url_shortener.config;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,12 +13,18 @@ import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 
 public class JwtTokenValidator extends OncePerRequestFilter {
 
+    private final JwtTokenCache tokenCache;
+
+    public JwtTokenValidator(JwtTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -29,23 +33,36 @@ public class JwtTokenValidator extends OncePerRequestFilter {
 
         if (jwt != null && jwt.startsWith("Bearer ")) {
             jwt = jwt.substring(7);
-            try {
-                SecretKey key = Keys.hmacShaKeyFor(JwtConstant.SECRET_KEY.getBytes());
-                Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
-
-                String email = String.valueOf(claims.get("email"));
-                String authorities = String.valueOf(claims.get("authorities"));
+            SecurityContextHolder.getContext().setAuthentication(authenticate(jwt));
+        }
 
-                // Handle authorities (roles)
-                List<GrantedAuthority> auths = AuthorityUtils.commaSeparatedStringToAuthorityList(authorities);
-                Authentication authentication = new UsernamePasswordAuthenticationToken(email, null, auths);
+        filterChain.doFilter(request, response);
+    }
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            } catch (Exception e) {
-                throw new BadCredentialsException("Invalid token: " + e.getMessage());
-            }
+    // A token seen before skips signature verification and claim parsing
+    private Authentication authenticate(String jwt) {
+        JwtTokenCache.VerifiedClaims verified = tokenCache.get(jwt);
+        if (verified == null) {
+            verified = verify(jwt);
         }
 
-        filterChain.doFilter(request, response);
+        // Handle authorities (roles)
+        List<GrantedAuthority> auths = AuthorityUtils.commaSeparatedStringToAuthorityList(verified.getAuthorities());
+        return new UsernamePasswordAuthenticationToken(verified.getEmail(), null, auths);
+    }
+
+    private JwtTokenCache.VerifiedClaims verify(String jwt) {
+        try {
+            Claims claims = JwtProvider.parseClaims(jwt);
+
+            JwtTokenCache.VerifiedClaims verified = new JwtTokenCache.VerifiedClaims(
+                    String.valueOf(claims.get("email")), String.valueOf(claims.get("authorities")));
+
+            Date expiration = claims.getExpiration();
+            tokenCache.put(jwt, verified, expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+            return verified;
+        } catch (Exception e) {
+            throw new BadCredentialsException("Invalid token: " + e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
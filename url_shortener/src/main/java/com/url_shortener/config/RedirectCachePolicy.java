@@ -0,0 +1,53 @@
+package com.url_shortener.config;
+
+import com.url_shortener.cache.RedirectTarget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Decides how browsers and CDNs may cache a redirect, so the fast-path filter
+ * and {@code RedirectController} answer identically.
+ *
+ * Untracked links get a 301 that may be cached for {@code max-age-seconds},
+ * capped at the time left before the link expires. Trackable links get a 302
+ * with {@code no-store}, since a cached redirect is a click we never see.
+ */
+@Component
+public class RedirectCachePolicy {
+
+    private final long maxAgeSeconds;
+
+    public RedirectCachePolicy(@Value("${app.redirect.cache.max-age-seconds:3600}") long maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    public HttpStatus status(RedirectTarget target) {
+        return target.isTrackable() ? HttpStatus.FOUND : HttpStatus.MOVED_PERMANENTLY;
+    }
+
+    public HttpHeaders headers(RedirectTarget target, LocalDateTime now) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LOCATION, target.getOriginalUrl());
+        long maxAge = target.isTrackable() ? 0 : maxAgeSeconds(target, now);
+        if (maxAge > 0) {
+            headers.setCacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePublic());
+            headers.setExpires(System.currentTimeMillis() + maxAge * 1000);
+        } else {
+            headers.setCacheControl(CacheControl.noStore());
+        }
+        return headers;
+    }
+
+    private long maxAgeSeconds(RedirectTarget target, LocalDateTime now) {
+        if (target.getExpiresAt() == null) {
+            return maxAgeSeconds;
+        }
+        return Math.min(maxAgeSeconds, Duration.between(now, target.getExpiresAt()).getSeconds());
+    }
+}
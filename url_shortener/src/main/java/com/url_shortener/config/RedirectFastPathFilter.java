@@ -0,0 +1,89 @@
+package com.url_shortener.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.url_shortener.cache.RedirectTarget;
+import com.url_shortener.dto.ClickContext;
+import com.url_shortener.response.ApiResponse;
+import com.url_shortener.service.UrlService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Serves public redirects ({@code GET /s/{orgShortName}/{shortCode}}) ahead of
+ * the Spring Security chain and the MVC dispatcher. Redirects are anonymous,
+ * so JWT parsing, CORS processing and handler mapping only add latency there.
+ *
+ * Responses match {@code RedirectController}. Anything that is not a plain
+ * two-segment GET, such as previews or percent-encoded paths, continues down
+ * the normal chain.
+ */
+public class RedirectFastPathFilter implements Filter {
+
+    private static final String PREFIX = "/s/";
+
+    private final UrlService urlService;
+    private final ObjectMapper objectMapper;
+    private final RedirectCachePolicy cachePolicy;
+
+    public RedirectFastPathFilter(UrlService urlService, ObjectMapper objectMapper, RedirectCachePolicy cachePolicy) {
+        this.urlService = urlService;
+        this.objectMapper = objectMapper;
+        this.cachePolicy = cachePolicy;
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+
+        String[] segments = redirectSegments(request);
+        if (segments == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String orgShortName = segments[0];
+        String shortCode = segments[1];
+        ClickContext clickContext = new ClickContext(
+                request.getHeader("Referer"),
+                request.getHeader("User-Agent"),
+                request.getRemoteAddr());
+        ApiResponse<RedirectTarget> result = urlService.resolveRedirect(orgShortName, shortCode, clickContext);
+
+        if (result.isSuccess()) {
+            RedirectTarget target = result.getData();
+            response.setStatus(cachePolicy.status(target).value());
+            cachePolicy.headers(target, LocalDateTime.now()).forEach((name, values) -> response.setHeader(name, values.get(0)));
+        } else {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), result);
+        }
+    }
+
+    /**
+     * Returns {orgShortName, shortCode} for a plain redirect request, or null.
+     */
+    public static String[] redirectSegments(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        int slash = path.indexOf('/', PREFIX.length());
+        if (!path.startsWith(PREFIX) || slash <= PREFIX.length() || slash == path.length() - 1
+                || path.indexOf('/', slash + 1) >= 0 || path.indexOf('%') >= 0 || path.indexOf(';') >= 0) {
+            return null;
+        }
+        return new String[]{path.substring(PREFIX.length(), slash), path.substring(slash + 1)};
+    }
+}
@@ -0,0 +1,18 @@
+package com.url_shortener.controller;
+
+import com.url_shortener.analytics.Hashing;
+
+/**
+ * Strong entity tags for JSON responses. The tag is a hash of the response
+ * data rather than of the serialized body, so Spring can answer a matching
+ * {@code If-None-Match} with 304 before the body is ever written.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Object data) {
+        return Long.toHexString(Hashing.hash64(String.valueOf(data)));
+    }
+}
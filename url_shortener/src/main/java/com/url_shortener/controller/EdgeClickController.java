@@ -0,0 +1,52 @@
+package com.url_shortener.controller;
+
+import com.url_shortener.dto.ForwardedClick;
+import com.url_shortener.response.ApiResponse;
+import com.url_shortener.service.UrlService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Receives the clicks of redirects answered by the redirect edge. Not under
+ * {@code /api}, since the edge has no user token; it sends the shared
+ * {@code app.edge.click-key} instead. There is no default key: while it is
+ * unset the endpoint is disabled.
+ */
+@RestController
+@RequestMapping("/internal/edge")
+@RequiredArgsConstructor
+public class EdgeClickController {
+
+    private final UrlService urlService;
+
+    @Value("${app.edge.click-key:}")
+    private String clickKey;
+
+    @PostMapping("/clicks")
+    public ResponseEntity<ApiResponse<Integer>> recordClicks(
+            @RequestHeader(value = "X-Edge-Key", required = false) String key,
+            @RequestBody List<ForwardedClick> clicks) {
+        if (clickKey == null || clickKey.isBlank()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("Edge click forwarding is not enabled"));
+        }
+        // Constant-time comparison, so the key cannot be guessed from response times
+        if (key == null || !MessageDigest.isEqual(key.getBytes(StandardCharsets.UTF_8), clickKey.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Invalid edge key"));
+        }
+
+        ApiResponse<Integer> response = urlService.recordForwardedClicks(clicks);
+
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
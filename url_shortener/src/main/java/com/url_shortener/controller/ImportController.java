@@ -0,0 +1,67 @@
+package com.url_shortener.controller;
+
+import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.ImportJobErrorResponse;
+import com.url_shortener.response.ImportJobResponse;
+import com.url_shortener.service.ImportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/urls/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportJobResponse>> startImport(
+            @RequestParam Long organizationId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        ApiResponse<ImportJobResponse> response = importJobService.startImport(organizationId, file, format, userEmail);
+
+        return response.isSuccess() ?
+                ResponseEntity.accepted().body(response) :
+                ResponseEntity.badRequest().body(response);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ImportJobResponse>> getImportJob(
+            @PathVariable Long jobId,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        ApiResponse<ImportJobResponse> response = importJobService.getImportJob(jobId, userEmail);
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.badRequest().body(response);
+    }
+
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<ApiResponse<Page<ImportJobErrorResponse>>> getImportJobErrors(
+            @PathVariable Long jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        Pageable pageable = PageRequest.of(page, size);
+        ApiResponse<Page<ImportJobErrorResponse>> response = importJobService.getImportJobErrors(jobId, userEmail, pageable);
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.badRequest().body(response);
+    }
+}
@@ -0,0 +1,31 @@
+package com.url_shortener.controller;
+
+import com.url_shortener.cache.ShortCodeFilter;
+import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.ShortCodeFilterStatsResponse;
+import com.url_shortener.response.ShortCodePoolStatsResponse;
+import com.url_shortener.sequence.ShortCodePool;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final ShortCodeFilter shortCodeFilter;
+    private final ShortCodePool shortCodePool;
+
+    @GetMapping("/short-code-filter")
+    public ResponseEntity<ApiResponse<ShortCodeFilterStatsResponse>> getShortCodeFilterStats() {
+        return ResponseEntity.ok(ApiResponse.success(shortCodeFilter.stats()));
+    }
+
+    @GetMapping("/short-code-pool")
+    public ResponseEntity<ApiResponse<ShortCodePoolStatsResponse>> getShortCodePoolStats() {
+        return ResponseEntity.ok(ApiResponse.success(shortCodePool.stats()));
+    }
+}
@@ -2,6 +2,7 @@ package com.url_shortener.controller;
 
 import com.url_shortener.dto.*;
 import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.CursorPageResponse;
 import com.url_shortener.response.OrganizationResponse;
 import com.url_shortener.service.OrganizationService;
 import jakarta.validation.Valid;
@@ -65,6 +66,22 @@ public class OrganizationController {
                 ResponseEntity.badRequest().body(response);
     }
 
+    // Keyset mode: pass an empty ?after= for the first page, then each page's nextCursor
+    @GetMapping(params = "after")
+    public ResponseEntity<ApiResponse<CursorPageResponse<OrganizationResponse>>> getUserOrganizationsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        ApiResponse<CursorPageResponse<OrganizationResponse>> response =
+                organizationService.getUserOrganizationsAfter(userEmail, after, size);
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.badRequest().body(response);
+    }
+
     @GetMapping("/{organizationId}")
     public ResponseEntity<ApiResponse<OrganizationResponse>> getOrganizationById(
             @PathVariable Long organizationId,
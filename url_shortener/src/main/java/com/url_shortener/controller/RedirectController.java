@@ -1,13 +1,20 @@
 package com.url_shortener.controller;
 
 
+import com.url_shortener.cache.RedirectTarget;
+import com.url_shortener.config.RedirectCachePolicy;
+import com.url_shortener.dto.ClickContext;
 import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.UrlPreviewResponse;
 import com.url_shortener.service.UrlService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.view.RedirectView;
+
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/s")
@@ -15,26 +22,27 @@ import org.springframework.web.servlet.view.RedirectView;
 public class RedirectController {
 
     private final UrlService urlService;
+    private final RedirectCachePolicy cachePolicy;
 
     @GetMapping("/api/public/preview/{shortCode}")
-    public ResponseEntity<ApiResponse<String>> previewUrl(@PathVariable String shortCode) {
-        ApiResponse<String> response = urlService.redirectToOriginalUrl(shortCode);
+    public ResponseEntity<ApiResponse<UrlPreviewResponse>> previewUrl(@PathVariable String shortCode) {
+        ApiResponse<UrlPreviewResponse> response = urlService.previewUrl(shortCode);
 
         if (response.isSuccess()) {
-            return ResponseEntity.ok(ApiResponse.success("Preview URL", response.getData()));
+            return previewResponse(response);
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
     }
 
     @GetMapping("/api/public/preview/{organizationId}/{urlId}")
-    public ResponseEntity<ApiResponse<String>> previewUrlByOrgAndId(
+    public ResponseEntity<ApiResponse<UrlPreviewResponse>> previewUrlByOrgAndId(
             @PathVariable Long organizationId,
             @PathVariable Long urlId) {
-        ApiResponse<String> response = urlService.redirectToOriginalUrlByOrgAndId(organizationId, urlId);
+        ApiResponse<UrlPreviewResponse> response = urlService.previewUrlByOrgAndId(organizationId, urlId);
 
         if (response.isSuccess()) {
-            return ResponseEntity.ok(ApiResponse.success("Preview URL", response.getData()));
+            return previewResponse(response);
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
@@ -43,19 +51,30 @@ public class RedirectController {
     @GetMapping("/{orgShortName}/{shortCode}")
     public ResponseEntity<?> redirectToOriginalUrlByOrgShortNameAndShortCode(
             @PathVariable String orgShortName,
-            @PathVariable String shortCode) {
-        ApiResponse<String> response = urlService.redirectToOriginalUrlByOrgShortNameAndShortCode(orgShortName, shortCode);
+            @PathVariable String shortCode,
+            HttpServletRequest request) {
+        ClickContext clickContext = new ClickContext(
+                request.getHeader("Referer"),
+                request.getHeader("User-Agent"),
+                request.getRemoteAddr());
+        ApiResponse<RedirectTarget> response = urlService.resolveRedirect(orgShortName, shortCode, clickContext);
 
         if (response.isSuccess()) {
-            RedirectView redirectView = new RedirectView();
-            redirectView.setUrl(response.getData());
-            redirectView.setStatusCode(HttpStatus.MOVED_PERMANENTLY);
-            return ResponseEntity.status(HttpStatus.MOVED_PERMANENTLY)
-                    .header("Location", response.getData())
+            RedirectTarget target = response.getData();
+            return ResponseEntity.status(cachePolicy.status(target))
+                    .headers(cachePolicy.headers(target, LocalDateTime.now()))
                     .build();
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(response);
         }
     }
+
+    // Previews must be revalidated, but an unchanged target is answered with 304
+    private static ResponseEntity<ApiResponse<UrlPreviewResponse>> previewResponse(ApiResponse<UrlPreviewResponse> response) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(ETags.of(response.getData()))
+                .body(response);
+    }
 }
@@ -1,18 +1,40 @@
 package com.url_shortener.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.url_shortener.dto.*;
+import com.url_shortener.ratelimit.RateLimiter;
 import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.BulkCreateResponse;
+import com.url_shortener.response.CursorPageResponse;
+import com.url_shortener.response.TrendingUrlResponse;
 import com.url_shortener.response.UrlResponse;
+import com.url_shortener.response.UrlStatsResponse;
+import com.url_shortener.service.OrganizationService;
 import com.url_shortener.service.UrlService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/urls")
@@ -20,6 +42,9 @@ import org.springframework.web.bind.annotation.*;
 public class UrlController {
 
     private final UrlService urlService;
+    private final OrganizationService organizationService;
+    private final ObjectMapper objectMapper;
+    private final RateLimiter rateLimiter;
 
     @PostMapping
     public ResponseEntity<ApiResponse<UrlResponse>> createShortUrl(
@@ -27,6 +52,17 @@ public class UrlController {
             Authentication authentication) {
 
         String userEmail = authentication.getName();
+
+        // Only members spend the organization's budget; anyone else is denied by the service
+        if (organizationService.hasAccess(request.getOrganizationId(), userEmail)) {
+            long wait = rateLimiter.tryAcquire(RateLimiter.CREATE_ORGANIZATION, String.valueOf(request.getOrganizationId()));
+            if (wait > 0) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(wait)))
+                        .body(ApiResponse.error("Too many requests"));
+            }
+        }
+
         ApiResponse<UrlResponse> response = urlService.createShortUrl(request, userEmail);
 
         return response.isSuccess() ?
@@ -34,6 +70,48 @@ public class UrlController {
                 ResponseEntity.badRequest().body(response);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkCreateResponse>> bulkCreateShortUrls(
+            @RequestBody List<CreateUrlRequest> requests,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        ApiResponse<BulkCreateResponse> response = urlService.bulkCreateShortUrls(requests, userEmail);
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.badRequest().body(response);
+    }
+
+    // One CreateUrlRequest per line; a line that cannot be parsed fails only its own item
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<ApiResponse<BulkCreateResponse>> bulkCreateShortUrlsFromNdjson(
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+
+        List<CreateUrlRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = request.getReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    requests.add(objectMapper.readValue(line, CreateUrlRequest.class));
+                } catch (JsonProcessingException e) {
+                    requests.add(null);
+                }
+            }
+        }
+
+        String userEmail = authentication.getName();
+        ApiResponse<BulkCreateResponse> response = urlService.bulkCreateShortUrls(requests, userEmail);
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.badRequest().body(response);
+    }
+
     @GetMapping("/organization/{organizationId}")
     public ResponseEntity<ApiResponse<Page<UrlResponse>>> getUrlsByOrganization(
             @PathVariable Long organizationId,
@@ -57,6 +135,63 @@ public class UrlController {
                 ResponseEntity.badRequest().body(response);
     }
 
+    // Keyset mode: pass an empty ?after= for the first page, then each page's nextCursor
+    @GetMapping(value = "/organization/{organizationId}", params = "after")
+    public ResponseEntity<ApiResponse<CursorPageResponse<UrlResponse>>> getUrlsByOrganizationAfter(
+            @PathVariable Long organizationId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        ApiResponse<CursorPageResponse<UrlResponse>> response =
+                urlService.getUrlsByOrganizationAfter(organizationId, userEmail, after, size);
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.badRequest().body(response);
+    }
+
+    // Rows are written to the response as they are read; nothing is buffered per page
+    @GetMapping("/organization/{organizationId}/export")
+    public ResponseEntity<StreamingResponseBody> exportUrlsByOrganization(
+            @PathVariable Long organizationId,
+            @RequestParam(defaultValue = "csv") String format,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        ApiResponse<StreamingResponseBody> response =
+                urlService.exportUrlsByOrganization(organizationId, format, userEmail);
+
+        if (!response.isSuccess()) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, response));
+        }
+        boolean csv = format.trim().equalsIgnoreCase("csv");
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"urls-" + organizationId + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(response.getData());
+    }
+
+    @GetMapping("/organization/{organizationId}/trending")
+    public ResponseEntity<ApiResponse<List<TrendingUrlResponse>>> getTrendingUrls(
+            @PathVariable Long organizationId,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        ApiResponse<List<TrendingUrlResponse>> response =
+                urlService.getTrendingUrls(organizationId, userEmail, limit);
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.badRequest().body(response);
+    }
+
     @GetMapping("/my-urls")
     public ResponseEntity<ApiResponse<Page<UrlResponse>>> getUserUrls(
             @RequestParam(defaultValue = "0") int page,
@@ -78,6 +213,20 @@ public class UrlController {
                 ResponseEntity.badRequest().body(response);
     }
 
+    @GetMapping(value = "/my-urls", params = "after")
+    public ResponseEntity<ApiResponse<CursorPageResponse<UrlResponse>>> getUserUrlsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        ApiResponse<CursorPageResponse<UrlResponse>> response = urlService.getUserUrlsAfter(userEmail, after, size);
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.badRequest().body(response);
+    }
+
     @GetMapping("/{urlId}")
     public ResponseEntity<ApiResponse<UrlResponse>> getUrlDetails(
             @PathVariable Long urlId,
@@ -86,6 +235,26 @@ public class UrlController {
         String userEmail = authentication.getName();
         ApiResponse<UrlResponse> response = urlService.getUrlDetails(urlId, userEmail);
 
+        // Unchanged details are answered with 304 by Spring when If-None-Match matches
+        return response.isSuccess() ?
+                ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .eTag(ETags.of(response.getData()))
+                        .body(response) :
+                ResponseEntity.badRequest().body(response);
+    }
+
+    @GetMapping("/{urlId}/stats")
+    public ResponseEntity<ApiResponse<UrlStatsResponse>> getUrlStats(
+            @PathVariable Long urlId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "day") String granularity,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        ApiResponse<UrlStatsResponse> response = urlService.getUrlStats(urlId, userEmail, from, to, granularity);
+
         return response.isSuccess() ?
                 ResponseEntity.ok(response) :
                 ResponseEntity.badRequest().body(response);
@@ -0,0 +1,17 @@
+package com.url_shortener.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request metadata captured for a redirect click.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClickContext {
+    private String referrer;
+    private String userAgent;
+    private String clientIp;
+}
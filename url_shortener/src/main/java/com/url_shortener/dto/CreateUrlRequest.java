@@ -32,4 +32,7 @@ public class CreateUrlRequest {
     @Size(max = 500, message = "Description must be less than 500 characters")
     private String description;
     private LocalDateTime expiresAt;
+
+    // Null leaves a link untracked on create and unchanged on update
+    private Boolean trackable;
 }
@@ -0,0 +1,23 @@
+package com.url_shortener.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A redirect answered by the redirect edge, forwarded so it is counted and
+ * analyzed like a redirect answered here.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ForwardedClick {
+    private Long urlId;
+    private Long organizationId;
+    private LocalDateTime clickedAt;
+    private String referrer;
+    private String userAgent;
+    private String clientIp;
+}
@@ -0,0 +1,72 @@
+package com.url_shortener.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "import_jobs", indexes = {
+        @Index(name = "idx_import_jobs_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "organization_id", nullable = false)
+    private Long organizationId;
+
+    @Column(name = "created_by", nullable = false)
+    private Long createdById;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    // Uploaded file, kept until the job finishes so that it can be resumed
+    @Column(name = "file_path", nullable = false, length = 1024)
+    private String filePath;
+
+    private String originalFileName;
+
+    // Data rows consumed by committed batches; a resumed job skips this many
+    @Column(nullable = false)
+    private long processedRows;
+
+    @Column(nullable = false)
+    private long createdCount;
+
+    @Column(nullable = false)
+    private long failedCount;
+
+    // Instance currently working on the job and when it last made progress
+    @Column(length = 64)
+    private String owner;
+
+    private LocalDateTime heartbeatAt;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime finishedAt;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+}
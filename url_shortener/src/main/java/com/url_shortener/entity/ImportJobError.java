@@ -0,0 +1,29 @@
+package com.url_shortener.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "import_job_errors", indexes = {
+        @Index(name = "idx_import_job_errors_job", columnList = "job_id, row_index")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobError {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    // 1-based data row (header and blank lines excluded)
+    @Column(name = "row_index", nullable = false)
+    private long rowNumber;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+}
@@ -4,11 +4,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "organizations")
+@Table(name = "organizations",
+       indexes = {
+           @Index(name = "idx_organizations_owner_created", columnList = "owner_id, createdAt, id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +36,24 @@ public class Organization {
     @Column(nullable = false)
     private boolean active = true;
 
+    // Set on creation and recomputed by OrganizationCountReconciler. Never
+    // updated from the entity, so a stale loaded copy cannot overwrite it.
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long memberCount = 0L;
+
+    // Maintained by atomic increments in the transactions that create, delete,
+    // expire and reactivate URLs, and recomputed by OrganizationCountReconciler.
+    // Not updatable from the entity for the same reason.
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long activeUrlCount = 0L;
+
+    // HyperLogLog estimate, refreshed from the lifetime visitor sketch
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long uniqueVisitors = 0L;
+
     // Owner of the organization
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
@@ -0,0 +1,21 @@
+package com.url_shortener.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Next unallocated organization-level URL id; advanced a block at a time
+@Entity
+@Table(name = "organization_url_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationUrlSequence {
+    @Id
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
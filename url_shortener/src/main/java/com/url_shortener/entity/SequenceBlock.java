@@ -0,0 +1,21 @@
+package com.url_shortener.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Named global counter from which instances reserve blocks of values
+@Entity
+@Table(name = "sequence_blocks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequenceBlock {
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,22 @@
+package com.url_shortener.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Generated short code that was reserved by a node but never used
+@Entity
+@Table(name = "short_code_reservations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortCodeReservation {
+    @Id
+    @Column(length = 16)
+    private String code;
+
+    @Column(name = "reserved_at", nullable = false)
+    private LocalDateTime reservedAt = LocalDateTime.now();
+}
@@ -4,20 +4,37 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "urls",
        uniqueConstraints = {
            @UniqueConstraint(columnNames = {"organization_id", "originalUrl"}),
-           @UniqueConstraint(columnNames = {"organization_id", "shortCode"})
+           @UniqueConstraint(columnNames = {"organization_id", "shortCode"}),
+           @UniqueConstraint(columnNames = {"organization_id", "organizationUrlId"})
+       },
+       // Serve the keyset listings in index order
+       indexes = {
+           @Index(name = "idx_urls_org_created", columnList = "organization_id, active, createdAt, id"),
+           @Index(name = "idx_urls_creator_created", columnList = "created_by, active, createdAt, id"),
+           // Let the short code filter re-read only recently written rows
+           @Index(name = "idx_urls_created", columnList = "createdAt"),
+           @Index(name = "idx_urls_updated", columnList = "updatedAt"),
+           // Let the expiry sweeper range-scan upcoming expirations of active URLs
+           @Index(name = "idx_urls_active_expires", columnList = "active, expiresAt")
        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Url {
+    public static final String ID_SEQUENCE = "urls_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "urls_id")
+    @SequenceGenerator(name = "urls_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, columnDefinition = "TEXT")
@@ -40,11 +57,24 @@ public class Url {
     @Column(nullable = false)
     private Long clickCount = 0L;
 
+    // HyperLogLog estimate, refreshed from the lifetime visitor sketch
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long uniqueVisitors = 0L;
+
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Set when a URL is edited; null for URLs never edited
+    private LocalDateTime updatedAt;
+
     private LocalDateTime expiresAt;
 
+    // Trackable links are answered with an uncacheable 302 so every click reaches us
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean trackable = false;
+
     @Column(nullable = false)
     private boolean active = true;
 
@@ -58,7 +88,6 @@ public class Url {
     @JoinColumn(name = "organization_id", nullable = false)
     private Organization organization;
 
-    // Click analytics
-//    @OneToMany(mappedBy = "url", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-//    private List<UrlClick> clicks;
+    // Click analytics are recorded in url_clicks (see UrlClick), which references
+    // the URL by id only so that click events never load or cascade through Url
 }
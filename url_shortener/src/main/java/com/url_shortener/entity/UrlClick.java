@@ -0,0 +1,42 @@
+package com.url_shortener.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "url_clicks",
+       indexes = {
+           @Index(name = "idx_url_clicks_url_clicked_at", columnList = "url_id, clicked_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UrlClick {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain column rather than an association, so that rows are written in JDBC
+    // batches and deleting a URL never has to cascade over its click history
+    @Column(name = "url_id", nullable = false)
+    private Long urlId;
+
+    @Column(name = "clicked_at", nullable = false)
+    private LocalDateTime clickedAt;
+
+    @Column(length = 512)
+    private String referrer;
+
+    private Long userAgentHash;
+
+    // Client address truncated to /24 (IPv4) or /48 (IPv6)
+    @Column(length = 64)
+    private String ipPrefix;
+
+    // Number of clicks this row stands for; above 1 when the buffer was sampling
+    @Column(nullable = false)
+    private int weight = 1;
+}
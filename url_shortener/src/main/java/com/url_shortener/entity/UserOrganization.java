@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_organizations")
+@Table(name = "user_organizations",
+       indexes = {
+           @Index(name = "idx_user_organizations_user", columnList = "user_id, active, organization_id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,43 @@
+package com.url_shortener.entity;
+
+import com.url_shortener.analytics.HyperLogLog;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "visitor_sketches",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_visitor_sketches_bucket", columnNames = {"scope", "scope_id", "bucket_day"})
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitorSketch {
+    // Bucket holding the all-time sketch of a URL or organization
+    public static final LocalDate LIFETIME = LocalDate.EPOCH;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Scope scope;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Column(name = "bucket_day", nullable = false)
+    private LocalDate bucketDay;
+
+    // Packed HyperLogLog registers, or the sparse form while few are set
+    @Column(nullable = false, length = HyperLogLog.SERIALIZED_SIZE)
+    private byte[] registers;
+
+    public enum Scope {
+        URL, ORGANIZATION
+    }
+}
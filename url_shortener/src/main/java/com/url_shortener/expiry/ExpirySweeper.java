@@ -0,0 +1,182 @@
+package com.url_shortener.expiry;
+
+import com.url_shortener.cache.RedirectCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deactivates links when they expire, instead of leaving them active until a
+ * redirect happens to notice. Every {@code reload-interval-ms} the links
+ * expiring within {@code lookahead-seconds} are read through the
+ * {@code (active, expiresAt)} index and scheduled on a {@link TimingWheel};
+ * each tick deactivates the links that came due, in batches, and evicts
+ * them from the redirect cache.
+ *
+ * Every node runs the sweeper. The update only matches rows that are still
+ * active and past their expiry, so exactly one node deactivates each link and
+ * adjusts its organization's count, while every node evicts its own cache.
+ * A link whose expiry changed after it was scheduled is skipped or rejected
+ * by that same condition. Redirects keep checking {@code expiresAt}, which
+ * covers links that expire before the next reload sees them.
+ */
+@Component
+public class ExpirySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpirySweeper.class);
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 3;
+
+    private static final String LOAD_SQL =
+            "SELECT u.id, u.organization_id, o.short_name, u.short_code, u.organization_url_id, u.expires_at " +
+            "FROM urls u JOIN organizations o ON o.id = u.organization_id " +
+            "WHERE u.active = TRUE AND u.expires_at < ? ORDER BY u.expires_at LIMIT ?";
+    private static final String DEACTIVATE_SQL =
+            "UPDATE urls SET active = FALSE, updated_at = ? WHERE id = ? AND active = TRUE AND expires_at <= ?";
+    private static final String ADJUST_COUNT_SQL =
+            "UPDATE organizations SET active_url_count = active_url_count - ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedirectCache redirectCache;
+    private final boolean enabled;
+    private final long lookaheadSeconds;
+    private final int loadLimit;
+    private final int batchSize;
+
+    private final TimingWheel<ExpiringUrl> wheel;
+    // Expiry each scheduled link was loaded with; wheel entries that no longer match are stale
+    private final Map<Long, LocalDateTime> scheduled = new ConcurrentHashMap<>();
+
+    public ExpirySweeper(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         RedirectCache redirectCache,
+                         @Value("${app.expiry-sweeper.enabled:true}") boolean enabled,
+                         @Value("${app.expiry-sweeper.tick-ms:1000}") long tickMillis,
+                         @Value("${app.expiry-sweeper.lookahead-seconds:600}") long lookaheadSeconds,
+                         @Value("${app.expiry-sweeper.load-limit:10000}") int loadLimit,
+                         @Value("${app.expiry-sweeper.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redirectCache = redirectCache;
+        this.enabled = enabled;
+        this.lookaheadSeconds = lookaheadSeconds;
+        this.loadLimit = loadLimit;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.expiry-sweeper.reload-interval-ms:60000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime until = LocalDateTime.now().plusSeconds(lookaheadSeconds);
+            List<ExpiringUrl> upcoming = jdbcTemplate.query(LOAD_SQL, (rs, rowNum) -> new ExpiringUrl(
+                    rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4), rs.getLong(5),
+                    rs.getTimestamp(6).toLocalDateTime()), Timestamp.valueOf(until), loadLimit);
+            for (ExpiringUrl url : upcoming) {
+                if (!url.expiresAt.equals(scheduled.put(url.id, url.expiresAt))) {
+                    wheel.schedule(url, toMillis(url.expiresAt));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Expiry sweeper reload failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.expiry-sweeper.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<ExpiringUrl> due = new ArrayList<>();
+        for (ExpiringUrl url : wheel.advance(System.currentTimeMillis())) {
+            if (scheduled.remove(url.id, url.expiresAt)) {
+                due.add(url);
+            }
+        }
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<ExpiringUrl> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                int deactivated = deactivate(batch);
+                logger.debug("Deactivated {} of {} expired URLs", deactivated, batch.size());
+            } catch (RuntimeException e) {
+                // The links stay active, so the next reload schedules them again
+                logger.warn("Expiry sweeper failed to deactivate {} URLs: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    public int scheduledCount() {
+        return wheel.size();
+    }
+
+    int deactivate(List<ExpiringUrl> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int deactivated = transactionTemplate.execute(status -> {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (ExpiringUrl url : batch) {
+                rows.add(new Object[]{now, url.id, now});
+            }
+            int[] updated = jdbcTemplate.batchUpdate(DEACTIVATE_SQL, rows);
+
+            Map<Long, Long> perOrganization = new HashMap<>();
+            int total = 0;
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] > 0) {
+                    perOrganization.merge(batch.get(i).organizationId, 1L, Long::sum);
+                    total++;
+                }
+            }
+            List<Object[]> adjustments = new ArrayList<>(perOrganization.size());
+            perOrganization.forEach((organizationId, count) -> adjustments.add(new Object[]{count, organizationId}));
+            jdbcTemplate.batchUpdate(ADJUST_COUNT_SQL, adjustments);
+            return total;
+        });
+        // Evict on every node, including those that lost the update to another node
+        for (ExpiringUrl url : batch) {
+            redirectCache.evict(url.orgShortName, url.shortCode, url.organizationId, url.organizationUrlId);
+        }
+        return deactivated;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static final class ExpiringUrl {
+        private final long id;
+        private final long organizationId;
+        private final String orgShortName;
+        private final String shortCode;
+        private final long organizationUrlId;
+        private final LocalDateTime expiresAt;
+
+        ExpiringUrl(long id, long organizationId, String orgShortName, String shortCode,
+                    long organizationUrlId, LocalDateTime expiresAt) {
+            this.id = id;
+            this.organizationId = organizationId;
+            this.orgShortName = orgShortName;
+            this.shortCode = shortCode;
+            this.organizationUrlId = organizationUrlId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
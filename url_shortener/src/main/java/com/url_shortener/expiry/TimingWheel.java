@@ -0,0 +1,144 @@
+package com.url_shortener.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel: {@code levels} wheels of {@code wheelSize} slots,
+ * where a slot on level {@code l} spans {@code wheelSize^l} ticks. Scheduling
+ * and firing are O(1) per entry; an entry moves down at most once per level
+ * as its deadline approaches. Deadlines beyond the top wheel wait in an
+ * overflow list that is re-placed each time the top wheel turns over.
+ *
+ * Deadlines already passed fire on the next {@link #advance(long)}.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final int levels;
+    // spans[l] = ticks covered by one slot on level l; spans[levels] = ticks covered by the whole wheel
+    private final long[] spans;
+    private final List<List<Entry<T>>> slots;
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    // Scheduled for a tick already fired
+    private final List<T> overdue = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Next tick to fire
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("tickMillis must be positive, wheelSize at least 2 and levels at least 1");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.spans = new long[levels + 1];
+        spans[0] = 1;
+        for (int l = 1; l <= levels; l++) {
+            spans[l] = Math.multiplyExact(spans[l - 1], wheelSize);
+        }
+        this.slots = new ArrayList<>(levels * wheelSize);
+        for (int i = 0; i < levels * wheelSize; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        lock.lock();
+        try {
+            long tick = deadlineMillis / tickMillis;
+            if (tick < currentTick) {
+                overdue.add(item);
+            } else {
+                place(new Entry<>(item, tick));
+            }
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fires every tick up to and including the one {@code nowMillis} falls in,
+     * returning overdue items first and then the items that came due in tick order.
+     */
+    public List<T> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<T> due = new ArrayList<>();
+        lock.lock();
+        try {
+            due.addAll(overdue);
+            size -= overdue.size();
+            overdue.clear();
+            while (currentTick <= nowTick) {
+                if (currentTick % spans[levels] == 0) {
+                    List<Entry<T>> pending = new ArrayList<>(overflow);
+                    overflow.clear();
+                    pending.forEach(this::place);
+                }
+                for (int l = levels - 1; l >= 1; l--) {
+                    if (currentTick % spans[l] == 0) {
+                        cascade(l);
+                    }
+                }
+                List<Entry<T>> slot = slot(0, currentTick);
+                for (Entry<T> entry : slot) {
+                    due.add(entry.item);
+                }
+                size -= slot.size();
+                slot.clear();
+                currentTick++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return due;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cascade(int level) {
+        List<Entry<T>> slot = slot(level, currentTick);
+        List<Entry<T>> pending = new ArrayList<>(slot);
+        slot.clear();
+        pending.forEach(this::place);
+    }
+
+    // Lowest level whose slot still lies ahead: the entry shares the current tick's slot one level up
+    private void place(Entry<T> entry) {
+        for (int l = 0; l < levels; l++) {
+            if (entry.tick / spans[l + 1] == currentTick / spans[l + 1]) {
+                slot(l, entry.tick).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private List<Entry<T>> slot(int level, long tick) {
+        return slots.get(level * wheelSize + (int) ((tick / spans[level]) % wheelSize));
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long tick;
+
+        private Entry(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.url_shortener.imports;
+
+import com.url_shortener.cache.ShortCodeFilter;
+import com.url_shortener.dto.CreateUrlRequest;
+import com.url_shortener.entity.ImportJob;
+import com.url_shortener.entity.ImportJobError;
+import com.url_shortener.entity.Organization;
+import com.url_shortener.entity.Url;
+import com.url_shortener.entity.User;
+import com.url_shortener.repository.ImportJobErrorRepository;
+import com.url_shortener.repository.ImportJobRepository;
+import com.url_shortener.repository.OrganizationRepository;
+import com.url_shortener.repository.UrlRepository;
+import com.url_shortener.repository.UserRepository;
+import com.url_shortener.sequence.OrganizationUrlIdAllocator;
+import com.url_shortener.sequence.ShortCodePool;
+import com.url_shortener.service.impl.UrlCreationSupport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes one batch of import rows. The created URLs, the row errors and the
+ * job's progress counters commit together, so a resumed job continues exactly
+ * after the last committed batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportBatchWriter {
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final UrlRepository urlRepository;
+    private final OrganizationRepository organizationRepository;
+    private final UserRepository userRepository;
+    private final OrganizationUrlIdAllocator organizationUrlIdAllocator;
+    private final ShortCodePool shortCodePool;
+    private final UrlCreationSupport urlCreationSupport;
+    private final ShortCodeFilter shortCodeFilter;
+
+    @Transactional
+    public void write(Long jobId, String owner, List<ImportRow> rows) {
+        ImportJob job = lockOwnedJob(jobId, owner);
+        Organization organization = organizationRepository.getReferenceById(job.getOrganizationId());
+        User user = userRepository.getReferenceById(job.getCreatedById());
+
+        List<ImportJobError> errors = new ArrayList<>();
+        List<ImportRow> valid = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.getRequest() != null) {
+                // Every row belongs to the organization the job was started for
+                row.getRequest().setOrganizationId(job.getOrganizationId());
+            }
+            String problem = row.getError() != null ? row.getError() : urlCreationSupport.validate(row.getRequest());
+            if (problem != null) {
+                errors.add(error(jobId, row, problem));
+            } else {
+                valid.add(row);
+            }
+        }
+
+        // Set-based duplicate checks; a batch is small enough for one IN list each
+        Set<String> originalUrls = new LinkedHashSet<>();
+        Set<String> customCodes = new LinkedHashSet<>();
+        for (ImportRow row : valid) {
+            originalUrls.add(row.getRequest().getOriginalUrl());
+            if (UrlCreationSupport.hasCustomShortCode(row.getRequest())) {
+                customCodes.add(row.getRequest().getCustomShortCode().trim());
+            }
+        }
+        Set<String> takenUrls = new HashSet<>(originalUrls.isEmpty() ? List.of()
+                : urlRepository.findExistingOriginalUrls(job.getOrganizationId(), new ArrayList<>(originalUrls)));
+        Set<String> takenCodes = new HashSet<>(customCodes.isEmpty() ? List.of()
+                : urlRepository.findExistingShortCodes(new ArrayList<>(customCodes)));
+
+        List<Url> urls = new ArrayList<>();
+        for (ImportRow row : valid) {
+            CreateUrlRequest request = row.getRequest();
+            if (!takenUrls.add(request.getOriginalUrl())) {
+                errors.add(error(jobId, row, "A shortened URL for this original URL already exists in this organization"));
+                continue;
+            }
+            String shortCode;
+            if (UrlCreationSupport.hasCustomShortCode(request)) {
+                shortCode = request.getCustomShortCode().trim();
+                if (!takenCodes.add(shortCode)) {
+                    errors.add(error(jobId, row, "Custom short code already exists"));
+                    continue;
+                }
+            } else {
+                shortCode = shortCodePool.take();
+            }
+            Long orgLevelUrlId = organizationUrlIdAllocator.next(job.getOrganizationId());
+            urls.add(UrlCreationSupport.newUrl(request, shortCode, orgLevelUrlId, organization, user));
+        }
+
+        urlRepository.saveAll(urls);
+        urlRepository.flush();
+        for (Url url : urls) {
+            shortCodeFilter.add(url.getShortCode());
+        }
+        if (!urls.isEmpty()) {
+            organizationRepository.adjustActiveUrlCount(job.getOrganizationId(), urls.size());
+        }
+        importJobErrorRepository.saveAll(errors);
+        advance(job, rows.size(), urls.size(), errors.size());
+    }
+
+    /**
+     * Records every row of a batch that could not be written as failed, so the
+     * job can move past it.
+     */
+    @Transactional
+    public void fail(Long jobId, String owner, List<ImportRow> rows, String message) {
+        ImportJob job = lockOwnedJob(jobId, owner);
+        List<ImportJobError> errors = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            errors.add(error(jobId, row, message));
+        }
+        importJobErrorRepository.saveAll(errors);
+        advance(job, rows.size(), 0, rows.size());
+    }
+
+    private ImportJob lockOwnedJob(Long jobId, String owner) {
+        ImportJob job = importJobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new IllegalStateException("Import job " + jobId + " no longer exists"));
+        if (!owner.equals(job.getOwner())) {
+            throw new ImportJobLostException(jobId);
+        }
+        return job;
+    }
+
+    private void advance(ImportJob job, int rows, int created, int failed) {
+        job.setProcessedRows(job.getProcessedRows() + rows);
+        job.setCreatedCount(job.getCreatedCount() + created);
+        job.setFailedCount(job.getFailedCount() + failed);
+        job.setHeartbeatAt(LocalDateTime.now());
+        importJobRepository.save(job);
+    }
+
+    private static ImportJobError error(Long jobId, ImportRow row, String message) {
+        String truncated = message.length() > 500 ? message.substring(0, 500) : message;
+        return new ImportJobError(null, jobId, row.getRowNumber(), truncated);
+    }
+
+    /**
+     * Another instance took the job over after this one missed its heartbeat.
+     */
+    static class ImportJobLostException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ImportJobLostException(Long jobId) {
+            super("Import job " + jobId + " is now owned by another instance");
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.url_shortener.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.url_shortener.entity.ImportJob;
+import com.url_shortener.ratelimit.RateLimiter;
+import com.url_shortener.repository.ImportJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs import jobs on a small worker pool.
+ *
+ * A worker claims a job by marking it RUNNING under this instance's id, then
+ * streams the file in batches of {@code app.imports.batch-size} rows through
+ * {@link ImportBatchWriter}; only one batch is held in memory at a time. Each
+ * committed batch refreshes the job's heartbeat. Jobs that are PENDING, or
+ * RUNNING without a heartbeat for {@code app.imports.lease-seconds} (their
+ * instance crashed), are picked up again and resume after the last committed
+ * row.
+ *
+ * Each batch spends one unit of the organization's {@code import-organization}
+ * rate limit, which is separate from the interactive create budget, so an
+ * organization's concurrent jobs are paced rather than failed.
+ */
+@Component
+public class ImportJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobRunner.class);
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportBatchWriter importBatchWriter;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final int batchSize;
+    private final long leaseSeconds;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Set<Long> active = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    public ImportJobRunner(ImportJobRepository importJobRepository,
+                           ImportBatchWriter importBatchWriter,
+                           RateLimiter rateLimiter,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.imports.workers:2}") int workers,
+                           @Value("${app.imports.batch-size:500}") int batchSize,
+                           @Value("${app.imports.lease-seconds:120}") long leaseSeconds,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.importJobRepository = importJobRepository;
+        this.importBatchWriter = importBatchWriter;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(workers);
+        this.executor.setMaxPoolSize(workers);
+        this.executor.setThreadNamePrefix("url-import-");
+        // Still capped at the worker count; a job mostly waits on file and JDBC I/O
+        this.executor.setVirtualThreads(virtualThreads);
+        // Let running jobs reach their next batch boundary and release themselves
+        this.executor.setWaitForTasksToCompleteOnShutdown(true);
+        this.executor.setAwaitTerminationSeconds(30);
+        this.executor.initialize();
+    }
+
+    public void submit(Long jobId) {
+        if (!stopping && active.add(jobId)) {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    active.remove(jobId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Picks up jobs that were never started or whose instance went away.
+     */
+    @Scheduled(fixedDelayString = "${app.imports.recovery-interval-ms:60000}")
+    public void recoverJobs() {
+        for (Long jobId : importJobRepository.findClaimableIds(staleBefore())) {
+            submit(jobId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        executor.shutdown();
+    }
+
+    void run(Long jobId) {
+        Integer claimed = transactionTemplate.execute(status ->
+                importJobRepository.claim(jobId, instanceId, LocalDateTime.now(), staleBefore()));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        String organizationKey = String.valueOf(job.getOrganizationId());
+        Path file = Path.of(job.getFilePath());
+        try (ImportRowReader reader = new ImportRowReader(file, job.getFormat(), objectMapper)) {
+            reader.skip(job.getProcessedRows());
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    if (!writeBatch(jobId, organizationKey, batch)) {
+                        return;
+                    }
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty() && !writeBatch(jobId, organizationKey, batch)) {
+                return;
+            }
+            finish(jobId, ImportJob.Status.COMPLETED, null);
+            Files.deleteIfExists(file);
+        } catch (ImportBatchWriter.ImportJobLostException e) {
+            logger.warn(e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Import job {} failed: {}", jobId, e.getMessage());
+            finish(jobId, ImportJob.Status.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a batch, retrying once (typically after a duplicate raced in from
+     * another request). If the retry fails too, the rows are written one at a
+     * time so a single bad row only fails itself. Returns false when the job
+     * should stop here and be resumed later.
+     */
+    private boolean writeBatch(Long jobId, String organizationKey, List<ImportRow> batch) {
+        if (!awaitRateLimit(jobId, organizationKey)) {
+            return false;
+        }
+        try {
+            importBatchWriter.write(jobId, instanceId, batch);
+        } catch (ImportBatchWriter.ImportJobLostException e) {
+            throw e;
+        } catch (RuntimeException first) {
+            try {
+                importBatchWriter.write(jobId, instanceId, batch);
+            } catch (ImportBatchWriter.ImportJobLostException e) {
+                throw e;
+            } catch (RuntimeException second) {
+                logger.warn("Import job {} batch failed twice, writing its {} rows one by one: {}",
+                        jobId, batch.size(), second.getMessage());
+                for (ImportRow row : batch) {
+                    writeRow(jobId, row);
+                }
+            }
+        }
+        return true;
+    }
+
+    // Waits in short steps so shutdown still releases the job promptly
+    private boolean awaitRateLimit(Long jobId, String organizationKey) {
+        while (true) {
+            if (stopping) {
+                release(jobId);
+                return false;
+            }
+            long wait = rateLimiter.tryAcquire(RateLimiter.IMPORT_ORGANIZATION, organizationKey);
+            if (wait <= 0) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(Math.min(wait, TimeUnit.SECONDS.toNanos(1)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                release(jobId);
+                return false;
+            }
+        }
+    }
+
+    private void writeRow(Long jobId, ImportRow row) {
+        List<ImportRow> single = List.of(row);
+        try {
+            importBatchWriter.write(jobId, instanceId, single);
+        } catch (ImportBatchWriter.ImportJobLostException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            importBatchWriter.fail(jobId, instanceId, single, "Failed to create short URL: " + e.getMessage());
+        }
+    }
+
+    private void finish(Long jobId, ImportJob.Status status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(tx -> importJobRepository.findByIdForUpdate(jobId).ifPresent(job -> {
+            if (!instanceId.equals(job.getOwner())) {
+                return;
+            }
+            job.setStatus(status);
+            job.setErrorMessage(errorMessage != null && errorMessage.length() > 1000 ? errorMessage.substring(0, 1000) : errorMessage);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setOwner(null);
+        }));
+    }
+
+    // Hands the job back on shutdown so the next instance resumes it immediately
+    private void release(Long jobId) {
+        transactionTemplate.executeWithoutResult(tx -> importJobRepository.findByIdForUpdate(jobId).ifPresent(job -> {
+            if (instanceId.equals(job.getOwner())) {
+                job.setStatus(ImportJob.Status.PENDING);
+                job.setOwner(null);
+            }
+        }));
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minusSeconds(leaseSeconds);
+    }
+}
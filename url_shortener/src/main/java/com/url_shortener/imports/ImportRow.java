@@ -0,0 +1,17 @@
+package com.url_shortener.imports;
+
+import com.url_shortener.dto.CreateUrlRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One data row of an import file: either a parsed request or the reason it
+ * could not be parsed.
+ */
+@Getter
+@AllArgsConstructor
+public class ImportRow {
+    private final long rowNumber;
+    private final CreateUrlRequest request;
+    private final String error;
+}
@@ -0,0 +1,176 @@
+package com.url_shortener.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.url_shortener.dto.CreateUrlRequest;
+import com.url_shortener.entity.ImportJob;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads an import file one row at a time.
+ *
+ * CSV files need a header naming the columns ({@code originalUrl} is required;
+ * {@code customShortCode}, {@code title}, {@code description} and
+ * {@code expiresAt} are optional, unknown columns are ignored). Fields may be
+ * quoted but must not span lines. NDJSON files hold one create request per
+ * line. Blank lines are skipped and not counted as rows.
+ */
+class ImportRowReader implements Closeable {
+
+    private static final String[] CSV_COLUMNS = {"originalurl", "customshortcode", "title", "description", "expiresat"};
+
+    private final BufferedReader reader;
+    private final ImportJob.Format format;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long rowNumber;
+
+    ImportRowReader(Path file, ImportJob.Format format, ObjectMapper objectMapper) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == ImportJob.Format.CSV) {
+            readHeader();
+        }
+    }
+
+    /**
+     * Returns the next row, or null at the end of the file.
+     */
+    ImportRow next() throws IOException {
+        String line = nextLine();
+        if (line == null) {
+            return null;
+        }
+        rowNumber++;
+        return format == ImportJob.Format.CSV ? parseCsv(line) : parseJson(line);
+    }
+
+    /**
+     * Skips rows that an earlier run already committed.
+     */
+    void skip(long rows) throws IOException {
+        while (rowNumber < rows && nextLine() != null) {
+            rowNumber++;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    private void readHeader() throws IOException {
+        String header = nextLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        // Tolerate a UTF-8 byte order mark written by spreadsheet tools
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey(CSV_COLUMNS[0])) {
+            throw new IllegalArgumentException("CSV header must contain an originalUrl column");
+        }
+    }
+
+    private ImportRow parseCsv(String line) {
+        List<String> fields;
+        try {
+            fields = splitCsv(line);
+        } catch (IllegalArgumentException e) {
+            return new ImportRow(rowNumber, null, e.getMessage());
+        }
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setOriginalUrl(field(fields, CSV_COLUMNS[0]));
+        request.setCustomShortCode(field(fields, CSV_COLUMNS[1]));
+        request.setTitle(field(fields, CSV_COLUMNS[2]));
+        request.setDescription(field(fields, CSV_COLUMNS[3]));
+        String expiresAt = field(fields, CSV_COLUMNS[4]);
+        if (expiresAt != null) {
+            try {
+                request.setExpiresAt(LocalDateTime.parse(expiresAt));
+            } catch (DateTimeParseException e) {
+                return new ImportRow(rowNumber, null, "Invalid expiresAt, expected ISO date-time");
+            }
+        }
+        return new ImportRow(rowNumber, request, null);
+    }
+
+    private ImportRow parseJson(String line) {
+        try {
+            return new ImportRow(rowNumber, objectMapper.readValue(line, CreateUrlRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new ImportRow(rowNumber, null, "Malformed JSON");
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,81 @@
+package com.url_shortener.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.url_shortener.config.RedirectFastPathFilter;
+import com.url_shortener.response.ApiResponse;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * Applies the per-IP and per-organization limits that can be decided from
+ * the request line alone, ahead of every other filter: redirects by client
+ * IP and by organization short name, and URL creation by client IP. The
+ * per-organization create limit needs the request body and is checked in
+ * {@code UrlController}.
+ *
+ * A redirect is refused when its organization's bucket is empty, but only a
+ * redirect that resolved spends from it. Probing an organization's path with
+ * unknown codes is held back by the per-IP limit alone and cannot lock the
+ * organization's real visitors out.
+ *
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}; behind a proxy
+ * set {@code server.forward-headers-strategy} so it is the real client.
+ */
+public class RateLimitFilter implements Filter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+
+        long wait = 0;
+        String[] redirect = RedirectFastPathFilter.redirectSegments(request);
+        if (redirect != null) {
+            wait = rateLimiter.tryAcquire(RateLimiter.REDIRECT_IP, request.getRemoteAddr());
+            if (wait == 0) {
+                wait = rateLimiter.peek(RateLimiter.REDIRECT_ORGANIZATION, redirect[0]);
+            }
+        } else if (isCreate(request)) {
+            wait = rateLimiter.tryAcquire(RateLimiter.CREATE_IP, request.getRemoteAddr());
+        }
+
+        if (wait > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(wait)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests"));
+            return;
+        }
+        chain.doFilter(request, response);
+
+        if (redirect != null && HttpStatus.valueOf(response.getStatus()).is3xxRedirection()) {
+            rateLimiter.tryAcquire(RateLimiter.REDIRECT_ORGANIZATION, redirect[0]);
+        }
+    }
+
+    private static boolean isCreate(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals("/api/urls") || path.equals("/api/urls/bulk");
+    }
+}
@@ -0,0 +1,31 @@
+package com.url_shortener.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-route limits, e.g. {@code app.rate-limit.routes.redirect-ip.rate=50}.
+ * Routes without an entry are not limited.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // Tracked keys per route; keys beyond this are let through untracked
+    private int maxKeys = 100000;
+    private Map<String, Limit> routes = new HashMap<>();
+
+    @Data
+    public static class Limit {
+        // Sustained requests per second
+        private double rate;
+        // Requests allowed back to back after an idle period
+        private int burst = 1;
+    }
+}
@@ -0,0 +1,122 @@
+package com.url_shortener.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory, per-node token buckets keyed by route and client key.
+ *
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival
+ * time (the generic cell rate algorithm): a request is allowed when advancing
+ * that time by one emission interval keeps it within {@code burst} intervals
+ * of now. Acquiring is one CAS on the bucket, so concurrent requests never
+ * block, and the map spreads keys over independent bins.
+ *
+ * A bucket whose arrival time has passed is full again and carries no state,
+ * so the sweep drops it without changing any decision. Under IP spraying a
+ * bucket therefore lives for at most {@code burst / rate} seconds after its
+ * last request, and {@code max-keys} caps each route's map outright.
+ */
+@Component
+public class RateLimiter {
+
+    public static final String REDIRECT_IP = "redirect-ip";
+    public static final String REDIRECT_ORGANIZATION = "redirect-organization";
+    public static final String CREATE_IP = "create-ip";
+    public static final String CREATE_ORGANIZATION = "create-organization";
+    public static final String BULK_ORGANIZATION = "bulk-organization";
+    public static final String IMPORT_ORGANIZATION = "import-organization";
+
+    private final boolean enabled;
+    private final int maxKeys;
+    private final Map<String, Route> routes = new HashMap<>();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.maxKeys = properties.getMaxKeys();
+        properties.getRoutes().forEach((name, limit) -> {
+            if (limit.getRate() > 0) {
+                routes.put(name, new Route(limit));
+            }
+        });
+    }
+
+    /**
+     * Returns 0 when the request may proceed, otherwise how many nanoseconds
+     * the caller should wait before retrying.
+     */
+    public long tryAcquire(String route, String key) {
+        Route limits = enabled && key != null ? routes.get(route) : null;
+        if (limits == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        AtomicLong bucket = limits.buckets.get(key);
+        if (bucket == null) {
+            if (limits.buckets.size() >= maxKeys) {
+                // A new key would start with a full bucket anyway
+                return 0;
+            }
+            bucket = limits.buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + limits.intervalNanos;
+            long wait = next - now - limits.toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * How long {@link #tryAcquire(String, String)} would ask the caller to
+     * wait right now, without spending anything.
+     */
+    public long peek(String route, String key) {
+        Route limits = enabled && key != null ? routes.get(route) : null;
+        AtomicLong bucket = limits != null ? limits.buckets.get(key) : null;
+        if (bucket == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        return Math.max(0, Math.max(bucket.get(), now) + limits.intervalNanos - now - limits.toleranceNanos);
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:10000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Route route : routes.values()) {
+            route.buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+    }
+
+    public int size(String route) {
+        Route limits = routes.get(route);
+        return limits != null ? limits.buckets.size() : 0;
+    }
+
+    private static final class Route {
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        private Route(RateLimitProperties.Limit limit) {
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRate()));
+            this.toleranceNanos = intervalNanos * Math.max(1, limit.getBurst());
+        }
+    }
+}
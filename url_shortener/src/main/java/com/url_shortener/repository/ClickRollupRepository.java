@@ -0,0 +1,26 @@
+package com.url_shortener.repository;
+
+import com.url_shortener.entity.ClickRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ClickRollupRepository extends JpaRepository<ClickRollup, Long> {
+
+    @Query("SELECT r FROM ClickRollup r WHERE r.urlId = :urlId AND r.granularity = :granularity " +
+            "AND r.bucketStart >= :from AND r.bucketStart <= :to ORDER BY r.bucketStart ASC")
+    List<ClickRollup> findBuckets(@Param("urlId") Long urlId,
+                                  @Param("granularity") ClickRollup.Granularity granularity,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM ClickRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    int deleteOlderThan(@Param("granularity") ClickRollup.Granularity granularity,
+                        @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,33 @@
+package com.url_shortener.repository;
+
+import com.url_shortener.entity.ImportJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ImportJob j WHERE j.id = :id")
+    Optional<ImportJob> findByIdForUpdate(@Param("id") Long id);
+
+    // Jobs that are waiting, or whose owner stopped sending heartbeats
+    @Query("SELECT j.id FROM ImportJob j WHERE j.status = com.url_shortener.entity.ImportJob.Status.PENDING " +
+            "OR (j.status = com.url_shortener.entity.ImportJob.Status.RUNNING AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore))")
+    List<Long> findClaimableIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = com.url_shortener.entity.ImportJob.Status.RUNNING, j.owner = :owner, j.heartbeatAt = :now " +
+            "WHERE j.id = :id AND (j.status = com.url_shortener.entity.ImportJob.Status.PENDING " +
+            "OR (j.status = com.url_shortener.entity.ImportJob.Status.RUNNING AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)))")
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -4,10 +4,13 @@ import com.url_shortener.entity.Organization;
 import com.url_shortener.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,10 +22,44 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
     Optional<Organization> findByIdAndActiveTrue(Long id);
     Optional<Organization> findByShortNameAndActiveTrue(String shortName);
 
-    @Query("SELECT o FROM Organization o WHERE o.owner = :user OR o.id IN " +
+    // The owner is fetched with the page; counts come from the materialized columns
+    @Query(value = "SELECT o FROM Organization o JOIN FETCH o.owner WHERE o.owner = :user OR o.id IN " +
+            "(SELECT uo.organization.id FROM UserOrganization uo WHERE uo.user = :user AND uo.active = true)",
+            countQuery = "SELECT COUNT(o) FROM Organization o WHERE o.owner = :user OR o.id IN " +
             "(SELECT uo.organization.id FROM UserOrganization uo WHERE uo.user = :user AND uo.active = true)")
     Page<Organization> findUserOrganizations(@Param("user") User user, Pageable pageable);
 
+    // Keyset pages of findUserOrganizations, newest first
+    @Query("SELECT o FROM Organization o JOIN FETCH o.owner WHERE (o.owner = :user OR o.id IN " +
+            "(SELECT uo.organization.id FROM UserOrganization uo WHERE uo.user = :user AND uo.active = true)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Organization> findUserOrganizationsFirst(@Param("user") User user, Pageable pageable);
+
+    @Query("SELECT o FROM Organization o JOIN FETCH o.owner WHERE (o.owner = :user OR o.id IN " +
+            "(SELECT uo.organization.id FROM UserOrganization uo WHERE uo.user = :user AND uo.active = true)) " +
+            "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Organization> findUserOrganizationsAfter(@Param("user") User user,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
     @Query("SELECT o FROM Organization o WHERE o.owner = :user")
     List<Organization> findByOwner(@Param("user") User user);
+
+    // Single-row increments; concurrent writers serialize on the row instead of losing updates
+    @Modifying
+    @Query(value = "UPDATE organizations SET active_url_count = active_url_count + :delta WHERE id = :id", nativeQuery = true)
+    int adjustActiveUrlCount(@Param("id") Long id, @Param("delta") long delta);
+
+    // Recomputes both counters of a range of organizations from the source tables
+    @Modifying
+    @Query(value = "UPDATE organizations SET " +
+            "member_count = (SELECT COUNT(*) FROM user_organizations uo WHERE uo.organization_id = organizations.id AND uo.active = TRUE), " +
+            "active_url_count = (SELECT COUNT(*) FROM urls u WHERE u.organization_id = organizations.id AND u.active = TRUE) " +
+            "WHERE id >= :fromId AND id < :toId", nativeQuery = true)
+    int reconcileCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT COALESCE(MAX(o.id), 0) FROM Organization o")
+    Long findMaxId();
 }
\ No newline at end of file
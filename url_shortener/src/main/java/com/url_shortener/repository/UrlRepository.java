@@ -3,16 +3,29 @@ package com.url_shortener.repository;
 import com.url_shortener.entity.Url;
 import com.url_shortener.entity.Organization;
 import com.url_shortener.entity.User;
+import com.url_shortener.response.UrlResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UrlRepository extends JpaRepository<Url, Long> {
+
+    // Builds UrlResponse in the same statement that joins the creator and the
+    // organization, so listing N URLs is one query rather than up to 2N+1
+    String URL_RESPONSE_SELECT = "SELECT new com.url_shortener.response.UrlResponse(" +
+            "u.id, u.originalUrl, u.shortCode, o.shortName, u.title, u.description, u.clickCount, " +
+            "u.uniqueVisitors, u.createdAt, u.expiresAt, u.active, u.trackable, c.email, c.firstName, c.lastName, o.name, o.id) " +
+            "FROM Url u JOIN u.organization o JOIN u.createdBy c ";
+
     Optional<Url> findByShortCodeAndActiveTrue(String shortCode);
 
     Optional<Url> findByIdAndActiveTrue(Long id);
@@ -34,13 +47,46 @@ public interface UrlRepository extends JpaRepository<Url, Long> {
 
     Long countByOrganizationAndActiveTrue(Organization organization);
 
+    @Query(value = URL_RESPONSE_SELECT + "WHERE o.id = :organizationId AND u.active = true",
+            countQuery = "SELECT COUNT(u) FROM Url u WHERE u.organization.id = :organizationId AND u.active = true")
+    Page<UrlResponse> findOrganizationUrlResponses(@Param("organizationId") Long organizationId, Pageable pageable);
+
+    @Query(value = URL_RESPONSE_SELECT + "WHERE c.id = :userId AND u.active = true",
+            countQuery = "SELECT COUNT(u) FROM Url u WHERE u.createdBy.id = :userId AND u.active = true")
+    Page<UrlResponse> findUserUrlResponses(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(URL_RESPONSE_SELECT + "WHERE u.id = :id AND u.active = true")
+    Optional<UrlResponse> findUrlResponseById(@Param("id") Long id);
+
+    // Keyset pages, newest first: a Slice needs no count query, and the cursor
+    // condition seeks straight to the position however deep it is
+    @Query(URL_RESPONSE_SELECT + "WHERE o.id = :organizationId AND u.active = true " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<UrlResponse> findOrganizationUrlResponsesFirst(@Param("organizationId") Long organizationId, Pageable pageable);
+
+    @Query(URL_RESPONSE_SELECT + "WHERE o.id = :organizationId AND u.active = true " +
+            "AND u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR u.id < :id) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<UrlResponse> findOrganizationUrlResponsesAfter(@Param("organizationId") Long organizationId,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
+
+    @Query(URL_RESPONSE_SELECT + "WHERE c.id = :userId AND u.active = true ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<UrlResponse> findUserUrlResponsesFirst(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(URL_RESPONSE_SELECT + "WHERE c.id = :userId AND u.active = true " +
+            "AND u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR u.id < :id) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<UrlResponse> findUserUrlResponsesAfter(@Param("userId") Long userId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
     // New method to find URL by organization and organization-specific ID
     @Query("SELECT u FROM Url u WHERE u.organization = :org AND u.active = true ORDER BY u.createdAt ASC")
     Page<Url> findByOrganizationAndActiveTrueOrderByCreatedAt(@Param("org") Organization organization, Pageable pageable);
 
-    @Query("SELECT COUNT(u) FROM Url u WHERE u.organization.id = :organizationId")
-    Long countByOrganizationId(@Param("organizationId") Long organizationId);
-
     // Find URL by exact short URL match
     Optional<Url> findByShortUrlAndActiveTrue(String shortUrl);
 
@@ -52,13 +98,24 @@ public interface UrlRepository extends JpaRepository<Url, Long> {
 
     boolean existsByOrganizationAndOriginalUrl(Organization organization, String originalUrl);
 
+    // Set-based duplicate checks for bulk creation
+    @Query("SELECT u.originalUrl FROM Url u WHERE u.organization.id = :organizationId AND u.originalUrl IN :originalUrls")
+    List<String> findExistingOriginalUrls(@Param("organizationId") Long organizationId, @Param("originalUrls") Collection<String> originalUrls);
+
+    @Query("SELECT u.shortCode FROM Url u WHERE u.shortCode IN :shortCodes")
+    List<String> findExistingShortCodes(@Param("shortCodes") Collection<String> shortCodes);
+
     boolean existsByOrganizationAndShortCode(Organization organization, String shortCode);
 
     boolean existsByOrganizationAndShortCodeAndActiveTrue(Organization organization, String shortCode);
 
     Optional<Url> findByOrganizationAndShortCodeAndActiveTrue(Organization organization, String shortCode);
 
-//    @Query("SELECT COUNT(uc) FROM UrlClick uc WHERE uc.url.id = :urlId AND uc.clickedAt >= :fromDate")
-//    Long countClicksByUrlAndDateAfter(@Param("urlId") Long urlId, @Param("fromDate") LocalDateTime fromDate);
-//}
+    // Organization of each URL, as {id, organizationId} pairs
+    @Query("SELECT u.id, u.organization.id FROM Url u WHERE u.id IN :ids")
+    List<Object[]> findOrganizationIds(@Param("ids") Collection<Long> ids);
+
+    // Sums weights rather than counting rows, since sampled events stand for several clicks
+    @Query("SELECT COALESCE(SUM(uc.weight), 0) FROM UrlClick uc WHERE uc.urlId = :urlId AND uc.clickedAt >= :fromDate")
+    Long countClicksByUrlAndDateAfter(@Param("urlId") Long urlId, @Param("fromDate") LocalDateTime fromDate);
 }
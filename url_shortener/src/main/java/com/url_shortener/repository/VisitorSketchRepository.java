@@ -0,0 +1,20 @@
+package com.url_shortener.repository;
+
+import com.url_shortener.entity.VisitorSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface VisitorSketchRepository extends JpaRepository<VisitorSketch, Long> {
+
+    @Query("SELECT s.registers FROM VisitorSketch s WHERE s.scope = :scope AND s.scopeId = :scopeId " +
+            "AND s.bucketDay >= :fromDay AND s.bucketDay <= :toDay")
+    List<byte[]> findDailyRegisters(@Param("scope") VisitorSketch.Scope scope,
+                                    @Param("scopeId") Long scopeId,
+                                    @Param("fromDay") LocalDate fromDay,
+                                    @Param("toDay") LocalDate toDay);
+}
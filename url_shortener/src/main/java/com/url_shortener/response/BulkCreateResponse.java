@@ -0,0 +1,29 @@
+package com.url_shortener.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCreateResponse {
+    private int total;
+    private int created;
+    private int failed;
+    // One entry per submitted item, in submission order
+    private List<Item> results;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private int index;
+        private boolean success;
+        private String message;
+        private Long urlId;
+        private String shortCode;
+        private String shortUrl;
+    }
+}
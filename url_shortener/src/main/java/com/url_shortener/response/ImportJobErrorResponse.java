@@ -0,0 +1,13 @@
+package com.url_shortener.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobErrorResponse {
+    private long rowNumber;
+    private String message;
+}
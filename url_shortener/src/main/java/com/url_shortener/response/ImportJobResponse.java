@@ -0,0 +1,23 @@
+package com.url_shortener.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobResponse {
+    private Long id;
+    private Long organizationId;
+    private String fileName;
+    private String format;
+    private String status;
+    private long processedRows;
+    private long createdCount;
+    private long failedCount;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
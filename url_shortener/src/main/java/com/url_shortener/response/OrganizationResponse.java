@@ -18,4 +18,5 @@ public class OrganizationResponse {
     private String ownerName;
     private Long memberCount;
     private Long urlCount;
+    private Long uniqueVisitors;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.url_shortener.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortCodeFilterStatsResponse {
+    private boolean enabled;
+    private boolean ready;
+    private long capacity;
+    private long bitCount;
+    private int hashFunctions;
+    private long memoryBytes;
+    private double targetFalsePositiveRate;
+    // From the share of bits set; rises as deleted codes accumulate until the next rebuild
+    private double estimatedFalsePositiveRate;
+    // Share of failed lookups the filter let through; an upper bound, as codes of other organizations count too
+    private double observedFalsePositiveRate;
+    private long rejectedLookups;
+    private long passedLookups;
+    private long falsePositives;
+    private LocalDateTime lastBuiltAt;
+}
@@ -0,0 +1,18 @@
+package com.url_shortener.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortCodePoolStatsResponse {
+    private boolean enabled;
+    private int capacity;
+    private int lowWater;
+    private int depth;
+    // Takes that found the pool empty and generated a code on the request thread
+    private long misses;
+    private long lastRefillMillis;
+}
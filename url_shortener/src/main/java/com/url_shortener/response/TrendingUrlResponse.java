@@ -0,0 +1,17 @@
+package com.url_shortener.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrendingUrlResponse {
+    private Long urlId;
+    private String shortCode;
+    private String shortUrl;
+    private String title;
+    // Time-decayed click count; recent clicks weigh the most
+    private double score;
+}
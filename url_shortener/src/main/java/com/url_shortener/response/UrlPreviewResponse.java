@@ -0,0 +1,17 @@
+package com.url_shortener.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UrlPreviewResponse {
+    private String originalUrl;
+    private String title;
+    private String description;
+    private LocalDateTime expiresAt;
+}
@@ -16,11 +16,40 @@ public class UrlResponse {
     private String title;
     private String description;
     private Long clickCount;
+    private Long uniqueVisitors;
     private LocalDateTime createdAt;
     private LocalDateTime expiresAt;
     private boolean active;
+    private boolean trackable;
     private String createdByEmail;
     private String createdByName;
     private String organizationName;
     private Long organizationId;
+
+    /**
+     * Target of the JPQL constructor expressions in UrlRepository. shortUrl is
+     * left relative; the service prefixes the configured base URL.
+     */
+    public UrlResponse(Long id, String originalUrl, String shortCode, String organizationShortName,
+                       String title, String description, Long clickCount, Long uniqueVisitors,
+                       LocalDateTime createdAt, LocalDateTime expiresAt, boolean active, boolean trackable,
+                       String createdByEmail, String createdByFirstName, String createdByLastName,
+                       String organizationName, Long organizationId) {
+        this.id = id;
+        this.originalUrl = originalUrl;
+        this.shortCode = shortCode != null ? shortCode : "";
+        this.shortUrl = "/s/" + organizationShortName + "/" + shortCode;
+        this.title = title != null ? title : "";
+        this.description = description != null ? description : "";
+        this.clickCount = clickCount;
+        this.uniqueVisitors = uniqueVisitors;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.active = active;
+        this.trackable = trackable;
+        this.createdByEmail = createdByEmail;
+        this.createdByName = createdByFirstName + " " + createdByLastName;
+        this.organizationName = organizationName;
+        this.organizationId = organizationId;
+    }
 }
@@ -0,0 +1,29 @@
+package com.url_shortener.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UrlStatsResponse {
+    private Long urlId;
+    private String granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Long totalClicks;
+    // Approximate distinct visitors over the whole range, at day resolution
+    private Long uniqueVisitors;
+    private List<Bucket> buckets;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Bucket {
+        private LocalDateTime start;
+        private Long clicks;
+    }
+}
@@ -0,0 +1,94 @@
+package com.url_shortener.sequence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out organization-level URL ids (the {@code organizationUrlId} in
+ * {@code /{organizationId}/{urlId}} links).
+ *
+ * Each organization has a row in {@code organization_url_sequences}. An
+ * instance reserves {@code app.url-id.block-size} ids at a time with one
+ * atomic increment of that row, in its own transaction, and serves them from
+ * memory. Creates in different organizations never share a lock; ids stay
+ * unique across instances, but an instance that stops leaves the rest of its
+ * block unused.
+ */
+@Component
+public class OrganizationUrlIdAllocator {
+
+    private static final String RESERVE_SQL =
+            "UPDATE organization_url_sequences SET next_value = next_value + ? WHERE organization_id = ?";
+    private static final String READ_SQL =
+            "SELECT next_value FROM organization_url_sequences WHERE organization_id = ?";
+    // Organizations that predate the sequence table continue after their highest id
+    private static final String SEED_SQL =
+            "SELECT COALESCE(MAX(organization_url_id), 0) FROM urls WHERE organization_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO organization_url_sequences (organization_id, next_value) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final ConcurrentHashMap<Long, Block> blocks = new ConcurrentHashMap<>();
+
+    public OrganizationUrlIdAllocator(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.url-id.block-size:20}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // The reservation must commit even if the calling create rolls back
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public long next(Long organizationId) {
+        Block block = blocks.computeIfAbsent(organizationId, id -> new Block());
+        // A lock rather than synchronized: reserve() blocks on JDBC, which would pin a virtual thread
+        block.lock.lock();
+        try {
+            if (block.next >= block.limit) {
+                long start = reserve(organizationId);
+                block.next = start;
+                block.limit = start + blockSize;
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    private long reserve(Long organizationId) {
+        try {
+            return transactionTemplate.execute(status -> reserveInTransaction(organizationId));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the row first; the retry increments it
+            return transactionTemplate.execute(status -> reserveInTransaction(organizationId));
+        }
+    }
+
+    private long reserveInTransaction(Long organizationId) {
+        if (jdbcTemplate.update(RESERVE_SQL, blockSize, organizationId) == 0) {
+            Long highest = jdbcTemplate.queryForObject(SEED_SQL, Long.class, organizationId);
+            long start = (highest != null ? highest : 0) + 1;
+            jdbcTemplate.update(INSERT_SQL, organizationId, start + blockSize);
+            return start;
+        }
+        Long next = jdbcTemplate.queryForObject(READ_SQL, Long.class, organizationId);
+        return next - blockSize;
+    }
+
+    private static final class Block {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long limit;
+    }
+}
@@ -0,0 +1,161 @@
+package com.url_shortener.sequence;
+
+import com.url_shortener.analytics.Hashing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generates short codes that are unique by construction.
+ *
+ * Every code comes from a global counter: instances reserve blocks of
+ * {@code app.short-code.block-size} values from the {@code short_code} row of
+ * {@code sequence_blocks} and hand them out from memory. The counter value is
+ * scrambled with a keyed Feistel network, which is a bijection, and written in
+ * base62. The first 2^34 values become 6-character codes, the next 2^40
+ * become 7-character codes, so no two values ever share a code and
+ * consecutive codes look unrelated.
+ *
+ * Every code starts with {@value #PREFIX}, which custom codes (letters,
+ * digits and hyphens) and the random codes issued before the counter existed
+ * never contain, so a generated code cannot collide with either and inserts
+ * need no existence check.
+ *
+ * The permutation depends on {@code app.short-code.secret}; changing it once
+ * codes have been issued can produce codes that already exist.
+ */
+@Component
+public class ShortCodeGenerator {
+
+    static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    public static final String PREFIX = "_";
+
+    private static final String SEQUENCE_NAME = "short_code";
+    private static final String RESERVE_SQL =
+            "UPDATE sequence_blocks SET next_value = next_value + ? WHERE name = ?";
+    private static final String READ_SQL = "SELECT next_value FROM sequence_blocks WHERE name = ?";
+    private static final String INSERT_SQL = "INSERT INTO sequence_blocks (name, next_value) VALUES (?, ?)";
+
+    private static final int ROUNDS = 6;
+    private static final int SHORT_HALF_BITS = 17;
+    private static final long SHORT_DOMAIN = 1L << (2 * SHORT_HALF_BITS);
+    private static final int LONG_HALF_BITS = 20;
+    private static final long LONG_DOMAIN = 1L << (2 * LONG_HALF_BITS);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final long[] roundKeys;
+
+    // A lock rather than synchronized: reserve() blocks on JDBC, which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private long next;
+    private long limit;
+
+    public ShortCodeGenerator(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.short-code.block-size:1000}") int blockSize,
+                              @Value("${app.short-code.secret}") String secret) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+        this.roundKeys = deriveRoundKeys(secret);
+    }
+
+    public String nextCode() {
+        return encode(nextValue());
+    }
+
+    String encode(long value) {
+        if (value < SHORT_DOMAIN) {
+            return PREFIX + base62(permute(value, SHORT_HALF_BITS), 6);
+        }
+        if (value - SHORT_DOMAIN < LONG_DOMAIN) {
+            return PREFIX + base62(permute(value - SHORT_DOMAIN, LONG_HALF_BITS), 7);
+        }
+        throw new IllegalStateException("Short code space exhausted");
+    }
+
+    private long nextValue() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                next = reserve();
+                limit = next + blockSize;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long reserve() {
+        try {
+            return transactionTemplate.execute(status -> reserveInTransaction());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the row first; the retry increments it
+            return transactionTemplate.execute(status -> reserveInTransaction());
+        }
+    }
+
+    private long reserveInTransaction() {
+        if (jdbcTemplate.update(RESERVE_SQL, blockSize, SEQUENCE_NAME) == 0) {
+            jdbcTemplate.update(INSERT_SQL, SEQUENCE_NAME, (long) blockSize);
+            return 0;
+        }
+        Long value = jdbcTemplate.queryForObject(READ_SQL, Long.class, SEQUENCE_NAME);
+        return value - blockSize;
+    }
+
+    private long permute(long value, int halfBits) {
+        long mask = (1L << halfBits) - 1;
+        long left = value >>> halfBits;
+        long right = value & mask;
+        for (long key : roundKeys) {
+            long mixed = left ^ (Hashing.mix64(right ^ key) & mask);
+            left = right;
+            right = mixed;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private static String base62(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (value % 62));
+            value /= 62;
+        }
+        return new String(chars);
+    }
+
+    private static long[] deriveRoundKeys(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.short-code.secret must be set (SHORT_CODE_SECRET); only the dev and test profiles have a default");
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long[] keys = new long[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                digest.update(secret.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) i);
+                keys[i] = ByteBuffer.wrap(digest.digest()).getLong();
+            }
+            return keys;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.url_shortener.sequence;
+
+import com.url_shortener.response.ShortCodePoolStatsResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional per-node pool of pre-generated short codes.
+ *
+ * When {@code app.short-code.pool.enabled} is set, creates take codes from a
+ * lock-free queue and only fall back to {@link ShortCodeGenerator} when it is
+ * empty. Dropping below {@code low-water} schedules a background refill up to
+ * {@code capacity}. On shutdown the unused codes are saved to
+ * {@code short_code_reservations} and the next node to start claims them, so
+ * a restart does not burn a pool's worth of codes.
+ */
+@Component
+public class ShortCodePool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShortCodePool.class);
+
+    private static final String SELECT_SQL =
+            "SELECT code FROM short_code_reservations ORDER BY reserved_at FETCH FIRST ? ROWS ONLY";
+    private static final String CLAIM_SQL = "DELETE FROM short_code_reservations WHERE code = ?";
+    private static final String SAVE_SQL = "INSERT INTO short_code_reservations (code, reserved_at) VALUES (?, ?)";
+
+    private final ShortCodeGenerator shortCodeGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final int capacity;
+    private final int lowWater;
+
+    private final ConcurrentLinkedQueue<String> codes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicBoolean refillScheduled = new AtomicBoolean();
+    private final LongAdder misses = new LongAdder();
+    private volatile long lastRefillMillis;
+
+    public ShortCodePool(ShortCodeGenerator shortCodeGenerator,
+                         JdbcTemplate jdbcTemplate,
+                         TaskScheduler taskScheduler,
+                         @Value("${app.short-code.pool.enabled:false}") boolean enabled,
+                         @Value("${app.short-code.pool.capacity:10000}") int capacity,
+                         @Value("${app.short-code.pool.low-water:2000}") int lowWater) {
+        this.shortCodeGenerator = shortCodeGenerator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.lowWater = Math.min(lowWater, capacity);
+    }
+
+    public String take() {
+        if (!enabled) {
+            return shortCodeGenerator.nextCode();
+        }
+        String code = codes.poll();
+        int remaining = code != null ? depth.decrementAndGet() : depth.get();
+        if (remaining < lowWater) {
+            scheduleRefill();
+        }
+        if (code == null) {
+            misses.increment();
+            return shortCodeGenerator.nextCode();
+        }
+        return code;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        int reclaimed = reclaim();
+        logger.info("Short code pool started with {} reclaimed codes", reclaimed);
+        scheduleRefill();
+    }
+
+    /**
+     * Tops the pool up to capacity. Runs on the scheduler, never on a request thread.
+     */
+    public void refill() {
+        refillScheduled.set(false);
+        long started = System.nanoTime();
+        int added = 0;
+        while (depth.get() < capacity) {
+            codes.offer(shortCodeGenerator.nextCode());
+            depth.incrementAndGet();
+            added++;
+        }
+        lastRefillMillis = (System.nanoTime() - started) / 1_000_000;
+        if (added > 0) {
+            logger.debug("Refilled short code pool with {} codes in {} ms (depth {}, misses {})",
+                    added, lastRefillMillis, depth.get(), misses.sum());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        List<String> unused = new ArrayList<>();
+        String code;
+        while ((code = codes.poll()) != null) {
+            unused.add(code);
+        }
+        if (unused.isEmpty()) {
+            return;
+        }
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(SAVE_SQL, unused, unused.size(), (ps, value) -> {
+                ps.setString(1, value);
+                ps.setTimestamp(2, now);
+            });
+            logger.info("Saved {} unused short codes for reuse", unused.size());
+        } catch (RuntimeException e) {
+            // Losing them only leaves a gap in the code space
+            logger.warn("Failed to save {} unused short codes: {}", unused.size(), e.getMessage());
+        }
+    }
+
+    public ShortCodePoolStatsResponse stats() {
+        return new ShortCodePoolStatsResponse(enabled, capacity, lowWater, depth.get(), misses.sum(), lastRefillMillis);
+    }
+
+    private void scheduleRefill() {
+        if (refillScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::refill, Instant.now());
+        }
+    }
+
+    private int reclaim() {
+        try {
+            List<String> candidates = jdbcTemplate.queryForList(SELECT_SQL, String.class, capacity);
+            int claimed = 0;
+            for (String candidate : candidates) {
+                // Another node starting at the same time may claim the same rows;
+                // whoever deletes a row owns its code
+                if (jdbcTemplate.update(CLAIM_SQL, candidate) == 1) {
+                    codes.offer(candidate);
+                    depth.incrementAndGet();
+                    claimed++;
+                }
+            }
+            return claimed;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reclaim saved short codes: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
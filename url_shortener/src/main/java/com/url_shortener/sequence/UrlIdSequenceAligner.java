@@ -0,0 +1,52 @@
+package com.url_shortener.sequence;
+
+import com.url_shortener.entity.Url;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves {@code urls_seq} past ids that were assigned while {@code urls.id} was
+ * an IDENTITY column. Hibernate's pooled optimizer hands out the
+ * {@link Url#ID_ALLOCATION_SIZE} values up to each sequence value, so the
+ * sequence must be at least that far ahead of the highest existing id. Runs
+ * before the web server accepts requests and is a no-op once aligned.
+ *
+ * The sequence itself comes from Hibernate where it manages the schema, and
+ * from {@code db/upgrade-postgresql.sql} where it only validates it.
+ */
+@Component
+public class UrlIdSequenceAligner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UrlIdSequenceAligner.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+
+    // Depending on the EntityManagerFactory guarantees the schema has been created
+    public UrlIdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString(Url.ID_SEQUENCE);
+    }
+
+    @PostConstruct
+    public void align() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM urls", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        Long next = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        if (next != null && next - Url.ID_ALLOCATION_SIZE >= maxId) {
+            return;
+        }
+        long restart = maxId + Url.ID_ALLOCATION_SIZE + 1;
+        jdbcTemplate.execute("ALTER SEQUENCE " + Url.ID_SEQUENCE + " RESTART WITH " + restart);
+        logger.info("Restarted {} at {} to follow existing URL ids", Url.ID_SEQUENCE, restart);
+    }
+}
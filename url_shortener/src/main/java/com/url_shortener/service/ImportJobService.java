@@ -0,0 +1,16 @@
+package com.url_shortener.service;
+
+import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.ImportJobErrorResponse;
+import com.url_shortener.response.ImportJobResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImportJobService {
+    ApiResponse<ImportJobResponse> startImport(Long organizationId, MultipartFile file, String format, String userEmail);
+
+    ApiResponse<ImportJobResponse> getImportJob(Long jobId, String userEmail);
+
+    ApiResponse<Page<ImportJobErrorResponse>> getImportJobErrors(Long jobId, String userEmail, Pageable pageable);
+}
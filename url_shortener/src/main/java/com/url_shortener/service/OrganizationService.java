@@ -2,7 +2,9 @@ package com.url_shortener.service;
 
 import com.url_shortener.dto.*;
 import com.url_shortener.entity.Organization;
+import com.url_shortener.entity.UserOrganization;
 import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.CursorPageResponse;
 import com.url_shortener.response.OrganizationResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +16,8 @@ public interface OrganizationService {
 
     ApiResponse<Page<OrganizationResponse>> getUserOrganizations(String userEmail, Pageable pageable);
 
+    ApiResponse<CursorPageResponse<OrganizationResponse>> getUserOrganizationsAfter(String userEmail, String after, int size);
+
     ApiResponse<OrganizationResponse> getOrganizationById(Long organizationId, String userEmail);
 
     ApiResponse<OrganizationResponse> updateOrganization(Long organizationId, CreateOrganizationRequest request, String userEmail);
@@ -24,5 +28,13 @@ public interface OrganizationService {
 
     boolean hasAccess(Long organizationId, String userEmail);
 
+    /**
+     * The active organization if the user has access to it, so callers that
+     * need the entity do not look it up a second time after the access check.
+     */
+    Optional<Organization> findAccessibleOrganization(Long organizationId, String userEmail);
+
+    Optional<UserOrganization.Role> findRole(Long organizationId, String userEmail);
+
     Optional<Organization> findByShortName(String shortName);
 }
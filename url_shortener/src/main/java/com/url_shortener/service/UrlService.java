@@ -1,31 +1,56 @@
 package com.url_shortener.service;
 
+import com.url_shortener.cache.RedirectTarget;
 import com.url_shortener.dto.*;
 import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.BulkCreateResponse;
+import com.url_shortener.response.CursorPageResponse;
+import com.url_shortener.response.TrendingUrlResponse;
+import com.url_shortener.response.UrlPreviewResponse;
 import com.url_shortener.response.UrlResponse;
+import com.url_shortener.response.UrlStatsResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface UrlService {
     ApiResponse<UrlResponse> createShortUrl(CreateUrlRequest request, String userEmail);
 
-    ApiResponse<String> redirectToOriginalUrl(String shortCode);
-    
-    ApiResponse<String> redirectToOriginalUrlByOrgAndId(Long organizationId, Long urlId);
+    ApiResponse<BulkCreateResponse> bulkCreateShortUrls(List<CreateUrlRequest> requests, String userEmail);
+
+    // Previews never record a click and are served from the redirect cache
+    ApiResponse<UrlPreviewResponse> previewUrl(String shortCode);
 
-    ApiResponse<String> redirectToOriginalUrlByShortCodeOrgAndId(String shortCode, Long organizationId, Long urlId);
+    ApiResponse<UrlPreviewResponse> previewUrlByOrgAndId(Long organizationId, Long organizationUrlId);
 
     ApiResponse<Page<UrlResponse>> getUrlsByOrganization(Long organizationId, String userEmail, Pageable pageable);
 
+    ApiResponse<CursorPageResponse<UrlResponse>> getUrlsByOrganizationAfter(Long organizationId, String userEmail, String after, int size);
+
+    ApiResponse<StreamingResponseBody> exportUrlsByOrganization(Long organizationId, String format, String userEmail);
+
+    ApiResponse<List<TrendingUrlResponse>> getTrendingUrls(Long organizationId, String userEmail, int limit);
+
     ApiResponse<Page<UrlResponse>> getUserUrls(String userEmail, Pageable pageable);
 
+    ApiResponse<CursorPageResponse<UrlResponse>> getUserUrlsAfter(String userEmail, String after, int size);
+
     ApiResponse<UrlResponse> getUrlDetails(Long urlId, String userEmail);
 
-//    ApiResponse<UrlAnalyticsResponse> getUrlAnalytics(Long urlId, String userEmail);
+    ApiResponse<UrlStatsResponse> getUrlStats(Long urlId, String userEmail, LocalDateTime from, LocalDateTime to, String granularity);
 
     ApiResponse<String> deleteUrl(Long urlId, String userEmail);
 
     ApiResponse<UrlResponse> updateUrl(Long urlId, CreateUrlRequest request, String userEmail);
 
-    ApiResponse<String> redirectToOriginalUrlByOrgShortNameAndShortCode(String orgShortName, String shortCode);
+    ApiResponse<String> redirectToOriginalUrlByOrgShortNameAndShortCode(String orgShortName, String shortCode, ClickContext clickContext);
+
+    // Same as above, but keeps the expiry and tracking flag the response headers are derived from
+    ApiResponse<RedirectTarget> resolveRedirect(String orgShortName, String shortCode, ClickContext clickContext);
+
+    // Clicks of redirects the redirect edge answered; returns how many were recorded
+    ApiResponse<Integer> recordForwardedClicks(List<ForwardedClick> clicks);
 }
@@ -0,0 +1,156 @@
+package com.url_shortener.service.impl;
+
+import com.url_shortener.entity.ImportJob;
+import com.url_shortener.entity.ImportJobError;
+import com.url_shortener.entity.User;
+import com.url_shortener.imports.ImportJobRunner;
+import com.url_shortener.repository.ImportJobErrorRepository;
+import com.url_shortener.repository.ImportJobRepository;
+import com.url_shortener.repository.UserRepository;
+import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.ImportJobErrorResponse;
+import com.url_shortener.response.ImportJobResponse;
+import com.url_shortener.service.ImportJobService;
+import com.url_shortener.service.OrganizationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ImportJobServiceImpl implements ImportJobService {
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final UserRepository userRepository;
+    private final OrganizationService organizationService;
+    private final ImportJobRunner importJobRunner;
+
+    @Value("${app.imports.directory:./data/imports}")
+    private String importDirectory;
+
+    // The job must be committed before a worker can claim it
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ApiResponse<ImportJobResponse> startImport(Long organizationId, MultipartFile file, String format, String userEmail) {
+        try {
+            if (!organizationService.hasAccess(organizationId, userEmail)) {
+                return ApiResponse.error("Access denied to this organization");
+            }
+            if (file == null || file.isEmpty()) {
+                return ApiResponse.error("Import file is empty");
+            }
+
+            User user = userRepository.findByEmail(userEmail)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            ImportJob.Format jobFormat = resolveFormat(format, file.getOriginalFilename());
+            if (jobFormat == null) {
+                return ApiResponse.error("Unknown import format. Use csv or ndjson");
+            }
+
+            // The upload is streamed to disk, never held in memory
+            Path directory = Path.of(importDirectory);
+            Files.createDirectories(directory);
+            Path target = directory.resolve(UUID.randomUUID() + "." + jobFormat.name().toLowerCase(Locale.ROOT));
+            file.transferTo(target.toAbsolutePath());
+
+            ImportJob job = new ImportJob();
+            job.setOrganizationId(organizationId);
+            job.setCreatedById(user.getId());
+            job.setFormat(jobFormat);
+            job.setFilePath(target.toAbsolutePath().toString());
+            job.setOriginalFileName(file.getOriginalFilename());
+            ImportJob savedJob = importJobRepository.save(job);
+
+            importJobRunner.submit(savedJob.getId());
+            return ApiResponse.success("Import started", mapToResponse(savedJob));
+
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to start import: " + e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<ImportJobResponse> getImportJob(Long jobId, String userEmail) {
+        try {
+            ImportJob job = importJobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Import job not found"));
+
+            if (!organizationService.hasAccess(job.getOrganizationId(), userEmail)) {
+                return ApiResponse.error("Access denied to this import job");
+            }
+
+            return ApiResponse.success(mapToResponse(job));
+
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to fetch import job: " + e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<Page<ImportJobErrorResponse>> getImportJobErrors(Long jobId, String userEmail, Pageable pageable) {
+        try {
+            ImportJob job = importJobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Import job not found"));
+
+            if (!organizationService.hasAccess(job.getOrganizationId(), userEmail)) {
+                return ApiResponse.error("Access denied to this import job");
+            }
+
+            Page<ImportJobError> errors = importJobErrorRepository.findByJobIdOrderByRowNumber(jobId, pageable);
+            return ApiResponse.success(errors.map(error -> new ImportJobErrorResponse(error.getRowNumber(), error.getMessage())));
+
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to fetch import errors: " + e.getMessage());
+        }
+    }
+
+    private ImportJob.Format resolveFormat(String format, String fileName) {
+        String value = format;
+        if (value == null || value.isBlank()) {
+            if (fileName == null || !fileName.contains(".")) {
+                return null;
+            }
+            value = fileName.substring(fileName.lastIndexOf('.') + 1);
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return ImportJob.Format.CSV;
+            case "ndjson":
+            case "jsonl":
+                return ImportJob.Format.NDJSON;
+            default:
+                return null;
+        }
+    }
+
+    private ImportJobResponse mapToResponse(ImportJob job) {
+        ImportJobResponse response = new ImportJobResponse();
+        response.setId(job.getId());
+        response.setOrganizationId(job.getOrganizationId());
+        response.setFileName(job.getOriginalFileName());
+        response.setFormat(job.getFormat().name());
+        response.setStatus(job.getStatus().name());
+        response.setProcessedRows(job.getProcessedRows());
+        response.setCreatedCount(job.getCreatedCount());
+        response.setFailedCount(job.getFailedCount());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        return response;
+    }
+}
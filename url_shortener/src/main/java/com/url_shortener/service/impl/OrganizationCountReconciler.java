@@ -0,0 +1,52 @@
+package com.url_shortener.service.impl;
+
+import com.url_shortener.repository.OrganizationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically recomputes organizations.member_count and active_url_count from
+ * the source tables. active_url_count is kept current by increments in the
+ * writing transactions and member_count is set when an organization is
+ * created; this pass fills them for rows that existed before the columns did
+ * and repairs any drift.
+ */
+@Component
+public class OrganizationCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrganizationCountReconciler.class);
+
+    // Organizations per transaction, so each pass holds row locks only briefly
+    private static final long RANGE_SIZE = 500;
+
+    private final OrganizationRepository organizationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrganizationCountReconciler(OrganizationRepository organizationRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.organizationRepository = organizationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${app.organization-counts.initial-delay-ms:60000}",
+            fixedDelayString = "${app.organization-counts.reconcile-interval-ms:21600000}")
+    public void reconcile() {
+        try {
+            long maxId = organizationRepository.findMaxId();
+            int updated = 0;
+            for (long from = 1; from <= maxId; from += RANGE_SIZE) {
+                long fromId = from;
+                Integer rows = transactionTemplate.execute(status ->
+                        organizationRepository.reconcileCounts(fromId, fromId + RANGE_SIZE));
+                updated += rows != null ? rows : 0;
+            }
+            logger.debug("Reconciled member and URL counts of {} organizations", updated);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reconcile organization counts, will retry: {}", e.getMessage());
+        }
+    }
+}
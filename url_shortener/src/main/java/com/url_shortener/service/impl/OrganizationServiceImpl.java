@@ -1,17 +1,24 @@
 package com.url_shortener.service.impl;
 
+import com.url_shortener.cache.AccessCache;
+import com.url_shortener.cache.AccessDecision;
+import com.url_shortener.cache.RedirectCache;
 import com.url_shortener.dto.*;
 import com.url_shortener.entity.*;
 import com.url_shortener.repository.*;
 import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.CursorPageResponse;
 import com.url_shortener.response.OrganizationResponse;
 import com.url_shortener.service.OrganizationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -22,7 +29,11 @@ public class OrganizationServiceImpl implements OrganizationService {
     private final OrganizationRepository organizationRepository;
     private final UserRepository userRepository;
     private final UserOrganizationRepository userOrganizationRepository;
-    private final UrlRepository urlRepository;
+    private final RedirectCache redirectCache;
+    private final AccessCache accessCache;
+
+    // Upper bound on rows per keyset page
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     @Override
     public ApiResponse<OrganizationResponse> createOrganization(CreateOrganizationRequest request, String userEmail) {
@@ -52,6 +63,8 @@ public class OrganizationServiceImpl implements OrganizationService {
             organization.setDescription(request.getDescription());
             organization.setOwner(user);
             organization.setShortName(request.getShortName());
+            // Counts the owner membership saved below
+            organization.setMemberCount(1L);
 
             Organization savedOrg = organizationRepository.save(organization);
             System.out.println("Organization created successfully with ID: " + savedOrg.getId());
@@ -62,6 +75,8 @@ public class OrganizationServiceImpl implements OrganizationService {
             userOrg.setOrganization(savedOrg);
             userOrg.setRole(UserOrganization.Role.OWNER);
             userOrganizationRepository.save(userOrg);
+            // Drops any denial cached for this id before the organization existed
+            accessCache.evictOrganization(savedOrg.getId());
 
             OrganizationResponse response = mapToResponse(savedOrg);
             return ApiResponse.success("Organization created successfully", response);
@@ -90,6 +105,34 @@ public class OrganizationServiceImpl implements OrganizationService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<CursorPageResponse<OrganizationResponse>> getUserOrganizationsAfter(String userEmail, String after, int size) {
+        try {
+            User user = userRepository.findByEmail(userEmail)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            PageCursor cursor = PageCursor.decode(after);
+            Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+            Slice<Organization> organizations = cursor == null
+                    ? organizationRepository.findUserOrganizationsFirst(user, pageable)
+                    : organizationRepository.findUserOrganizationsAfter(user, cursor.getCreatedAt(), cursor.getId(), pageable);
+
+            List<OrganizationResponse> content = organizations.map(this::mapToResponse).getContent();
+            String nextCursor = null;
+            if (organizations.hasNext()) {
+                Organization last = organizations.getContent().get(organizations.getNumberOfElements() - 1);
+                nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+            }
+            return ApiResponse.success(new CursorPageResponse<>(content, content.size(), organizations.hasNext(), nextCursor));
+
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to fetch organizations: " + e.getMessage());
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ApiResponse<OrganizationResponse> getOrganizationById(Long organizationId, String userEmail) {
@@ -139,6 +182,7 @@ public class OrganizationServiceImpl implements OrganizationService {
             organization.setShortName(request.getShortName());
 
             Organization savedOrg = organizationRepository.save(organization);
+            redirectCache.evictOrganization(savedOrg.getId());
             OrganizationResponse response = mapToResponse(savedOrg);
 
             return ApiResponse.success("Organization updated successfully", response);
@@ -165,6 +209,8 @@ public class OrganizationServiceImpl implements OrganizationService {
             // Soft delete
             organization.setActive(false);
             organizationRepository.save(organization);
+            redirectCache.evictOrganization(organization.getId());
+            accessCache.evictOrganization(organization.getId());
 
             return ApiResponse.success("Organization deleted successfully", null);
 
@@ -183,19 +229,48 @@ public class OrganizationServiceImpl implements OrganizationService {
     @Override
     @Transactional(readOnly = true)
     public boolean hasAccess(Long organizationId, String userEmail) {
+        return findRole(organizationId, userEmail).isPresent();
+    }
+
+    // Served from the access cache; only a miss reaches the database
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserOrganization.Role> findRole(Long organizationId, String userEmail) {
+        AccessDecision cached = accessCache.get(userEmail, organizationId);
+        if (cached != null) {
+            return Optional.ofNullable(cached.getRole());
+        }
+
         try {
-            User user = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            long stamp = accessCache.stamp();
+            UserOrganization.Role role = loadRole(userRepository.findByEmail(userEmail),
+                    organizationRepository.findByIdAndActiveTrue(organizationId));
+            accessCache.put(userEmail, organizationId, role, stamp);
+            return Optional.ofNullable(role);
 
-            Organization organization = organizationRepository.findByIdAndActiveTrue(organizationId)
-                    .orElseThrow(() -> new RuntimeException("Organization not found"));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    // A miss loads the organization for the decision anyway and returns that instance
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Organization> findAccessibleOrganization(Long organizationId, String userEmail) {
+        AccessDecision cached = accessCache.get(userEmail, organizationId);
+        if (cached != null) {
+            return cached.isAllowed() ? organizationRepository.findByIdAndActiveTrue(organizationId) : Optional.empty();
+        }
 
-            // Check if user is owner or member
-            return organization.getOwner().equals(user) ||
-                    userOrganizationRepository.existsByUserAndOrganizationAndActiveTrue(user, organization);
+        try {
+            long stamp = accessCache.stamp();
+            Optional<Organization> organization = organizationRepository.findByIdAndActiveTrue(organizationId);
+            UserOrganization.Role role = loadRole(userRepository.findByEmail(userEmail), organization);
+            accessCache.put(userEmail, organizationId, role, stamp);
+            return role != null ? organization : Optional.empty();
 
         } catch (Exception e) {
-            return false;
+            return Optional.empty();
         }
     }
 
@@ -205,6 +280,20 @@ public class OrganizationServiceImpl implements OrganizationService {
         return organizationRepository.findByShortNameAndActiveTrue(shortName);
     }
 
+    private UserOrganization.Role loadRole(Optional<User> user, Optional<Organization> organization) {
+        if (user.isEmpty() || organization.isEmpty()) {
+            return null;
+        }
+
+        // Check if user is owner or member
+        if (organization.get().getOwner().equals(user.get())) {
+            return UserOrganization.Role.OWNER;
+        }
+        return userOrganizationRepository.findByUserAndOrganizationAndActiveTrue(user.get(), organization.get())
+                .map(UserOrganization::getRole)
+                .orElse(null);
+    }
+
     private OrganizationResponse mapToResponse(Organization organization) {
         OrganizationResponse response = new OrganizationResponse();
         response.setId(organization.getId());
@@ -216,9 +305,10 @@ public class OrganizationServiceImpl implements OrganizationService {
         response.setOwnerEmail(organization.getOwner().getEmail());
         response.setOwnerName(organization.getOwner().getFirstName() + " " + organization.getOwner().getLastName());
 
-        // Count members and URLs
-        response.setMemberCount((long) (organization.getMembers() != null ? organization.getMembers().size() : 0));
-        response.setUrlCount(urlRepository.countByOrganizationAndActiveTrue(organization));
+        // Materialized counters; reading them costs no extra query
+        response.setMemberCount(organization.getMemberCount());
+        response.setUrlCount(organization.getActiveUrlCount());
+        response.setUniqueVisitors(organization.getUniqueVisitors());
 
         return response;
     }
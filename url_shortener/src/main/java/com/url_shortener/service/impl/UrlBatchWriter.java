@@ -0,0 +1,50 @@
+package com.url_shortener.service.impl;
+
+import com.url_shortener.cache.ShortCodeFilter;
+import com.url_shortener.entity.Url;
+import com.url_shortener.repository.OrganizationRepository;
+import com.url_shortener.repository.UrlRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts URLs for bulk creation, each call in its own transaction so that a
+ * large request commits chunk by chunk.
+ */
+@Component
+@RequiredArgsConstructor
+public class UrlBatchWriter {
+
+    private final UrlRepository urlRepository;
+    private final OrganizationRepository organizationRepository;
+    private final ShortCodeFilter shortCodeFilter;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Url> insertAll(List<Url> urls) {
+        List<Url> saved = urlRepository.saveAll(urls);
+        // Surface constraint violations here rather than at commit
+        urlRepository.flush();
+
+        Map<Long, Long> perOrganization = new LinkedHashMap<>();
+        for (Url url : saved) {
+            perOrganization.merge(url.getOrganization().getId(), 1L, Long::sum);
+            shortCodeFilter.add(url.getShortCode());
+        }
+        perOrganization.forEach(organizationRepository::adjustActiveUrlCount);
+        return saved;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Url insert(Url url) {
+        Url saved = urlRepository.saveAndFlush(url);
+        organizationRepository.adjustActiveUrlCount(saved.getOrganization().getId(), 1);
+        shortCodeFilter.add(saved.getShortCode());
+        return saved;
+    }
+}
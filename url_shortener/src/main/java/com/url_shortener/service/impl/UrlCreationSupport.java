@@ -0,0 +1,90 @@
+package com.url_shortener.service.impl;
+
+import com.url_shortener.dto.CreateUrlRequest;
+import com.url_shortener.entity.Organization;
+import com.url_shortener.entity.Url;
+import com.url_shortener.entity.User;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Validation and entity construction shared by single, bulk and imported URL
+ * creation.
+ */
+@Component
+@RequiredArgsConstructor
+public class UrlCreationSupport {
+
+    private final Validator validator;
+
+    /**
+     * Returns why the request cannot be created, or null when it is valid.
+     * Duplicates are not checked here.
+     */
+    public String validate(CreateUrlRequest request) {
+        if (request == null) {
+            return "Malformed request";
+        }
+        Set<ConstraintViolation<CreateUrlRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (!isValidUrl(request.getOriginalUrl())) {
+            return "Invalid URL format";
+        }
+        if (hasCustomShortCode(request) && !isValidShortCode(request.getCustomShortCode().trim())) {
+            return "Invalid short code format. Use only letters, numbers, and hyphens (3-20 characters)";
+        }
+        if (request.getExpiresAt() != null && request.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return "Expiration date cannot be in the past";
+        }
+        return null;
+    }
+
+    public static boolean hasCustomShortCode(CreateUrlRequest request) {
+        return request.getCustomShortCode() != null && !request.getCustomShortCode().trim().isEmpty();
+    }
+
+    public static boolean isValidUrl(String url) {
+        return url != null &&
+                !url.trim().isEmpty() &&
+                (url.startsWith("http://") || url.startsWith("https://"));
+    }
+
+    public static boolean isValidShortCode(String shortCode) {
+        return shortCode != null &&
+                shortCode.matches("^[a-zA-Z0-9-]+$") &&
+                shortCode.length() >= 3 &&
+                shortCode.length() <= 20;
+    }
+
+    public static Url newUrl(CreateUrlRequest request, String shortCode, Long orgLevelUrlId, Organization organization, User user) {
+        Url url = new Url();
+        url.setOriginalUrl(request.getOriginalUrl());
+        url.setShortCode(shortCode);
+        url.setOrganizationUrlId(orgLevelUrlId);
+
+        // Handle title - use provided title or empty string if null
+        url.setTitle(request.getTitle() != null ? request.getTitle().trim() : "");
+
+        // Handle description - use provided description or empty string if null
+        url.setDescription(request.getDescription() != null ? request.getDescription().trim() : "");
+
+        // Handle expiration date - use provided date or null (no expiration)
+        url.setExpiresAt(request.getExpiresAt());
+        url.setTrackable(Boolean.TRUE.equals(request.getTrackable()));
+
+        // Set system fields
+        url.setCreatedBy(user);
+        url.setOrganization(organization);
+        url.setActive(true);
+        url.setClickCount(0L);
+        url.setCreatedAt(LocalDateTime.now());
+        return url;
+    }
+}
@@ -0,0 +1,165 @@
+package com.url_shortener.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.url_shortener.analytics.ClickCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Streams the active URLs of an organization to an output stream one row at a
+ * time from a forward-only cursor. Only the current row is held in memory, and
+ * the creator is joined in rather than loaded per row.
+ */
+@Component
+public class UrlExporter {
+
+    public enum Format {CSV, NDJSON}
+
+    // Column names double as the CSV header; they match the import columns where both exist
+    private static final String[] COLUMNS = {"id", "organizationUrlId", "shortCode", "shortUrl", "originalUrl",
+            "title", "description", "clickCount", "uniqueVisitors", "createdAt", "expiresAt", "createdByEmail"};
+
+    private static final String EXPORT_SQL =
+            "SELECT u.id, u.organization_url_id, u.short_code, u.original_url, u.title, u.description, u.click_count, " +
+            "u.unique_visitors, u.created_at, u.expires_at, c.email " +
+            "FROM urls u JOIN users c ON c.id = u.created_by " +
+            "WHERE u.organization_id = ? AND u.active = TRUE ORDER BY u.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClickCounter clickCounter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public UrlExporter(JdbcTemplate jdbcTemplate, ClickCounter clickCounter, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clickCounter = clickCounter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the organization's active URLs, the set the paged listing returns,
+     * in id order. Runs in a read-only transaction because PostgreSQL only
+     * honours the fetch size, and so only streams, with auto-commit off.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long organizationId, String organizationShortName, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        String shortUrlPrefix = baseUrl + "/s/" + organizationShortName + "/";
+        RowCallbackHandler handler = format == Format.CSV
+                ? csvHandler(writer, shortUrlPrefix)
+                : ndjsonHandler(writer, shortUrlPrefix);
+
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, organizationId);
+                return statement;
+            }, handler);
+        } catch (UncheckedIOException e) {
+            // The client went away mid-download
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private RowCallbackHandler csvHandler(Writer writer, String shortUrlPrefix) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        return rs -> {
+            try {
+                Object[] values = rowValues(rs, shortUrlPrefix);
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(csvField(values[i]));
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private RowCallbackHandler ndjsonHandler(Writer writer, String shortUrlPrefix) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return rs -> {
+            try {
+                Object[] values = rowValues(rs, shortUrlPrefix);
+                generator.writeStartObject();
+                for (int i = 0; i < values.length; i++) {
+                    generator.writeFieldName(COLUMNS[i]);
+                    if (values[i] instanceof Long number) {
+                        generator.writeNumber(number);
+                    } else if (values[i] == null) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeString(values[i].toString());
+                    }
+                }
+                generator.writeEndObject();
+                generator.flush();
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    // Values in COLUMNS order; click counts include clicks not yet flushed, as in the API
+    private Object[] rowValues(ResultSet rs, String shortUrlPrefix) throws SQLException {
+        long id = rs.getLong(1);
+        String shortCode = rs.getString(3);
+        Timestamp createdAt = rs.getTimestamp(9);
+        Timestamp expiresAt = rs.getTimestamp(10);
+        return new Object[]{
+                id,
+                rs.getLong(2),
+                shortCode,
+                shortUrlPrefix + shortCode,
+                rs.getString(4),
+                rs.getString(5),
+                rs.getString(6),
+                rs.getLong(7) + clickCounter.pendingClicks(id),
+                rs.getLong(8),
+                createdAt != null ? createdAt.toLocalDateTime() : null,
+                expiresAt != null ? expiresAt.toLocalDateTime() : null,
+                rs.getString(11)
+        };
+    }
+
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
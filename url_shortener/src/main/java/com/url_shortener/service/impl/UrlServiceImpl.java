@@ -1,10 +1,26 @@
 package com.url_shortener.service.impl;
 
+import com.url_shortener.analytics.ClickCounter;
+import com.url_shortener.analytics.ClickEvent;
+import com.url_shortener.analytics.ClickEventPipeline;
+import com.url_shortener.analytics.HyperLogLog;
+import com.url_shortener.analytics.TrendingTracker;
+import com.url_shortener.cache.RedirectCache;
+import com.url_shortener.cache.ShortCodeFilter;
+import com.url_shortener.cache.RedirectTarget;
 import com.url_shortener.dto.*;
 import com.url_shortener.entity.*;
+import com.url_shortener.ratelimit.RateLimiter;
 import com.url_shortener.repository.*;
 import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.BulkCreateResponse;
+import com.url_shortener.response.CursorPageResponse;
+import com.url_shortener.response.TrendingUrlResponse;
+import com.url_shortener.response.UrlPreviewResponse;
 import com.url_shortener.response.UrlResponse;
+import com.url_shortener.response.UrlStatsResponse;
+import com.url_shortener.sequence.OrganizationUrlIdAllocator;
+import com.url_shortener.sequence.ShortCodePool;
 import com.url_shortener.service.OrganizationService;
 import com.url_shortener.service.UrlService;
 import lombok.RequiredArgsConstructor;
@@ -12,12 +28,30 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.url_shortener.service.impl.UrlCreationSupport.hasCustomShortCode;
+import static com.url_shortener.service.impl.UrlCreationSupport.isValidShortCode;
+import static com.url_shortener.service.impl.UrlCreationSupport.isValidUrl;
+import static com.url_shortener.service.impl.UrlCreationSupport.newUrl;
 
 @Service
 @RequiredArgsConstructor
@@ -26,33 +60,64 @@ public class UrlServiceImpl implements UrlService {
 
     private final UrlRepository urlRepository;
     private final UserRepository userRepository;
+    private final OrganizationRepository organizationRepository;
     private final OrganizationService organizationService;
+    private final RedirectCache redirectCache;
+    private final ShortCodeFilter shortCodeFilter;
+    private final ClickCounter clickCounter;
+    private final ClickEventPipeline clickEventPipeline;
+    private final ClickRollupRepository clickRollupRepository;
+    private final VisitorSketchRepository visitorSketchRepository;
+    private final TrendingTracker trendingTracker;
+    private final OrganizationUrlIdAllocator organizationUrlIdAllocator;
+    private final ShortCodePool shortCodePool;
+    private final UrlBatchWriter urlBatchWriter;
+    private final UrlCreationSupport urlCreationSupport;
+    private final UrlExporter urlExporter;
+    private final RateLimiter rateLimiter;
 
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
 
-    private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private static final int SHORT_CODE_LENGTH = 6;
-    private final SecureRandom random = new SecureRandom();
+    @Value("${app.bulk.max-items:50000}")
+    private int maxBulkItems;
+
+    @Value("${app.edge.max-clicks-per-request:10000}")
+    private int maxForwardedClicks;
+
+    // Rows per insert transaction and values per IN list during bulk creation
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final int BULK_LOOKUP_SIZE = 1000;
+
+    // Upper bound on rows per keyset page
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    // Upper bound on the number of points a single stats request may return
+    private static final long MAX_STATS_BUCKETS = 10_000;
 
     @Override
     public ApiResponse<UrlResponse> createShortUrl(CreateUrlRequest request, String userEmail) {
         try {
             // Validate organization access
-            if (!organizationService.hasAccess(request.getOrganizationId(), userEmail)) {
+            Optional<Organization> accessible = organizationService.findAccessibleOrganization(request.getOrganizationId(), userEmail);
+            if (accessible.isEmpty()) {
                 return ApiResponse.error("Access denied to this organization");
             }
+            Organization organization = accessible.get();
 
             User user = userRepository.findByEmail(userEmail)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Organization organization = organizationService.findOrganizationEntity(request.getOrganizationId());
-
             // Validate URL format - using both custom validation and @URL annotation validation
             if (!isValidUrl(request.getOriginalUrl())) {
                 return ApiResponse.error("Invalid URL format");
             }
 
+            // Validate expiration date before a short code or URL ID is allocated for it
+            if (request.getExpiresAt() != null && request.getExpiresAt().isBefore(LocalDateTime.now())) {
+                return ApiResponse.error("Expiration date cannot be in the past");
+            }
+
             // Check if originalUrl already exists for this organization
             if (urlRepository.existsByOrganizationAndOriginalUrl(organization, request.getOriginalUrl())) {
                 return ApiResponse.error("A shortened URL for this original URL already exists in this organization");
@@ -73,42 +138,20 @@ public class UrlServiceImpl implements UrlService {
                     return ApiResponse.error("Invalid short code format. Use only letters, numbers, and hyphens (3-20 characters)");
                 }
             } else {
-                // Generate random short code if no custom code provided
-                shortCode = generateUniqueShortCode(organization);
+                // Generated codes are unique by construction, so no lookup is needed
+                shortCode = shortCodePool.take();
             }
 
             // Get the next URL ID within the organization
-            Long orgLevelUrlId = getNextUrlIdForOrganization(organization.getId());
+            Long orgLevelUrlId = organizationUrlIdAllocator.next(organization.getId());
 
             // Create URL entity with all fields from request
-            Url url = new Url();
-            url.setOriginalUrl(request.getOriginalUrl());
-            url.setShortCode(shortCode);
-            url.setOrganizationUrlId(orgLevelUrlId);
-
-            // Handle title - use provided title or empty string if null
-            url.setTitle(request.getTitle() != null ? request.getTitle().trim() : "");
-
-            // Handle description - use provided description or empty string if null
-            url.setDescription(request.getDescription() != null ? request.getDescription().trim() : "");
-
-            // Handle expiration date - use provided date or null (no expiration)
-            url.setExpiresAt(request.getExpiresAt());
-
-            // Set system fields
-            url.setCreatedBy(user);
-            url.setOrganization(organization);
-            url.setActive(true);
-            url.setClickCount(0L);
-            url.setCreatedAt(LocalDateTime.now());
-
-            // Validate expiration date if provided
-            if (url.getExpiresAt() != null && url.getExpiresAt().isBefore(LocalDateTime.now())) {
-                return ApiResponse.error("Expiration date cannot be in the past");
-            }
+            Url url = newUrl(request, shortCode, orgLevelUrlId, organization, user);
 
             // Save the URL entity
             Url savedUrl = urlRepository.save(url);
+            organizationRepository.adjustActiveUrlCount(organization.getId(), 1);
+            shortCodeFilter.add(savedUrl.getShortCode());
 
             UrlResponse response = mapToResponse(savedUrl);
 
@@ -120,135 +163,370 @@ public class UrlServiceImpl implements UrlService {
     }
 
     @Override
-    @Transactional
-    public ApiResponse<String> redirectToOriginalUrl(String shortCode) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ApiResponse<BulkCreateResponse> bulkCreateShortUrls(List<CreateUrlRequest> requests, String userEmail) {
         try {
-            Optional<Url> urlOptional = urlRepository.findByShortCodeAndActiveTrue(shortCode);
+            if (requests == null || requests.isEmpty()) {
+                return ApiResponse.error("No URLs to create");
+            }
+            if (requests.size() > maxBulkItems) {
+                return ApiResponse.error("At most " + maxBulkItems + " URLs can be created per request");
+            }
+
+            User user = userRepository.findByEmail(userEmail)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
 
-            if (urlOptional.isEmpty()) {
-                return ApiResponse.error("Short URL not found");
+            BulkCreateResponse.Item[] results = new BulkCreateResponse.Item[requests.size()];
+            Map<Long, List<Integer>> itemsByOrganization = new LinkedHashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                String problem = urlCreationSupport.validate(requests.get(i));
+                if (problem != null) {
+                    results[i] = bulkFailure(i, problem);
+                } else {
+                    itemsByOrganization.computeIfAbsent(requests.get(i).getOrganizationId(), id -> new ArrayList<>()).add(i);
+                }
             }
 
-            Url url = urlOptional.get();
+            // Access and duplicate original URLs are checked once per organization
+            Map<Integer, Organization> accepted = new LinkedHashMap<>();
+            for (Map.Entry<Long, List<Integer>> entry : itemsByOrganization.entrySet()) {
+                Optional<Organization> accessible = organizationService.findAccessibleOrganization(entry.getKey(), userEmail);
+                if (accessible.isEmpty()) {
+                    for (int i : entry.getValue()) {
+                        results[i] = bulkFailure(i, "Access denied to this organization");
+                    }
+                    continue;
+                }
+                Organization organization = accessible.get();
+
+                // Bulk requests have their own per-organization budget, so they never starve single creates
+                long wait = rateLimiter.tryAcquire(RateLimiter.BULK_ORGANIZATION, String.valueOf(entry.getKey()));
+                if (wait > 0) {
+                    String message = "Too many bulk requests for this organization; retry in "
+                            + RateLimiter.retryAfterSeconds(wait) + " seconds";
+                    for (int i : entry.getValue()) {
+                        results[i] = bulkFailure(i, message);
+                    }
+                    continue;
+                }
 
-            // Check if URL has expired
-            if (url.getExpiresAt() != null && url.getExpiresAt().isBefore(LocalDateTime.now())) {
-                return ApiResponse.error("Short URL has expired");
+                List<String> originalUrls = new ArrayList<>();
+                for (int i : entry.getValue()) {
+                    originalUrls.add(requests.get(i).getOriginalUrl());
+                }
+                Set<String> taken = findExisting(originalUrls,
+                        chunk -> urlRepository.findExistingOriginalUrls(organization.getId(), chunk));
+                for (int i : entry.getValue()) {
+                    if (!taken.add(requests.get(i).getOriginalUrl())) {
+                        results[i] = bulkFailure(i, "A shortened URL for this original URL already exists in this organization");
+                    } else {
+                        accepted.put(i, organization);
+                    }
+                }
+            }
+
+            // Short codes are unique across organizations
+            List<String> customCodes = new ArrayList<>();
+            for (int i : accepted.keySet()) {
+                if (hasCustomShortCode(requests.get(i))) {
+                    customCodes.add(requests.get(i).getCustomShortCode().trim());
+                }
+            }
+            Set<String> takenCodes = findExisting(customCodes, urlRepository::findExistingShortCodes);
+
+            List<Integer> indexes = new ArrayList<>();
+            List<Url> urls = new ArrayList<>();
+            for (Map.Entry<Integer, Organization> entry : accepted.entrySet()) {
+                int i = entry.getKey();
+                CreateUrlRequest request = requests.get(i);
+                String shortCode;
+                if (hasCustomShortCode(request)) {
+                    shortCode = request.getCustomShortCode().trim();
+                    if (!takenCodes.add(shortCode)) {
+                        results[i] = bulkFailure(i, "Custom short code already exists");
+                        continue;
+                    }
+                } else {
+                    shortCode = shortCodePool.take();
+                }
+                Organization organization = entry.getValue();
+                Long orgLevelUrlId = organizationUrlIdAllocator.next(organization.getId());
+                indexes.add(i);
+                urls.add(newUrl(request, shortCode, orgLevelUrlId, organization, user));
             }
 
-            // Increment click count
-            url.setClickCount(url.getClickCount() + 1);
-            urlRepository.save(url);
+            for (int from = 0; from < urls.size(); from += BULK_CHUNK_SIZE) {
+                int to = Math.min(from + BULK_CHUNK_SIZE, urls.size());
+                insertBulkChunk(indexes.subList(from, to), urls.subList(from, to), results);
+            }
 
-            return ApiResponse.success("Redirect URL found", url.getOriginalUrl());
+            int created = 0;
+            for (BulkCreateResponse.Item item : results) {
+                if (item.isSuccess()) {
+                    created++;
+                }
+            }
+            BulkCreateResponse response = new BulkCreateResponse(results.length, created, results.length - created, Arrays.asList(results));
+            return ApiResponse.success("Created " + created + " of " + results.length + " short URLs", response);
 
         } catch (Exception e) {
-            return ApiResponse.error("Failed to process redirect: " + e.getMessage());
+            return ApiResponse.error("Failed to create short URLs: " + e.getMessage());
         }
     }
 
     @Override
-    @Transactional
-    public ApiResponse<String> redirectToOriginalUrlByOrgAndId(Long organizationId, Long urlId) {
+    @Transactional(readOnly = true)
+    public ApiResponse<UrlPreviewResponse> previewUrl(String shortCode) {
         try {
-            Organization organization = organizationService.findOrganizationEntity(organizationId);
-
-            // Find the URL by organizationId and organizationUrlId
-            Optional<Url> urlOptional = urlRepository.findByOrganizationIdAndOrganizationUrlIdAndActiveTrue(organizationId, urlId);
-
-            if (urlOptional.isEmpty()) {
-                return ApiResponse.error("Short URL not found");
+            RedirectTarget target = redirectCache.getPreview(shortCode);
+            if (target == null) {
+                if (!shortCodeFilter.mightContain(shortCode)) {
+                    return ApiResponse.error("Short URL not found");
+                }
+                long stamp = redirectCache.stamp();
+                Optional<Url> urlOptional = urlRepository.findByShortCodeAndActiveTrue(shortCode);
+                if (urlOptional.isEmpty()) {
+                    return ApiResponse.error("Short URL not found");
+                }
+                target = toRedirectTarget(urlOptional.get());
+                redirectCache.putPreview(shortCode, target, stamp);
             }
+            return toPreview(target);
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to load preview: " + e.getMessage());
+        }
+    }
 
-            Url url = urlOptional.get();
-
-            // Check if URL has expired
-            if (url.getExpiresAt() != null && url.getExpiresAt().isBefore(LocalDateTime.now())) {
-                return ApiResponse.error("Short URL has expired");
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<UrlPreviewResponse> previewUrlByOrgAndId(Long organizationId, Long organizationUrlId) {
+        try {
+            RedirectTarget target = redirectCache.getPreview(organizationId, organizationUrlId);
+            if (target == null) {
+                long stamp = redirectCache.stamp();
+                Optional<Url> urlOptional = urlRepository.findByOrganizationIdAndOrganizationUrlIdAndActiveTrue(organizationId, organizationUrlId);
+                if (urlOptional.isEmpty()) {
+                    return ApiResponse.error("Short URL not found");
+                }
+                target = toRedirectTarget(urlOptional.get());
+                redirectCache.putPreview(organizationId, organizationUrlId, target, stamp);
             }
+            return toPreview(target);
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to load preview: " + e.getMessage());
+        }
+    }
+
+    private static ApiResponse<UrlPreviewResponse> toPreview(RedirectTarget target) {
+        if (target.isExpiredAt(LocalDateTime.now())) {
+            return ApiResponse.error("Short URL has expired");
+        }
+        return ApiResponse.success("Preview URL", new UrlPreviewResponse(
+                target.getOriginalUrl(), target.getTitle(), target.getDescription(), target.getExpiresAt()));
+    }
 
-            // Increment click count
-            url.setClickCount(url.getClickCount() + 1);
-            urlRepository.save(url);
+    // The organization proxy yields its id without being initialized
+    private static RedirectTarget toRedirectTarget(Url url) {
+        return new RedirectTarget(url.getId(), url.getOrganization().getId(), url.getOriginalUrl(),
+                url.getExpiresAt(), url.isTrackable(), url.getTitle(), url.getDescription());
+    }
 
-            return ApiResponse.success("Redirect URL found", url.getOriginalUrl());
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ApiResponse<String> redirectToOriginalUrlByOrgShortNameAndShortCode(String orgShortName, String shortCode, ClickContext clickContext) {
+        ApiResponse<RedirectTarget> response = resolveRedirect(orgShortName, shortCode, clickContext);
+        return response.isSuccess()
+                ? ApiResponse.success(response.getMessage(), response.getData().getOriginalUrl())
+                : ApiResponse.error(response.getMessage());
+    }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ApiResponse<RedirectTarget> resolveRedirect(String orgShortName, String shortCode, ClickContext clickContext) {
+        try {
+            RedirectTarget target = redirectCache.get(orgShortName, shortCode);
+            if (target == null) {
+                // Codes no active URL has are answered without a query
+                if (!shortCodeFilter.mightContain(shortCode)) {
+                    return ApiResponse.error("Short URL not found");
+                }
+                long stamp = redirectCache.stamp();
+                Optional<Organization> orgOpt = organizationService.findByShortName(orgShortName);
+                if (orgOpt.isEmpty()) {
+                    shortCodeFilter.recordFalsePositive();
+                    return ApiResponse.error("Organization not found");
+                }
+                Organization organization = orgOpt.get();
+                Optional<Url> urlOpt = urlRepository.findByOrganizationAndShortCodeAndActiveTrue(organization, shortCode);
+                if (urlOpt.isEmpty()) {
+                    shortCodeFilter.recordFalsePositive();
+                    return ApiResponse.error("Short URL not found");
+                }
+                Url url = urlOpt.get();
+                target = toRedirectTarget(url);
+                redirectCache.put(orgShortName, shortCode, target, stamp);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (target.isExpiredAt(now)) {
+                return ApiResponse.error("Short URL has expired");
+            }
+            clickCounter.record(target.getUrlId());
+            clickEventPipeline.publish(ClickEvent.of(target.getUrlId(), target.getOrganizationId(), clickContext, now));
+            return ApiResponse.success("Redirect URL found", target);
         } catch (Exception e) {
             return ApiResponse.error("Failed to process redirect: " + e.getMessage());
         }
     }
 
     @Override
-    @Transactional
-    public ApiResponse<String> redirectToOriginalUrlByShortCodeOrgAndId(String shortCode, Long organizationId, Long urlId) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ApiResponse<Integer> recordForwardedClicks(List<ForwardedClick> clicks) {
         try {
-            Organization organization = organizationService.findOrganizationEntity(organizationId);
-            
-            // Find the URL by shortCode, organizationId, and organizationUrlId
-            Optional<Url> urlOptional = urlRepository.findByShortCodeAndOrganizationIdAndOrganizationUrlIdAndActiveTrue(shortCode, organizationId, urlId);
+            if (clicks.size() > maxForwardedClicks) {
+                return ApiResponse.error("At most " + maxForwardedClicks + " clicks can be recorded per request");
+            }
 
-            if (urlOptional.isEmpty()) {
-                return ApiResponse.error("Short URL not found");
+            // A click only counts for the organization its URL belongs to
+            Set<Long> urlIds = new HashSet<>();
+            for (ForwardedClick click : clicks) {
+                if (click != null && click.getUrlId() != null) {
+                    urlIds.add(click.getUrlId());
+                }
+            }
+            Map<Long, Long> organizationIds = new HashMap<>();
+            if (!urlIds.isEmpty()) {
+                for (Object[] row : urlRepository.findOrganizationIds(urlIds)) {
+                    organizationIds.put((Long) row[0], (Long) row[1]);
+                }
             }
 
-            Url url = urlOptional.get();
+            // The same two steps as resolveRedirect, so the click reaches the counter,
+            // rollups, visitor sketches and trending summaries alike
+            LocalDateTime now = LocalDateTime.now();
+            int recorded = 0;
+            for (ForwardedClick click : clicks) {
+                if (click == null || click.getUrlId() == null || click.getOrganizationId() == null
+                        || !click.getOrganizationId().equals(organizationIds.get(click.getUrlId()))) {
+                    continue;
+                }
+                ClickContext clickContext = new ClickContext(click.getReferrer(), click.getUserAgent(), click.getClientIp());
+                LocalDateTime clickedAt = click.getClickedAt() != null ? click.getClickedAt() : now;
+                clickCounter.record(click.getUrlId());
+                clickEventPipeline.publish(ClickEvent.of(click.getUrlId(), click.getOrganizationId(), clickContext, clickedAt));
+                recorded++;
+            }
+            return ApiResponse.success("Clicks recorded", recorded);
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to record clicks: " + e.getMessage());
+        }
+    }
 
-            // Check if URL has expired
-            if (url.getExpiresAt() != null && url.getExpiresAt().isBefore(LocalDateTime.now())) {
-                return ApiResponse.error("Short URL has expired");
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<Page<UrlResponse>> getUrlsByOrganization(Long organizationId, String userEmail, Pageable pageable) {
+        try {
+            if (!organizationService.hasAccess(organizationId, userEmail)) {
+                return ApiResponse.error("Access denied to this organization");
             }
 
-            // Increment click count
-            url.setClickCount(url.getClickCount() + 1);
-            urlRepository.save(url);
+            Page<UrlResponse> response = urlRepository.findOrganizationUrlResponses(organizationId, pageable)
+                    .map(this::completeResponse);
 
-            return ApiResponse.success("Redirect URL found", url.getOriginalUrl());
+            return ApiResponse.success(response);
 
         } catch (Exception e) {
-            return ApiResponse.error("Failed to process redirect: " + e.getMessage());
+            return ApiResponse.error("Failed to fetch URLs: " + e.getMessage());
         }
     }
 
     @Override
-    public ApiResponse<String> redirectToOriginalUrlByOrgShortNameAndShortCode(String orgShortName, String shortCode) {
+    @Transactional(readOnly = true)
+    public ApiResponse<CursorPageResponse<UrlResponse>> getUrlsByOrganizationAfter(Long organizationId, String userEmail, String after, int size) {
         try {
-            Optional<Organization> orgOpt = organizationService.findByShortName(orgShortName);
-            if (orgOpt.isEmpty()) {
-                return ApiResponse.error("Organization not found");
+            if (!organizationService.hasAccess(organizationId, userEmail)) {
+                return ApiResponse.error("Access denied to this organization");
             }
-            Organization organization = orgOpt.get();
-            Optional<Url> urlOpt = urlRepository.findByOrganizationAndShortCodeAndActiveTrue(organization, shortCode);
-            if (urlOpt.isEmpty()) {
-                return ApiResponse.error("Short URL not found");
+
+            PageCursor cursor = PageCursor.decode(after);
+            Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+            Slice<UrlResponse> urls = cursor == null
+                    ? urlRepository.findOrganizationUrlResponsesFirst(organizationId, pageable)
+                    : urlRepository.findOrganizationUrlResponsesAfter(organizationId, cursor.getCreatedAt(), cursor.getId(), pageable);
+
+            return ApiResponse.success(toCursorPage(urls));
+
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to fetch URLs: " + e.getMessage());
+        }
+    }
+
+    // The body runs after this method returns, on the servlet container's async thread
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<StreamingResponseBody> exportUrlsByOrganization(Long organizationId, String format, String userEmail) {
+        try {
+            Optional<Organization> accessible = organizationService.findAccessibleOrganization(organizationId, userEmail);
+            if (accessible.isEmpty()) {
+                return ApiResponse.error("Access denied to this organization");
             }
-            Url url = urlOpt.get();
-            if (url.getExpiresAt() != null && url.getExpiresAt().isBefore(LocalDateTime.now())) {
-                return ApiResponse.error("Short URL has expired");
+
+            UrlExporter.Format exportFormat;
+            try {
+                exportFormat = UrlExporter.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ApiResponse.error("Unknown export format. Use csv or ndjson");
             }
-            url.setClickCount(url.getClickCount() + 1);
-            urlRepository.save(url);
-            return ApiResponse.success("Redirect URL found", url.getOriginalUrl());
+
+            String shortName = accessible.get().getShortName();
+            StreamingResponseBody body = out -> urlExporter.export(organizationId, shortName, exportFormat, out);
+
+            return ApiResponse.success(body);
+
         } catch (Exception e) {
-            return ApiResponse.error("Failed to process redirect: " + e.getMessage());
+            return ApiResponse.error("Failed to export URLs: " + e.getMessage());
         }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ApiResponse<Page<UrlResponse>> getUrlsByOrganization(Long organizationId, String userEmail, Pageable pageable) {
+    public ApiResponse<List<TrendingUrlResponse>> getTrendingUrls(Long organizationId, String userEmail, int limit) {
         try {
             if (!organizationService.hasAccess(organizationId, userEmail)) {
                 return ApiResponse.error("Access denied to this organization");
             }
 
-            Organization organization = organizationService.findOrganizationEntity(organizationId);
-            Page<Url> urls = urlRepository.findByOrganizationAndActiveTrue(organization, pageable);
-            Page<UrlResponse> response = urls.map(this::mapToResponse);
+            int size = Math.max(1, Math.min(limit, trendingTracker.getCapacity()));
+            List<TrendingTracker.Trend> trends = trendingTracker.top(organizationId, size);
+            if (trends.isEmpty()) {
+                return ApiResponse.success(new ArrayList<>());
+            }
+
+            // The ranking comes from memory; only display fields are loaded, by primary key
+            List<Long> ids = new ArrayList<>(trends.size());
+            for (TrendingTracker.Trend trend : trends) {
+                ids.add(trend.getUrlId());
+            }
+            Map<Long, Url> urls = new HashMap<>();
+            for (Url url : urlRepository.findAllById(ids)) {
+                urls.put(url.getId(), url);
+            }
 
+            List<TrendingUrlResponse> response = new ArrayList<>(trends.size());
+            for (TrendingTracker.Trend trend : trends) {
+                Url url = urls.get(trend.getUrlId());
+                if (url == null || !url.isActive() || !organizationId.equals(url.getOrganization().getId())) {
+                    continue;
+                }
+                String shortUrl = baseUrl + "/s/" + url.getOrganization().getShortName() + "/" + url.getShortCode();
+                response.add(new TrendingUrlResponse(url.getId(), url.getShortCode(), shortUrl,
+                        url.getTitle() != null ? url.getTitle() : "", trend.getScore()));
+            }
             return ApiResponse.success(response);
 
         } catch (Exception e) {
-            return ApiResponse.error("Failed to fetch URLs: " + e.getMessage());
+            return ApiResponse.error("Failed to fetch trending URLs: " + e.getMessage());
         }
     }
 
@@ -259,8 +537,8 @@ public class UrlServiceImpl implements UrlService {
             User user = userRepository.findByEmail(userEmail)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Page<Url> urls = urlRepository.findByCreatedByAndActiveTrue(user, pageable);
-            Page<UrlResponse> response = urls.map(this::mapToResponse);
+            Page<UrlResponse> response = urlRepository.findUserUrlResponses(user.getId(), pageable)
+                    .map(this::completeResponse);
 
             return ApiResponse.success(response);
 
@@ -269,9 +547,50 @@ public class UrlServiceImpl implements UrlService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<CursorPageResponse<UrlResponse>> getUserUrlsAfter(String userEmail, String after, int size) {
+        try {
+            User user = userRepository.findByEmail(userEmail)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            PageCursor cursor = PageCursor.decode(after);
+            Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+            Slice<UrlResponse> urls = cursor == null
+                    ? urlRepository.findUserUrlResponsesFirst(user.getId(), pageable)
+                    : urlRepository.findUserUrlResponsesAfter(user.getId(), cursor.getCreatedAt(), cursor.getId(), pageable);
+
+            return ApiResponse.success(toCursorPage(urls));
+
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to fetch user URLs: " + e.getMessage());
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ApiResponse<UrlResponse> getUrlDetails(Long urlId, String userEmail) {
+        try {
+            UrlResponse response = urlRepository.findUrlResponseById(urlId)
+                    .orElseThrow(() -> new RuntimeException("URL not found"));
+
+            // Check access permissions
+            if (!organizationService.hasAccess(response.getOrganizationId(), userEmail)) {
+                return ApiResponse.error("Access denied to this URL");
+            }
+
+            return ApiResponse.success(completeResponse(response));
+
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to fetch URL details: " + e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<UrlStatsResponse> getUrlStats(Long urlId, String userEmail, LocalDateTime from, LocalDateTime to, String granularity) {
         try {
             Url url = urlRepository.findByIdAndActiveTrue(urlId)
                     .orElseThrow(() -> new RuntimeException("URL not found"));
@@ -281,11 +600,52 @@ public class UrlServiceImpl implements UrlService {
                 return ApiResponse.error("Access denied to this URL");
             }
 
-            UrlResponse response = mapToResponse(url);
+            ClickRollup.Granularity bucketSize;
+            try {
+                bucketSize = ClickRollup.Granularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ApiResponse.error("Invalid granularity. Use minute, hour or day");
+            }
+
+            LocalDateTime end = to != null ? to : LocalDateTime.now();
+            LocalDateTime start = from != null ? from : end.minusDays(30);
+            if (start.isAfter(end)) {
+                return ApiResponse.error("'from' must not be after 'to'");
+            }
+            if (bucketSize.bucketsBetween(start, end) > MAX_STATS_BUCKETS) {
+                return ApiResponse.error("Requested range is too large for " + bucketSize.name().toLowerCase(Locale.ROOT) + " granularity");
+            }
+
+            // Only pre-aggregated buckets are read, never raw click events
+            LocalDateTime firstBucket = bucketSize.bucketOf(start);
+            LocalDateTime lastBucket = bucketSize.bucketOf(end);
+            Map<LocalDateTime, Long> counts = new HashMap<>();
+            for (ClickRollup rollup : clickRollupRepository.findBuckets(urlId, bucketSize, firstBucket, lastBucket)) {
+                counts.put(rollup.getBucketStart(), rollup.getClickCount());
+            }
+
+            // Fill empty buckets with zero so charts get a continuous series
+            List<UrlStatsResponse.Bucket> buckets = new ArrayList<>();
+            long total = 0;
+            for (LocalDateTime bucket = firstBucket; !bucket.isAfter(lastBucket); bucket = bucketSize.next(bucket)) {
+                long clicks = counts.getOrDefault(bucket, 0L);
+                total += clicks;
+                buckets.add(new UrlStatsResponse.Bucket(bucket, clicks));
+            }
+
+            // Daily visitor sketches merge into one estimate for the whole range
+            HyperLogLog visitors = new HyperLogLog();
+            for (byte[] registers : visitorSketchRepository.findDailyRegisters(
+                    VisitorSketch.Scope.URL, urlId, start.toLocalDate(), end.toLocalDate())) {
+                visitors.merge(HyperLogLog.fromBytes(registers));
+            }
+
+            UrlStatsResponse response = new UrlStatsResponse(urlId, bucketSize.name(), start, end, total,
+                    visitors.estimate(), buckets);
             return ApiResponse.success(response);
 
         } catch (Exception e) {
-            return ApiResponse.error("Failed to fetch URL details: " + e.getMessage());
+            return ApiResponse.error("Failed to fetch URL stats: " + e.getMessage());
         }
     }
 
@@ -302,6 +662,11 @@ public class UrlServiceImpl implements UrlService {
 
             // Hard delete - completely remove from database
             urlRepository.delete(url);
+            if (url.isActive()) {
+                organizationRepository.adjustActiveUrlCount(url.getOrganization().getId(), -1);
+            }
+            redirectCache.evict(url.getOrganization().getShortName(), url.getShortCode(),
+                    url.getOrganization().getId(), url.getOrganizationUrlId());
 
             return ApiResponse.success("URL deleted successfully", null);
 
@@ -313,14 +678,22 @@ public class UrlServiceImpl implements UrlService {
     @Override
     public ApiResponse<UrlResponse> updateUrl(Long urlId, CreateUrlRequest request, String userEmail) {
         try {
-            Url url = urlRepository.findByIdAndActiveTrue(urlId)
+            Url url = urlRepository.findById(urlId)
                     .orElseThrow(() -> new RuntimeException("URL not found"));
 
+            // Links the expiry sweeper deactivated can be brought back by moving expiresAt forward
+            boolean reactivating = !url.isActive();
+            if (reactivating && (url.getExpiresAt() == null || url.getExpiresAt().isAfter(LocalDateTime.now()))) {
+                throw new RuntimeException("URL not found");
+            }
+
             // Check access permissions
             if (!organizationService.hasAccess(url.getOrganization().getId(), userEmail)) {
                 return ApiResponse.error("Access denied to this URL");
             }
 
+            String previousShortCode = url.getShortCode();
+
             // Update originalUrl if provided (complete URL update)
             if (request.getOriginalUrl() != null && !request.getOriginalUrl().trim().isEmpty()) {
                 if (!isValidUrl(request.getOriginalUrl())) {
@@ -347,6 +720,10 @@ public class UrlServiceImpl implements UrlService {
                 return ApiResponse.error("Expiration date cannot be in the past");
             }
 
+            if (request.getTrackable() != null) {
+                url.setTrackable(request.getTrackable());
+            }
+
             // Handle custom short code update if provided
             if (request.getCustomShortCode() != null && !request.getCustomShortCode().trim().isEmpty()) {
                 String newShortCode = request.getCustomShortCode().trim();
@@ -363,10 +740,25 @@ public class UrlServiceImpl implements UrlService {
                 }
             }
 
+            if (reactivating) {
+                // Another active link may have taken the code while this one was expired
+                if (urlRepository.existsByOrganizationAndShortCodeAndActiveTrue(url.getOrganization(), url.getShortCode())) {
+                    return ApiResponse.error("Custom short code already exists in this organization");
+                }
+                url.setActive(true);
+            }
+
             // Note: Organization ID should not be updated after creation for security reasons
             // If needed, this would require additional validation and business logic
 
+            url.setUpdatedAt(LocalDateTime.now());
             Url savedUrl = urlRepository.save(url);
+            if (reactivating) {
+                organizationRepository.adjustActiveUrlCount(url.getOrganization().getId(), 1);
+            }
+            redirectCache.evict(url.getOrganization().getShortName(), previousShortCode,
+                    url.getOrganization().getId(), url.getOrganizationUrlId());
+            shortCodeFilter.add(savedUrl.getShortCode());
             UrlResponse response = mapToResponse(savedUrl);
 
             return ApiResponse.success("URL updated successfully", response);
@@ -376,45 +768,62 @@ public class UrlServiceImpl implements UrlService {
         }
     }
 
-    /**
-     * Get the next URL ID for a specific organization
-     * This ensures URL IDs are unique within the organization scope
-     * Uses a synchronized approach to prevent race conditions
-     */
-    private synchronized Long getNextUrlIdForOrganization(Long organizationId) {
-        // Get count of all URLs (active and inactive) for this organization and add 1
-        // This ensures we don't reuse IDs even if URLs are soft-deleted
-        Long count = urlRepository.countByOrganizationId(organizationId);
-        return count + 1;
+    private void insertBulkChunk(List<Integer> indexes, List<Url> urls, BulkCreateResponse.Item[] results) {
+        try {
+            List<Url> saved = urlBatchWriter.insertAll(urls);
+            for (int k = 0; k < saved.size(); k++) {
+                results[indexes.get(k)] = bulkSuccess(indexes.get(k), saved.get(k));
+            }
+        } catch (RuntimeException chunkFailure) {
+            // Typically a row that raced with another request; retry row by row
+            // so that only the offending items fail
+            for (int k = 0; k < urls.size(); k++) {
+                int i = indexes.get(k);
+                Url url = urls.get(k);
+                url.setId(null);
+                try {
+                    results[i] = bulkSuccess(i, urlBatchWriter.insert(url));
+                } catch (RuntimeException e) {
+                    results[i] = bulkFailure(i, "Failed to create short URL: " + e.getMessage());
+                }
+            }
+        }
     }
 
-    private String generateUniqueShortCode(Organization organization) {
-        String shortCode;
-        do {
-            shortCode = generateRandomString();
-        } while (urlRepository.existsByOrganizationAndShortCodeAndActiveTrue(organization, shortCode));
-        return shortCode;
+    private Set<String> findExisting(List<String> values, Function<List<String>, List<String>> query) {
+        Set<String> existing = new HashSet<>();
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        for (int from = 0; from < distinct.size(); from += BULK_LOOKUP_SIZE) {
+            existing.addAll(query.apply(distinct.subList(from, Math.min(from + BULK_LOOKUP_SIZE, distinct.size()))));
+        }
+        return existing;
     }
 
-    private String generateRandomString() {
-        StringBuilder sb = new StringBuilder(SHORT_CODE_LENGTH);
-        for (int i = 0; i < SHORT_CODE_LENGTH; i++) {
-            sb.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
-        }
-        return sb.toString();
+    private BulkCreateResponse.Item bulkSuccess(int index, Url url) {
+        String shortUrl = baseUrl + "/s/" + url.getOrganization().getShortName() + "/" + url.getShortCode();
+        return new BulkCreateResponse.Item(index, true, "Short URL created successfully", url.getId(), url.getShortCode(), shortUrl);
     }
 
-    private boolean isValidUrl(String url) {
-        return url != null &&
-                !url.trim().isEmpty() &&
-                (url.startsWith("http://") || url.startsWith("https://"));
+    private BulkCreateResponse.Item bulkFailure(int index, String message) {
+        return new BulkCreateResponse.Item(index, false, message, null, null, null);
     }
 
-    private boolean isValidShortCode(String shortCode) {
-        return shortCode != null &&
-                shortCode.matches("^[a-zA-Z0-9-]+$") &&
-                shortCode.length() >= 3 &&
-                shortCode.length() <= 20;
+    private CursorPageResponse<UrlResponse> toCursorPage(Slice<UrlResponse> urls) {
+        List<UrlResponse> content = urls.map(this::completeResponse).getContent();
+        String nextCursor = null;
+        if (urls.hasNext()) {
+            UrlResponse last = content.get(content.size() - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(content, content.size(), urls.hasNext(), nextCursor);
+    }
+
+    // Finishes a UrlResponse projected by UrlRepository: absolute short URL and unflushed clicks
+    private UrlResponse completeResponse(UrlResponse response) {
+        response.setShortUrl(baseUrl + response.getShortUrl());
+        long storedClicks = response.getClickCount() != null ? response.getClickCount() : 0;
+        response.setClickCount(storedClicks + clickCounter.pendingClicks(response.getId()));
+        return response;
     }
 
     private UrlResponse mapToResponse(Url url) {
@@ -427,10 +836,13 @@ public class UrlServiceImpl implements UrlService {
         response.setShortUrl(shortUrl);
         response.setTitle(url.getTitle() != null ? url.getTitle() : "");
         response.setDescription(url.getDescription() != null ? url.getDescription() : "");
-        response.setClickCount(url.getClickCount() != null ? url.getClickCount() : 0);
+        long storedClicks = url.getClickCount() != null ? url.getClickCount() : 0;
+        response.setClickCount(storedClicks + clickCounter.pendingClicks(url.getId()));
+        response.setUniqueVisitors(url.getUniqueVisitors());
         response.setCreatedAt(url.getCreatedAt());
         response.setExpiresAt(url.getExpiresAt());
         response.setActive(url.isActive());
+        response.setTrackable(url.isTrackable());
         response.setCreatedByEmail(url.getCreatedBy().getEmail());
         response.setCreatedByName(url.getCreatedBy().getFirstName() + " " + url.getCreatedBy().getLastName());
         response.setOrganizationName(url.getOrganization().getName());
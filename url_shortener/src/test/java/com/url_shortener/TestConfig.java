@@ -1,6 +1,7 @@
 package com.url_shortener;
 
 import com.url_shortener.config.AuthenticationFilter;
+import com.url_shortener.config.JwtTokenCache;
 import com.url_shortener.config.JwtTokenValidator;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -32,7 +33,7 @@ public class TestConfig {
                         .requestMatchers("/api/public/**").permitAll()
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().permitAll())
-                .addFilterBefore(new JwtTokenValidator(), BasicAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenValidator(new JwtTokenCache(1000, 60)), BasicAuthenticationFilter.class)
                 .addFilterAfter(new AuthenticationFilter(), JwtTokenValidator.class)
                 .csrf(csrf -> csrf.disable());
         return http.build();
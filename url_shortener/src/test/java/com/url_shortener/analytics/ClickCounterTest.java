@@ -0,0 +1,97 @@
+package com.url_shortener.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClickCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ClickScheduler clickScheduler;
+
+    private ClickCounter clickCounter;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        clickCounter = new ClickCounter(jdbcTemplate, transactionManager, clickScheduler, 2000, 1000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushWritesOneDeltaPerUrl() {
+        // Arrange
+        clickCounter.record(1L);
+        clickCounter.record(1L);
+        clickCounter.record(2L);
+
+        // Act
+        clickCounter.flush();
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        List<Object[]> batch = captor.getValue();
+        assertEquals(2, batch.size());
+        long total = batch.stream().mapToLong(args -> (Long) args[0]).sum();
+        assertEquals(3L, total);
+        assertEquals(0L, clickCounter.pendingClicks(1L));
+    }
+
+    @Test
+    void flushWithoutClicksDoesNotTouchDatabase() {
+        // Act
+        clickCounter.flush();
+
+        // Assert
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void failedFlushKeepsClicksPending() {
+        // Arrange
+        clickCounter.record(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db down"));
+
+        // Act
+        clickCounter.flush();
+
+        // Assert
+        assertEquals(1L, clickCounter.pendingClicks(1L));
+    }
+
+    @Test
+    void exceedingMaxPendingSchedulesEarlyFlush() {
+        // Arrange
+        ClickCounter small = new ClickCounter(jdbcTemplate, transactionManager, clickScheduler, 2000, 1);
+
+        // Act
+        small.record(1L);
+        small.record(2L);
+        small.record(3L);
+
+        // Assert
+        verify(clickScheduler, times(1)).runNow(any(Runnable.class));
+    }
+}
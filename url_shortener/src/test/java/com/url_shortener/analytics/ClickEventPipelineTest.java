@@ -0,0 +1,113 @@
+package com.url_shortener.analytics;
+
+import com.url_shortener.dto.ClickContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClickEventPipelineTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ClickRollupWriter clickRollupWriter;
+
+    @Mock
+    private VisitorSketchWriter visitorSketchWriter;
+
+    @Mock
+    private TrendingTracker trendingTracker;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ClickScheduler clickScheduler;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drainWritesBufferedEventsInBatches() {
+        // Arrange
+        ClickEventPipeline pipeline = new ClickEventPipeline(jdbcTemplate, clickRollupWriter, visitorSketchWriter, trendingTracker, transactionManager, clickScheduler, 1000, 64, 10, 1.0, 1);
+        for (int i = 0; i < 25; i++) {
+            pipeline.publish(event());
+        }
+
+        // Act
+        pipeline.drain();
+
+        // Assert
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(clickRollupWriter, times(3)).apply(anyList());
+        assertEquals(0, pipeline.getPending());
+    }
+
+    @Test
+    void fullBufferDropsInsteadOfBlocking() {
+        // Arrange
+        ClickEventPipeline pipeline = new ClickEventPipeline(jdbcTemplate, clickRollupWriter, visitorSketchWriter, trendingTracker, transactionManager, clickScheduler, 1000, 4, 100, 1.0, 1);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            pipeline.publish(event());
+        }
+
+        // Assert
+        assertEquals(4, pipeline.getPending());
+        assertEquals(6, pipeline.getDropped());
+    }
+
+    @Test
+    void sampledEventsCarryTheirWeight() {
+        // Arrange: sample from the first event on, keeping one in two
+        ClickEventPipeline pipeline = new ClickEventPipeline(jdbcTemplate, clickRollupWriter, visitorSketchWriter, trendingTracker, transactionManager, clickScheduler, 1000, 1024, 2048, 0.0, 2);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            pipeline.publish(event());
+        }
+
+        // Assert
+        assertEquals(1000, pipeline.getPending() + pipeline.getSampledOut());
+        assertTrue(pipeline.getSampledOut() > 0);
+    }
+
+    @Test
+    void clientAddressesAreTruncated() {
+        assertEquals("203.0.113.0/24", ClickEvent.ipPrefix("203.0.113.42"));
+        assertEquals("2001:db8:1::/48", ClickEvent.ipPrefix("2001:db8:1:2::7"));
+        assertNull(ClickEvent.ipPrefix("not-an-ip.example.com"));
+        // Hex-only host names must not be mistaken for literals and resolved
+        assertNull(ClickEvent.ipPrefix("cafe"));
+        assertNull(ClickEvent.ipPrefix("beef.dead"));
+        assertNull(ClickEvent.ipPrefix("1.2.3"));
+        assertNull(ClickEvent.ipPrefix("1::2::3"));
+        assertEquals("0:0:0::/48", ClickEvent.ipPrefix("::1"));
+        assertEquals("fe80:0:0::/48", ClickEvent.ipPrefix("fe80::1%eth0"));
+        assertEquals("198.51.100.0/24", ClickEvent.ipPrefix("::ffff:198.51.100.7"));
+    }
+
+    private static ClickEvent event() {
+        return ClickEvent.of(1L, 1L, new ClickContext("https://ref.example", "agent", "10.0.0.1"), LocalDateTime.now());
+    }
+}
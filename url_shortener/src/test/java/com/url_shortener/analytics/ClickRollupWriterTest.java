@@ -0,0 +1,61 @@
+package com.url_shortener.analytics;
+
+import com.url_shortener.repository.ClickRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClickRollupWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ClickRollupRepository clickRollupRepository;
+
+    @InjectMocks
+    private ClickRollupWriter clickRollupWriter;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eventsInSameBucketsAreFoldedTogether() {
+        // Arrange
+        LocalDateTime t = LocalDateTime.of(2024, 5, 1, 10, 30, 15);
+        List<ClickEvent> events = List.of(event(t), event(t.plusSeconds(10)), event(t.plusMinutes(1)).withWeight(4));
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), anyList())).thenAnswer(inv -> new int[((List<?>) inv.getArgument(1)).size()]);
+
+        // Act
+        clickRollupWriter.apply(events);
+
+        // Assert: two minute buckets, one hour bucket, one day bucket
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE"), updates.capture());
+        assertEquals(4, updates.getValue().size());
+        long dayTotal = updates.getValue().stream()
+                .filter(args -> "DAY".equals(args[2]))
+                .mapToLong(args -> (Long) args[0])
+                .sum();
+        assertEquals(6L, dayTotal);
+
+        // Nothing existed yet, so every bucket is inserted
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), inserts.capture());
+        assertEquals(4, inserts.getValue().size());
+    }
+
+    private static ClickEvent event(LocalDateTime at) {
+        return new ClickEvent(1L, 1L, at, null, null, null, null, 1);
+    }
+}
@@ -0,0 +1,140 @@
+package com.url_shortener.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimateIsWithinExpectedError() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+
+        // Act: every visitor is seen three times
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (int i = 0; i < 100_000; i++) {
+                sketch.add(Hashing.hash64("visitor-" + i));
+            }
+        }
+
+        // Assert: well within four standard errors
+        assertEquals(100_000, sketch.estimate(), 100_000 * 0.10);
+    }
+
+    @Test
+    void smallCardinalitiesAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 50; i++) {
+            sketch.add(Hashing.hash64("visitor-" + i));
+        }
+
+        assertEquals(50, sketch.estimate(), 2);
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void mergeMatchesSketchOfTheUnion() {
+        // Arrange: two days with overlapping visitors
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        HyperLogLog both = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            long hash = Hashing.hash64("visitor-" + i);
+            both.add(hash);
+            if (i < 12_000) {
+                monday.add(hash);
+            }
+            if (i >= 8_000) {
+                tuesday.add(hash);
+            }
+        }
+
+        // Act
+        monday.merge(tuesday);
+
+        // Assert
+        assertEquals(both.estimate(), monday.estimate());
+    }
+
+    @Test
+    void serializationRoundTrips() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add(Hashing.hash64("visitor-" + i));
+        }
+
+        // Act
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        // Assert
+        assertEquals(HyperLogLog.SERIALIZED_SIZE, bytes.length);
+        assertArrayEquals(bytes, restored.toBytes());
+        assertEquals(sketch.estimate(), restored.estimate());
+    }
+
+    @Test
+    void rejectsWrongSize() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[10]));
+    }
+
+    @Test
+    void smallSketchesStaySparseAndMatchDense() {
+        // Arrange
+        HyperLogLog sparse = new HyperLogLog();
+        HyperLogLog dense = HyperLogLog.fromBytes(new byte[HyperLogLog.SERIALIZED_SIZE]);
+        for (int i = 0; i < 100; i++) {
+            sparse.add(Hashing.hash64("visitor-" + i));
+            dense.add(Hashing.hash64("visitor-" + i));
+        }
+
+        // Act
+        byte[] bytes = sparse.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        // Assert
+        assertTrue(sparse.isSparse());
+        assertTrue(bytes.length < HyperLogLog.SERIALIZED_SIZE);
+        assertTrue(restored.isSparse());
+        assertEquals(dense.estimate(), sparse.estimate());
+        assertEquals(dense.estimate(), restored.estimate());
+    }
+
+    @Test
+    void sparseTurnsDenseWhenFull() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; sketch.isSparse(); i++) {
+            sketch.add(Hashing.hash64("visitor-" + i));
+        }
+
+        assertEquals(HyperLogLog.SERIALIZED_SIZE, sketch.toBytes().length);
+    }
+
+    @Test
+    void sparseAndDenseMerge() {
+        // Arrange
+        HyperLogLog small = new HyperLogLog();
+        HyperLogLog large = new HyperLogLog();
+        HyperLogLog both = new HyperLogLog();
+        for (int i = 0; i < 10_000; i++) {
+            long hash = Hashing.hash64("visitor-" + i);
+            both.add(hash);
+            if (i < 30) {
+                small.add(hash);
+            } else {
+                large.add(hash);
+            }
+        }
+        HyperLogLog smallCopy = HyperLogLog.fromBytes(small.toBytes());
+
+        // Act
+        small.merge(large);
+        large.merge(smallCopy);
+
+        // Assert
+        assertEquals(both.estimate(), small.estimate());
+        assertEquals(both.estimate(), large.estimate());
+    }
+}
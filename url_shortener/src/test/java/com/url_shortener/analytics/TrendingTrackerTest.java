@@ -0,0 +1,83 @@
+package com.url_shortener.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingTrackerTest {
+
+    @Test
+    void heavyHittersSurviveALongTail() {
+        // Arrange: two hot URLs among thousands of one-off clicks
+        TrendingTracker tracker = new TrendingTracker(20, 60);
+        List<ClickEvent> events = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long urlId = i % 5 == 0 ? 1L : i % 7 == 0 ? 2L : 1_000 + random.nextInt(100_000);
+            events.add(click(7L, urlId));
+        }
+
+        // Act
+        tracker.add(events);
+        List<TrendingTracker.Trend> top = tracker.top(7L, 2);
+
+        // Assert
+        assertEquals(2, top.size());
+        assertEquals(1L, top.get(0).getUrlId());
+        assertEquals(2L, top.get(1).getUrlId());
+        assertTrue(top.get(0).getScore() > 3_900);
+    }
+
+    @Test
+    void organizationsAreTrackedSeparately() {
+        TrendingTracker tracker = new TrendingTracker(10, 60);
+
+        tracker.add(List.of(click(1L, 10L), click(2L, 20L), click(2L, 20L)));
+
+        assertEquals(10L, tracker.top(1L, 5).get(0).getUrlId());
+        assertEquals(20L, tracker.top(2L, 5).get(0).getUrlId());
+        assertTrue(tracker.top(3L, 5).isEmpty());
+    }
+
+    @Test
+    void recentClicksOutweighOldOnes() {
+        // Arrange: one-minute half-life
+        DecayingSpaceSaving summary = new DecayingSpaceSaving(10, Math.log(2) / 60_000.0, 0);
+
+        // Act: URL 1 was hot ten minutes ago, URL 2 is warm now
+        for (int i = 0; i < 100; i++) {
+            summary.add(1L, 1, 0);
+        }
+        for (int i = 0; i < 10; i++) {
+            summary.add(2L, 1, 600_000);
+        }
+        List<DecayingSpaceSaving.Counter> top = summary.top(2, 600_000);
+
+        // Assert
+        assertEquals(2L, top.get(0).key);
+        assertEquals(10.0, top.get(0).count, 1e-9);
+        assertEquals(100.0 / 1024, top.get(1).count, 1e-9);
+    }
+
+    @Test
+    void renormalizationKeepsScores() {
+        // Arrange: landmark rescaling kicks in after about 43 half-lives
+        DecayingSpaceSaving summary = new DecayingSpaceSaving(10, Math.log(2) / 1_000.0, 0);
+
+        // Act
+        summary.add(1L, 1, 100_000);
+        summary.add(1L, 1, 100_000);
+
+        // Assert
+        assertEquals(2.0, summary.top(1, 100_000).get(0).count, 1e-9);
+    }
+
+    private static ClickEvent click(Long organizationId, Long urlId) {
+        return new ClickEvent(urlId, organizationId, LocalDateTime.now(), null, null, null, null, 1);
+    }
+}
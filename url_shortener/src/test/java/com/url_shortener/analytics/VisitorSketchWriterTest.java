@@ -0,0 +1,88 @@
+package com.url_shortener.analytics;
+
+import com.url_shortener.entity.VisitorSketch;
+import com.url_shortener.repository.VisitorSketchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: each flush chunk commits in its own transaction
+@SpringBootTest(properties = {
+        "app.visitors.flush-interval-ms=3600000",
+        "app.visitors.max-dirty-keys=12",
+        "app.visitors.flush-chunk-size=3"
+})
+@ActiveProfiles("test")
+class VisitorSketchWriterTest {
+
+    private static final LocalDateTime CLICKED_AT = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Autowired
+    private VisitorSketchWriter visitorSketchWriter;
+
+    @Autowired
+    private VisitorSketchRepository visitorSketchRepository;
+
+    @AfterEach
+    void tearDown() {
+        visitorSketchWriter.flush();
+        visitorSketchRepository.deleteAll();
+    }
+
+    @Test
+    void flushMergesAcrossChunksAndRepeatedFlushes() {
+        // Arrange: two URLs of one organization, 4 keys each plus 2 organization keys
+        visitorSketchWriter.add(clicks(List.of(901L, 902L), 0, 40));
+        visitorSketchWriter.flush();
+
+        // Act: overlapping visitors arrive after the first flush
+        visitorSketchWriter.add(clicks(List.of(901L, 902L), 20, 60));
+        visitorSketchWriter.flush();
+
+        // Assert
+        assertEquals(6, visitorSketchRepository.count());
+        assertEquals(60, estimate(VisitorSketch.Scope.URL, 901L), 3);
+        assertEquals(60, estimate(VisitorSketch.Scope.ORGANIZATION, 77L), 3);
+        assertEquals(0, visitorSketchWriter.pendingKeys());
+    }
+
+    @Test
+    void reachingMaxDirtyKeysFlushesEarly() {
+        List<Long> urlIds = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            urlIds.add(910 + id);
+        }
+
+        // 6 URLs x 2 keys + 2 organization keys passes the cap of 12
+        visitorSketchWriter.add(clicks(urlIds, 0, 5));
+
+        assertEquals(0, visitorSketchWriter.pendingKeys());
+        assertEquals(14, visitorSketchRepository.count());
+    }
+
+    private long estimate(VisitorSketch.Scope scope, Long scopeId) {
+        List<byte[]> registers = visitorSketchRepository.findDailyRegisters(scope, scopeId,
+                CLICKED_AT.toLocalDate(), CLICKED_AT.toLocalDate());
+        return HyperLogLog.fromBytes(registers.get(0)).estimate();
+    }
+
+    private static List<ClickEvent> clicks(List<Long> urlIds, int fromVisitor, int toVisitor) {
+        List<ClickEvent> events = new ArrayList<>();
+        for (Long urlId : urlIds) {
+            for (int visitor = fromVisitor; visitor < toVisitor; visitor++) {
+                events.add(new ClickEvent(urlId, 77L, CLICKED_AT, null, null, null,
+                        Hashing.hash64("visitor-" + visitor), 1));
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,43 @@
+package com.url_shortener.cache;
+
+import com.url_shortener.entity.UserOrganization;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessCacheTest {
+
+    @Test
+    void cachesGrantsAndDenials() {
+        AccessCache cache = new AccessCache(100, 60);
+        cache.put("a@example.com", 1L, UserOrganization.Role.ADMIN, cache.stamp());
+        cache.put("b@example.com", 1L, null, cache.stamp());
+
+        assertEquals(UserOrganization.Role.ADMIN, cache.get("a@example.com", 1L).getRole());
+        assertFalse(cache.get("b@example.com", 1L).isAllowed());
+        assertNull(cache.get("a@example.com", 2L));
+    }
+
+    @Test
+    void evictOrganizationDropsOnlyThatOrganization() {
+        AccessCache cache = new AccessCache(100, 60);
+        cache.put("a@example.com", 1L, UserOrganization.Role.MEMBER, cache.stamp());
+        cache.put("a@example.com", 2L, UserOrganization.Role.MEMBER, cache.stamp());
+
+        cache.evictOrganization(1L);
+
+        assertNull(cache.get("a@example.com", 1L));
+        assertNotNull(cache.get("a@example.com", 2L));
+    }
+
+    @Test
+    void decisionLoadedBeforeEvictionIsNotCached() {
+        AccessCache cache = new AccessCache(100, 60);
+        long stamp = cache.stamp();
+
+        cache.evictOrganization(1L);
+        cache.put("a@example.com", 1L, UserOrganization.Role.OWNER, stamp);
+
+        assertNull(cache.get("a@example.com", 1L));
+    }
+}
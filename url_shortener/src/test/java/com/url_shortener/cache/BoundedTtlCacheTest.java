@@ -0,0 +1,62 @@
+package com.url_shortener.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    void getReturnsCachedValue() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(100, 1, TimeUnit.MINUTES);
+        cache.put("a", "1");
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void expiredEntriesAreNotReturned() throws InterruptedException {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(100, 1, TimeUnit.MILLISECONDS);
+        cache.put("a", "1");
+
+        Thread.sleep(5);
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void sizeIsBounded() {
+        BoundedTtlCache<Integer, Integer> cache = new BoundedTtlCache<>(64, 1, TimeUnit.MINUTES);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, i);
+        }
+
+        assertTrue(cache.size() <= 64);
+    }
+
+    @Test
+    void putWithStaleStampIsDropped() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(100, 1, TimeUnit.MINUTES);
+        long stamp = cache.stamp();
+        cache.invalidate("a");
+
+        cache.put("a", "stale", stamp);
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void invalidateIfRemovesMatchingEntries() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(100, 1, TimeUnit.MINUTES);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.invalidateIf((k, v) -> v == 1);
+
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.get("b"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.url_shortener.cache;
+
+import com.url_shortener.entity.Organization;
+import com.url_shortener.entity.Url;
+import com.url_shortener.entity.User;
+import com.url_shortener.repository.OrganizationRepository;
+import com.url_shortener.repository.UrlRepository;
+import com.url_shortener.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the filter reads committed rows in its own transactions
+@SpringBootTest(properties = {
+        "app.short-code-filter.enabled=true",
+        "app.short-code-filter.sync-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class ShortCodeFilterTest {
+
+    @Autowired
+    private ShortCodeFilter shortCodeFilter;
+
+    @Autowired
+    private UrlRepository urlRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    private User user;
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("filter@example.com");
+        user.setFirstName("Filter");
+        user.setLastName("User");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        organization = new Organization();
+        organization.setName("Filter Org");
+        organization.setShortName("filterorg");
+        organization.setOwner(user);
+        organization = organizationRepository.save(organization);
+    }
+
+    @AfterEach
+    void tearDown() {
+        urlRepository.deleteAll(urlRepository.findAll());
+        organizationRepository.delete(organization);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void rebuildCoversActiveCodesOnly() {
+        urlRepository.save(url("flt-live", 1L, true));
+        urlRepository.save(url("flt-gone", 2L, false));
+
+        shortCodeFilter.rebuild();
+
+        assertTrue(shortCodeFilter.mightContain("flt-live"));
+        assertFalse(shortCodeFilter.mightContain("flt-gone"));
+        assertFalse(shortCodeFilter.mightContain("flt-never"));
+        assertTrue(shortCodeFilter.stats().isReady());
+    }
+
+    @Test
+    void syncPicksUpRowsWrittenByOtherNodes() {
+        shortCodeFilter.rebuild();
+        Url created = urlRepository.save(url("flt-new", 1L, true));
+        assertFalse(shortCodeFilter.mightContain("flt-new"));
+
+        shortCodeFilter.sync();
+        assertTrue(shortCodeFilter.mightContain("flt-new"));
+
+        created.setShortCode("flt-renamed");
+        created.setCreatedAt(LocalDateTime.now().minusDays(1));
+        created.setUpdatedAt(LocalDateTime.now());
+        urlRepository.save(created);
+
+        shortCodeFilter.sync();
+        assertTrue(shortCodeFilter.mightContain("flt-renamed"));
+    }
+
+    private Url url(String shortCode, Long organizationUrlId, boolean active) {
+        Url url = new Url();
+        url.setOriginalUrl("https://example.com/" + shortCode);
+        url.setShortCode(shortCode);
+        url.setOrganizationUrlId(organizationUrlId);
+        url.setActive(active);
+        url.setOrganization(organization);
+        url.setCreatedBy(user);
+        return url;
+    }
+}
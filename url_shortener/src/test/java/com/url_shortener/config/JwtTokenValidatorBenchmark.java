@@ -0,0 +1,51 @@
+package com.url_shortener.config;
+
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+
+/**
+ * Compares per-request authentication cost of a repeated token with and
+ * without the verified-token cache. Not part of the test suite; run its main
+ * method against the test classpath after {@code mvn test-compile}.
+ */
+public class JwtTokenValidatorBenchmark {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    public static void main(String[] args) throws Exception {
+        String jwt = JwtTokenValidatorTest.token(new Date(System.currentTimeMillis() + 3_600_000));
+
+        // A one-entry cache with zero TTL forces full verification on every call
+        JwtTokenValidator uncached = new JwtTokenValidator(new JwtTokenCache(1, 0));
+        JwtTokenValidator cached = new JwtTokenValidator(new JwtTokenCache(10_000, 300));
+
+        run(uncached, jwt, WARMUP);
+        run(cached, jwt, WARMUP);
+        double uncachedNanos = run(uncached, jwt, ITERATIONS);
+        double cachedNanos = run(cached, jwt, ITERATIONS);
+
+        System.out.printf("uncached: %8.0f ns/request%n", uncachedNanos);
+        System.out.printf("cached:   %8.0f ns/request%n", cachedNanos);
+        System.out.printf("speedup:  %8.1fx%n", uncachedNanos / cachedNanos);
+    }
+
+    private static double run(JwtTokenValidator validator, String jwt, int iterations) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JwtConstant.JWT_HEADER, "Bearer " + jwt);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            // OncePerRequestFilter marks the request as filtered, so clear the marker each time
+            request.removeAttribute(validator.getClass().getName() + ".FILTERED");
+            validator.doFilter(request, response, new MockFilterChain());
+            SecurityContextHolder.clearContext();
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+}
@@ -0,0 +1,87 @@
+package com.url_shortener.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenValidatorTest {
+
+    private final JwtTokenCache tokenCache = new JwtTokenCache(100, 60);
+    private final JwtTokenValidator validator = new JwtTokenValidator(tokenCache);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validToken_AuthenticatesAndIsCached() throws Exception {
+        String jwt = token(new Date(System.currentTimeMillis() + 60_000));
+
+        Authentication first = filter(jwt);
+        Authentication second = filter(jwt);
+
+        assertEquals("test@example.com", first.getName());
+        assertEquals("ROLE_USER", first.getAuthorities().iterator().next().getAuthority());
+        assertEquals(first, second);
+        assertEquals(1, tokenCache.size());
+    }
+
+    @Test
+    void cachedToken_GivesEachRequestItsOwnAuthentication() throws Exception {
+        String jwt = token(new Date(System.currentTimeMillis() + 60_000));
+
+        Authentication first = filter(jwt);
+        first.setAuthenticated(false);
+        Authentication second = filter(jwt);
+
+        assertNotSame(first, second);
+        assertTrue(second.isAuthenticated());
+    }
+
+    @Test
+    void tamperedToken_IsRejectedAndNotCached() {
+        String jwt = token(new Date(System.currentTimeMillis() + 60_000));
+        String tampered = jwt.substring(0, jwt.length() - 2) + (jwt.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(BadCredentialsException.class, () -> filter(tampered));
+        assertEquals(0, tokenCache.size());
+    }
+
+    @Test
+    void cachedToken_IsNotServedPastItsExpiry() throws Exception {
+        String jwt = token(new Date(System.currentTimeMillis() + 60_000));
+        filter(jwt);
+        tokenCache.put(jwt, tokenCache.get(jwt), System.currentTimeMillis() - 1);
+
+        assertNull(tokenCache.get(jwt));
+    }
+
+    private Authentication filter(String jwt) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JwtConstant.JWT_HEADER, "Bearer " + jwt);
+        validator.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    static String token(Date expiration) {
+        return Jwts.builder()
+                .setIssuedAt(new Date())
+                .setExpiration(expiration)
+                .claim("email", "test@example.com")
+                .claim("authorities", "ROLE_USER")
+                .signWith(Keys.hmacShaKeyFor(JwtConstant.SECRET_KEY.getBytes()))
+                .compact();
+    }
+}
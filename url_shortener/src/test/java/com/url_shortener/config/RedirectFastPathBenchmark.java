@@ -0,0 +1,122 @@
+package com.url_shortener.config;
+
+import com.url_shortener.TestUtils;
+import com.url_shortener.UrlShortenerApplication;
+import com.url_shortener.dto.CreateOrganizationRequest;
+import com.url_shortener.dto.CreateUrlRequest;
+import com.url_shortener.dto.SignUpRequest;
+import com.url_shortener.service.AuthService;
+import com.url_shortener.service.OrganizationService;
+import com.url_shortener.service.UrlService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares redirect latency and throughput over real HTTP with the fast-path
+ * filter enabled and disabled, each against its own embedded server on the
+ * H2 test profile. Not part of the test suite; run its main method against
+ * the test classpath after {@code mvn test-compile}.
+ */
+public class RedirectFastPathBenchmark {
+
+    private static final int WARMUP = 5_000;
+    private static final int REQUESTS = 20_000;
+    private static final int THREADS = 8;
+
+    public static void main(String[] args) throws Exception {
+        double[] viaSecurityChain = measure(false);
+        double[] fastPath = measure(true);
+
+        System.out.printf("security chain + MVC: %7.1f us/request, %8.0f requests/s%n", viaSecurityChain[0], viaSecurityChain[1]);
+        System.out.printf("fast path filter:     %7.1f us/request, %8.0f requests/s%n", fastPath[0], fastPath[1]);
+        System.exit(0);
+    }
+
+    private static double[] measure(boolean fastPathEnabled) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(UrlShortenerApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "app.redirect.fast-path.enabled=" + fastPathEnabled,
+                        "app.rate-limit.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.url_shortener=WARN",
+                        "logging.level.org.springframework.security=WARN")
+                .run()) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            URI uri = URI.create("http://localhost:" + port + seedRedirectPath(context, fastPathEnabled));
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+            for (int i = 0; i < WARMUP; i++) {
+                send(client, request);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                send(client, request);
+            }
+            double latencyMicros = (System.nanoTime() - start) / 1000.0 / REQUESTS;
+
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            List<Future<?>> futures = new ArrayList<>();
+            start = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < REQUESTS / THREADS; i++) {
+                        send(client, request);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double throughput = REQUESTS / ((System.nanoTime() - start) / 1e9);
+            executor.shutdown();
+
+            return new double[]{latencyMicros, throughput};
+        }
+    }
+
+    private static String seedRedirectPath(ConfigurableApplicationContext context, boolean fastPathEnabled) {
+        String email = "bench-" + fastPathEnabled + "@example.com";
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setFirstName("Bench");
+        signUp.setLastName("User");
+        signUp.setEmail(email);
+        signUp.setPassword("password123");
+        context.getBean(AuthService.class).signUp(signUp);
+
+        CreateOrganizationRequest organization = TestUtils.createOrganizationRequest();
+        organization.setName("Bench " + fastPathEnabled);
+        organization.setShortName("bench" + (fastPathEnabled ? "fast" : "chain"));
+        Long organizationId = context.getBean(OrganizationService.class)
+                .createOrganization(organization, email).getData().getId();
+
+        CreateUrlRequest url = TestUtils.createUrlRequest();
+        url.setOrganizationId(organizationId);
+        String shortUrl = context.getBean(UrlService.class).createShortUrl(url, email).getData().getShortUrl();
+        return shortUrl.substring(shortUrl.indexOf("/s/"));
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 301) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+    }
+}
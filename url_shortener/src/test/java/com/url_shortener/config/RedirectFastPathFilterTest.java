@@ -0,0 +1,110 @@
+package com.url_shortener.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.url_shortener.cache.RedirectTarget;
+import com.url_shortener.dto.ClickContext;
+import com.url_shortener.response.ApiResponse;
+import com.url_shortener.service.UrlService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedirectFastPathFilterTest {
+
+    @Mock
+    private UrlService urlService;
+
+    private RedirectFastPathFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RedirectFastPathFilter(urlService, new ObjectMapper(), new RedirectCachePolicy(3600));
+    }
+
+    @Test
+    void redirect_Success() throws Exception {
+        stubTarget(new RedirectTarget(1L, 1L, "https://example.com", null, false, null, null));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/s/acme/abc123"), response, chain);
+
+        assertEquals(301, response.getStatus());
+        assertEquals("https://example.com", response.getHeader("Location"));
+        assertEquals("max-age=3600, public", response.getHeader("Cache-Control"));
+        assertNotNull(response.getHeader("Expires"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void redirect_MaxAgeCappedAtExpiry() throws Exception {
+        stubTarget(new RedirectTarget(1L, 1L, "https://example.com", LocalDateTime.now().plusSeconds(600), false, null, null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/s/acme/abc123"), response, new MockFilterChain());
+
+        assertEquals(301, response.getStatus());
+        long maxAge = Long.parseLong(response.getHeader("Cache-Control").replaceAll("\\D", ""));
+        assertTrue(maxAge > 590 && maxAge <= 600, "max-age " + maxAge);
+    }
+
+    @Test
+    void redirect_TrackableIsUncacheable302() throws Exception {
+        stubTarget(new RedirectTarget(1L, 1L, "https://example.com", null, true, null, null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/s/acme/abc123"), response, new MockFilterChain());
+
+        assertEquals(302, response.getStatus());
+        assertEquals("https://example.com", response.getHeader("Location"));
+        assertEquals("no-store", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void redirect_NotFound() throws Exception {
+        when(urlService.resolveRedirect(eq("acme"), eq("missing"), any(ClickContext.class)))
+                .thenReturn(ApiResponse.error("Short URL not found"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/s/acme/missing"), response, new MockFilterChain());
+
+        assertEquals(404, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Short URL not found"));
+    }
+
+    @Test
+    void otherRequests_ContinueDownTheChain() throws Exception {
+        String[][] requests = {
+                {"GET", "/s/api/public/preview/abc123"},
+                {"POST", "/s/acme/abc123"},
+                {"GET", "/s/acme/"},
+                {"GET", "/s/acme%2Fx/abc"},
+                {"GET", "/api/urls/my-urls"}
+        };
+        for (String[] r : requests) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest(r[0], r[1]), new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest(), r[0] + " " + r[1]);
+        }
+        verify(urlService, never()).resolveRedirect(anyString(), anyString(), any());
+    }
+
+    private void stubTarget(RedirectTarget target) {
+        when(urlService.resolveRedirect(eq("acme"), eq("abc123"), any(ClickContext.class)))
+                .thenReturn(ApiResponse.success("Redirect URL found", target));
+    }
+}
@@ -4,8 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.url_shortener.TestConfig;
 import com.url_shortener.TestUtils;
 import com.url_shortener.dto.CreateUrlRequest;
+import com.url_shortener.ratelimit.RateLimiter;
 import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.BulkCreateResponse;
+import com.url_shortener.response.CursorPageResponse;
+import com.url_shortener.response.TrendingUrlResponse;
 import com.url_shortener.response.UrlResponse;
+import com.url_shortener.service.OrganizationService;
 import com.url_shortener.service.UrlService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,12 +29,19 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,6 +54,12 @@ class UrlControllerTest {
     @MockBean
     private UrlService urlService;
 
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @MockBean
+    private OrganizationService organizationService;
+
     @Autowired
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
@@ -76,6 +94,42 @@ class UrlControllerTest {
                 .andExpect(jsonPath("$.data.originalUrl").value("https://example.com/very-long-url"));
     }
 
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void createShortUrl_OrganizationRateLimited() throws Exception {
+        // Arrange
+        CreateUrlRequest request = TestUtils.createUrlRequest();
+        when(organizationService.hasAccess(1L, "test@example.com")).thenReturn(true);
+        when(rateLimiter.tryAcquire(RateLimiter.CREATE_ORGANIZATION, "1")).thenReturn(1_500_000_000L);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/urls")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.success").value(false));
+        verify(urlService, never()).createShortUrl(any(), anyString());
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void createShortUrl_NonMemberDoesNotSpendOrganizationLimit() throws Exception {
+        // Arrange
+        CreateUrlRequest request = TestUtils.createUrlRequest();
+        when(organizationService.hasAccess(1L, "test@example.com")).thenReturn(false);
+        when(urlService.createShortUrl(any(CreateUrlRequest.class), eq("test@example.com")))
+                .thenReturn(ApiResponse.error("Access denied to this organization"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/urls")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Access denied to this organization"));
+        verify(rateLimiter, never()).tryAcquire(eq(RateLimiter.CREATE_ORGANIZATION), anyString());
+    }
+
     @Test
     @WithMockUser(username = "test@example.com")
     void createShortUrl_ValidationError() throws Exception {
@@ -114,6 +168,41 @@ class UrlControllerTest {
                 .andExpect(jsonPath("$.data.content[0].originalUrl").value("https://example.com/very-long-url"));
     }
 
+    @Test
+    @WithMockUser(username = "test@example.com")
+    @SuppressWarnings("unchecked")
+    void bulkCreateShortUrls_NdjsonKeepsMalformedLinesAsItems() throws Exception {
+        // Arrange
+        BulkCreateResponse bulk = new BulkCreateResponse(2, 1, 1, List.of());
+        when(urlService.bulkCreateShortUrls(any(List.class), eq("test@example.com"))).thenReturn(ApiResponse.success(bulk));
+        String body = "{\"originalUrl\":\"https://example.com/a\",\"organizationId\":1}\n"
+                + "not json\n";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/urls/bulk")
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(1));
+        verify(urlService).bulkCreateShortUrls(argThat(items -> items.size() == 2 && items.get(1) == null), eq("test@example.com"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void getTrendingUrls_Success() throws Exception {
+        // Arrange
+        TrendingUrlResponse trending = new TrendingUrlResponse(1L, "abc123", "http://localhost:8080/s/testorg/abc123", "Test URL", 42.0);
+        when(urlService.getTrendingUrls(1L, "test@example.com", 5)).thenReturn(ApiResponse.success(List.of(trending)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/urls/organization/1/trending")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].shortCode").value("abc123"))
+                .andExpect(jsonPath("$.data[0].score").value(42.0));
+    }
+
     @Test
     @WithMockUser(username = "test@example.com")
     void getUserUrls_UserNotFound() throws Exception {
@@ -197,4 +286,81 @@ class UrlControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("URL not found"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void exportUrlsByOrganization_StreamsBody() throws Exception {
+        // Arrange
+        StreamingResponseBody body = out -> out.write("id,shortCode\r\n1,abc123\r\n".getBytes(StandardCharsets.UTF_8));
+        when(urlService.exportUrlsByOrganization(1L, "csv", "test@example.com")).thenReturn(ApiResponse.success(body));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/urls/organization/1/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"urls-1.csv\""))
+                .andExpect(content().string("id,shortCode\r\n1,abc123\r\n"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void exportUrlsByOrganization_AccessDenied() throws Exception {
+        // Arrange
+        when(urlService.exportUrlsByOrganization(1L, "ndjson", "test@example.com"))
+                .thenReturn(ApiResponse.error("Access denied to this organization"));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/urls/organization/1/export").param("format", "ndjson"))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Access denied to this organization"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void getUrlsByOrganization_AfterSelectsKeysetMode() throws Exception {
+        // Arrange
+        UrlResponse urlResponse = new UrlResponse();
+        urlResponse.setShortCode("abc123");
+        CursorPageResponse<UrlResponse> page = new CursorPageResponse<>(List.of(urlResponse), 1, true, "next-token");
+        when(urlService.getUrlsByOrganizationAfter(1L, "test@example.com", "", 1)).thenReturn(ApiResponse.success(page));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/urls/organization/1").param("after", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].shortCode").value("abc123"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-token"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void getUrlDetails_MatchingETagReturns304() throws Exception {
+        // Arrange
+        UrlResponse urlResponse = new UrlResponse();
+        urlResponse.setId(1L);
+        urlResponse.setClickCount(5L);
+        when(urlService.getUrlDetails(1L, "test@example.com")).thenReturn(ApiResponse.success(urlResponse));
+
+        String etag = mockMvc.perform(get("/api/urls/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/urls/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        urlResponse.setClickCount(6L);
+        mockMvc.perform(get("/api/urls/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.clickCount").value(6));
+    }
+}
@@ -0,0 +1,114 @@
+package com.url_shortener.expiry;
+
+import com.url_shortener.cache.RedirectCache;
+import com.url_shortener.cache.RedirectTarget;
+import com.url_shortener.entity.Organization;
+import com.url_shortener.entity.Url;
+import com.url_shortener.entity.User;
+import com.url_shortener.repository.OrganizationRepository;
+import com.url_shortener.repository.UrlRepository;
+import com.url_shortener.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the sweeper deactivates committed rows in its own transactions
+@SpringBootTest(properties = {
+        "app.expiry-sweeper.reload-interval-ms=3600000",
+        "app.expiry-sweeper.tick-ms=3600000"
+})
+@ActiveProfiles("test")
+class ExpirySweeperTest {
+
+    @Autowired
+    private ExpirySweeper expirySweeper;
+
+    @Autowired
+    private RedirectCache redirectCache;
+
+    @Autowired
+    private UrlRepository urlRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    private User user;
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("expiry@example.com");
+        user.setFirstName("Expiry");
+        user.setLastName("User");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        organization = new Organization();
+        organization.setName("Expiry Org");
+        organization.setShortName("expiryorg");
+        organization.setOwner(user);
+        organization = organizationRepository.save(organization);
+    }
+
+    @AfterEach
+    void tearDown() {
+        urlRepository.deleteAll(urlRepository.findAll());
+        organizationRepository.delete(organization);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void deactivatesDueLinksAndEvictsThem() {
+        Url expired = urlRepository.save(url("exp-past", 1L, LocalDateTime.now().minusMinutes(1)));
+        Url later = urlRepository.save(url("exp-later", 2L, LocalDateTime.now().plusHours(2)));
+        redirectCache.put("expiryorg", "exp-past", new RedirectTarget(expired.getId(), organization.getId(),
+                expired.getOriginalUrl(), expired.getExpiresAt(), false, null, null), redirectCache.stamp());
+        long activeCount = organizationRepository.findById(organization.getId()).orElseThrow().getActiveUrlCount();
+
+        expirySweeper.reload();
+        expirySweeper.reload();
+        assertEquals(1, expirySweeper.scheduledCount());
+
+        expirySweeper.tick();
+
+        assertFalse(urlRepository.findById(expired.getId()).orElseThrow().isActive());
+        assertTrue(urlRepository.findById(later.getId()).orElseThrow().isActive());
+        assertNull(redirectCache.get("expiryorg", "exp-past"));
+        assertEquals(activeCount - 1, organizationRepository.findById(organization.getId()).orElseThrow().getActiveUrlCount());
+        assertEquals(0, expirySweeper.scheduledCount());
+    }
+
+    @Test
+    void extendedExpiryIsNotDeactivated() {
+        Url url = urlRepository.save(url("exp-moved", 1L, LocalDateTime.now().minusSeconds(5)));
+        expirySweeper.reload();
+
+        url.setExpiresAt(LocalDateTime.now().plusDays(1));
+        urlRepository.save(url);
+        expirySweeper.tick();
+
+        assertTrue(urlRepository.findById(url.getId()).orElseThrow().isActive());
+    }
+
+    private Url url(String shortCode, Long organizationUrlId, LocalDateTime expiresAt) {
+        Url url = new Url();
+        url.setOriginalUrl("https://example.com/" + shortCode);
+        url.setShortCode(shortCode);
+        url.setOrganizationUrlId(organizationUrlId);
+        url.setExpiresAt(expiresAt);
+        url.setOrganization(organization);
+        url.setCreatedBy(user);
+        return url;
+    }
+}
@@ -0,0 +1,63 @@
+package com.url_shortener.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    // 10 ms ticks, 4 slots, 2 levels: level 0 covers 4 ticks, the whole wheel 16
+    private final TimingWheel<String> wheel = new TimingWheel<>(10, 4, 2, 0);
+
+    @Test
+    void firesAtDeadlineNotBefore() {
+        wheel.schedule("a", 25);
+
+        assertTrue(wheel.advance(19).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(20));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlinesFireOnNextAdvance() {
+        wheel.advance(100);
+        wheel.schedule("late", 30);
+
+        assertEquals(List.of("late"), wheel.advance(100));
+    }
+
+    @Test
+    void cascadesAcrossLevelsAndOverflow() {
+        long[] deadlines = {5, 37, 95, 160, 170, 900, 2500};
+        for (long deadline : deadlines) {
+            wheel.schedule("t" + deadline, deadline);
+        }
+        assertEquals(deadlines.length, wheel.size());
+
+        // Step tick by tick and check each item fires in the tick its deadline falls in
+        List<String> fired = new ArrayList<>();
+        for (long now = 0; now <= 2600; now += 10) {
+            for (String item : wheel.advance(now)) {
+                long deadline = Long.parseLong(item.substring(1));
+                assertEquals(deadline / 10, now / 10, item);
+                fired.add(item);
+            }
+        }
+
+        assertEquals(deadlines.length, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceOverLongGapFiresEverythingDue() {
+        wheel.schedule("a", 50);
+        wheel.schedule("b", 1000);
+        wheel.schedule("c", 5000);
+
+        assertEquals(List.of("a", "b"), wheel.advance(1200));
+        assertEquals(1, wheel.size());
+    }
+}
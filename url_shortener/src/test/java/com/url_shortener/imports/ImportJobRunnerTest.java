@@ -0,0 +1,169 @@
+package com.url_shortener.imports;
+
+import com.url_shortener.entity.ImportJob;
+import com.url_shortener.entity.Organization;
+import com.url_shortener.entity.User;
+import com.url_shortener.repository.ImportJobErrorRepository;
+import com.url_shortener.repository.ImportJobRepository;
+import com.url_shortener.repository.OrganizationRepository;
+import com.url_shortener.repository.UrlRepository;
+import com.url_shortener.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"app.imports.batch-size=2", "app.imports.recovery-interval-ms=3600000"})
+class ImportJobRunnerTest {
+
+    @Autowired
+    private ImportJobRunner importJobRunner;
+
+    @SpyBean
+    private ImportBatchWriter importBatchWriter;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Autowired
+    private UrlRepository urlRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void importsInBatchesAndResumesAfterCommittedRows() throws IOException {
+        // Arrange: five rows, one invalid and one duplicate; the first batch was
+        // committed by an instance that then crashed
+        User user = new User();
+        user.setEmail("importer@example.com");
+        user.setFirstName("Import");
+        user.setLastName("User");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        Organization organization = new Organization();
+        organization.setName("Import Org");
+        organization.setShortName("importorg");
+        organization.setOwner(user);
+        organization = organizationRepository.save(organization);
+
+        List<String> lines = new ArrayList<>();
+        lines.add("originalUrl,title");
+        lines.add("https://example.com/skipped-1,Already imported");
+        lines.add("https://example.com/skipped-2,Already imported");
+        lines.add("https://example.com/one,One");
+        lines.add("not-a-url,Broken");
+        lines.add("https://example.com/one,Duplicate");
+        Path file = Files.write(directory.resolve("links.csv"), lines);
+
+        ImportJob job = new ImportJob();
+        job.setOrganizationId(organization.getId());
+        job.setCreatedById(user.getId());
+        job.setFormat(ImportJob.Format.CSV);
+        job.setFilePath(file.toString());
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setProcessedRows(2);
+        job.setCreatedCount(2);
+        job.setOwner("crashed-instance");
+        job.setHeartbeatAt(LocalDateTime.now().minusHours(1));
+        job = importJobRepository.save(job);
+
+        // Act
+        importJobRunner.run(job.getId());
+
+        // Assert
+        ImportJob finished = importJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ImportJob.Status.COMPLETED, finished.getStatus());
+        assertEquals(5, finished.getProcessedRows());
+        assertEquals(3, finished.getCreatedCount());
+        assertEquals(2, finished.getFailedCount());
+        assertTrue(urlRepository.existsByOrganizationAndOriginalUrl(organization, "https://example.com/one"));
+        assertFalse(urlRepository.existsByOrganizationAndOriginalUrl(organization, "https://example.com/skipped-1"));
+        assertEquals(List.of(4L, 5L), importJobErrorRepository.findByJobIdOrderByRowNumber(job.getId(), PageRequest.of(0, 10))
+                .map(error -> error.getRowNumber()).getContent());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void batchThatFailsTwiceIsWrittenRowByRow() throws IOException {
+        // Arrange: any write containing the poisoned row fails, so the first
+        // batch fails twice and only that row should end up failed
+        doAnswer(invocation -> {
+            List<ImportRow> rows = invocation.getArgument(2);
+            if (rows.stream().anyMatch(row -> row.getRequest() != null && "Poison".equals(row.getRequest().getTitle()))) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return invocation.callRealMethod();
+        }).when(importBatchWriter).write(any(), any(), anyList());
+
+        User user = new User();
+        user.setEmail("row-by-row@example.com");
+        user.setFirstName("Row");
+        user.setLastName("User");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        Organization organization = new Organization();
+        organization.setName("Row Org");
+        organization.setShortName("roworg");
+        organization.setOwner(user);
+        organization = organizationRepository.save(organization);
+
+        Path file = Files.write(directory.resolve("poisoned.csv"), List.of(
+                "originalUrl,title",
+                "https://example.com/first,First",
+                "https://example.com/poison,Poison",
+                "https://example.com/third,Third"));
+
+        ImportJob job = new ImportJob();
+        job.setOrganizationId(organization.getId());
+        job.setCreatedById(user.getId());
+        job.setFormat(ImportJob.Format.CSV);
+        job.setFilePath(file.toString());
+        job.setStatus(ImportJob.Status.PENDING);
+        job = importJobRepository.save(job);
+
+        // Act
+        importJobRunner.run(job.getId());
+
+        // Assert
+        ImportJob finished = importJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ImportJob.Status.COMPLETED, finished.getStatus());
+        assertEquals(3, finished.getProcessedRows());
+        assertEquals(2, finished.getCreatedCount());
+        assertEquals(1, finished.getFailedCount());
+        assertTrue(urlRepository.existsByOrganizationAndOriginalUrl(organization, "https://example.com/first"));
+        assertFalse(urlRepository.existsByOrganizationAndOriginalUrl(organization, "https://example.com/poison"));
+        assertEquals(List.of(2L), importJobErrorRepository.findByJobIdOrderByRowNumber(job.getId(), PageRequest.of(0, 10))
+                .map(error -> error.getRowNumber()).getContent());
+        verify(importBatchWriter).fail(eq(job.getId()), any(), anyList(), startsWith("Failed to create short URL"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.url_shortener.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.url_shortener.entity.ImportJob;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportRowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void csvColumnsAreMatchedByHeader() throws IOException {
+        // Arrange
+        Path file = write("import.csv",
+                "title,originalUrl,expiresAt,extra",
+                "\"Sale, spring\",https://example.com/a,2099-01-01T00:00:00,x",
+                "",
+                "\"Say \"\"hi\"\"\",https://example.com/b,,");
+
+        // Act
+        try (ImportRowReader reader = new ImportRowReader(file, ImportJob.Format.CSV, objectMapper)) {
+            ImportRow first = reader.next();
+            ImportRow second = reader.next();
+
+            // Assert
+            assertEquals(1, first.getRowNumber());
+            assertEquals("https://example.com/a", first.getRequest().getOriginalUrl());
+            assertEquals("Sale, spring", first.getRequest().getTitle());
+            assertEquals(LocalDateTime.of(2099, 1, 1, 0, 0), first.getRequest().getExpiresAt());
+            assertEquals(2, second.getRowNumber());
+            assertEquals("Say \"hi\"", second.getRequest().getTitle());
+            assertNull(second.getRequest().getExpiresAt());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void badRowsCarryTheirError() throws IOException {
+        Path file = write("import.csv",
+                "originalUrl,expiresAt",
+                "https://example.com/a,tomorrow",
+                "\"https://example.com/b,");
+
+        try (ImportRowReader reader = new ImportRowReader(file, ImportJob.Format.CSV, objectMapper)) {
+            assertEquals("Invalid expiresAt, expected ISO date-time", reader.next().getError());
+            assertEquals("Unterminated quoted field", reader.next().getError());
+        }
+    }
+
+    @Test
+    void csvWithoutOriginalUrlColumnIsRejected() throws IOException {
+        Path file = write("import.csv", "url,title", "https://example.com/a,A");
+
+        assertThrows(IllegalArgumentException.class, () -> new ImportRowReader(file, ImportJob.Format.CSV, objectMapper));
+    }
+
+    @Test
+    void ndjsonResumesAfterSkippedRows() throws IOException {
+        // Arrange
+        Path file = write("import.ndjson",
+                "{\"originalUrl\":\"https://example.com/a\"}",
+                "{\"originalUrl\":\"https://example.com/b\"}",
+                "not json",
+                "{\"originalUrl\":\"https://example.com/c\"}");
+
+        // Act
+        try (ImportRowReader reader = new ImportRowReader(file, ImportJob.Format.NDJSON, objectMapper)) {
+            reader.skip(2);
+            ImportRow malformed = reader.next();
+            ImportRow last = reader.next();
+
+            // Assert
+            assertEquals(3, malformed.getRowNumber());
+            assertEquals("Malformed JSON", malformed.getError());
+            assertEquals(4, last.getRowNumber());
+            assertEquals("https://example.com/c", last.getRequest().getOriginalUrl());
+        }
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(directory.resolve(name), List.of(lines));
+    }
+}
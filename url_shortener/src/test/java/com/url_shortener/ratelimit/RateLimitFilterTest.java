@@ -0,0 +1,88 @@
+package com.url_shortener.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(RateLimiterTest.limiter(1, 1, 100), new ObjectMapper());
+
+    @Test
+    void limitedRedirect_Returns429WithRetryAfter() throws Exception {
+        assertNotNull(send("GET", "/s/acme/abc123").getRequest());
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(redirect("GET", "/s/acme/abc123"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Too many requests"));
+    }
+
+    @Test
+    void organizationLimitAppliesAcrossClients() throws Exception {
+        MockHttpServletRequest first = redirect("GET", "/s/acme/abc123");
+        first.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest second = redirect("GET", "/s/acme/other");
+        second.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(first, new MockHttpServletResponse(), resolving());
+        filter.doFilter(second, response, resolving());
+
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void unresolvedRedirects_DoNotSpendOrganizationLimit() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest probe = redirect("GET", "/s/acme/probe" + i);
+            probe.setRemoteAddr("10.0.0." + i);
+            filter.doFilter(probe, new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        MockHttpServletRequest visitor = redirect("GET", "/s/acme/abc123");
+        visitor.setRemoteAddr("10.0.1.1");
+        MockFilterChain chain = resolving();
+        filter.doFilter(visitor, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void otherRequests_AreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(send("GET", "/s/api/public/preview/abc123").getRequest());
+        }
+    }
+
+    private MockFilterChain send(String method, String path) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(redirect(method, path), new MockHttpServletResponse(), chain);
+        return chain;
+    }
+
+    // A chain whose handler answers with a redirect, as a resolved short link does
+    private static MockFilterChain resolving() {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setStatus(HttpServletResponse.SC_FOUND);
+            }
+        });
+    }
+
+    private static MockHttpServletRequest redirect(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
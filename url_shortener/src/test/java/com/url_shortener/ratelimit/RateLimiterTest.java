@@ -0,0 +1,83 @@
+package com.url_shortener.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void allowsBurstThenAsksToWait() {
+        RateLimiter limiter = limiter(1, 2, 100);
+
+        assertEquals(0, limiter.tryAcquire(RateLimiter.REDIRECT_IP, "10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire(RateLimiter.REDIRECT_IP, "10.0.0.1"));
+        long wait = limiter.tryAcquire(RateLimiter.REDIRECT_IP, "10.0.0.1");
+
+        assertTrue(wait > 0 && wait <= 1_000_000_000L, "wait " + wait);
+        assertEquals(1, RateLimiter.retryAfterSeconds(wait));
+        // Other keys and unconfigured routes are unaffected
+        assertEquals(0, limiter.tryAcquire(RateLimiter.REDIRECT_IP, "10.0.0.2"));
+        assertEquals(0, limiter.tryAcquire(RateLimiter.CREATE_IP, "10.0.0.1"));
+    }
+
+    @Test
+    void peekReportsTheWaitWithoutSpending() {
+        RateLimiter limiter = limiter(1, 1, 100);
+
+        assertEquals(0, limiter.peek(RateLimiter.REDIRECT_IP, "10.0.0.1"));
+        assertEquals(0, limiter.peek(RateLimiter.REDIRECT_IP, "10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire(RateLimiter.REDIRECT_IP, "10.0.0.1"));
+        assertTrue(limiter.peek(RateLimiter.REDIRECT_IP, "10.0.0.1") > 0);
+    }
+
+    @Test
+    void idleBucketsAreEvicted() throws InterruptedException {
+        RateLimiter limiter = limiter(1000, 1, 100);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(RateLimiter.REDIRECT_IP, "10.0.0." + i);
+        }
+        assertEquals(50, limiter.size(RateLimiter.REDIRECT_IP));
+
+        Thread.sleep(5);
+        limiter.evictIdle();
+
+        assertEquals(0, limiter.size(RateLimiter.REDIRECT_IP));
+    }
+
+    @Test
+    void keysBeyondMaxAreNotTracked() {
+        RateLimiter limiter = limiter(1, 1, 2);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire(RateLimiter.REDIRECT_IP, "10.0.0." + i));
+        }
+
+        assertEquals(2, limiter.size(RateLimiter.REDIRECT_IP));
+    }
+
+    @Test
+    void disabledLimiterAllowsEverything() {
+        RateLimitProperties properties = properties(1, 1, 100);
+        properties.setEnabled(false);
+        RateLimiter limiter = new RateLimiter(properties);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire(RateLimiter.REDIRECT_IP, "10.0.0.1"));
+        }
+    }
+
+    static RateLimiter limiter(double rate, int burst, int maxKeys) {
+        return new RateLimiter(properties(rate, burst, maxKeys));
+    }
+
+    private static RateLimitProperties properties(double rate, int burst, int maxKeys) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setRate(rate);
+        limit.setBurst(burst);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxKeys(maxKeys);
+        properties.getRoutes().put(RateLimiter.REDIRECT_IP, limit);
+        properties.getRoutes().put(RateLimiter.REDIRECT_ORGANIZATION, limit);
+        return properties;
+    }
+}
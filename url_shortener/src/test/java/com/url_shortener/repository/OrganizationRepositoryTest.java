@@ -1,7 +1,9 @@
 package com.url_shortener.repository;
 
 import com.url_shortener.entity.Organization;
+import com.url_shortener.entity.Url;
 import com.url_shortener.entity.User;
+import com.url_shortener.entity.UserOrganization;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -276,4 +278,39 @@ class OrganizationRepositoryTest {
         assertEquals("Updated Description", updatedOrg.getDescription());
         assertEquals(testUser, updatedOrg.getOwner());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void counters_AdjustAndReconcile() {
+        // Arrange: one membership and two URLs, one of them inactive
+        UserOrganization membership = new UserOrganization();
+        membership.setUser(testUser);
+        membership.setOrganization(testOrganization);
+        entityManager.persist(membership);
+        for (int i = 0; i < 2; i++) {
+            Url url = new Url();
+            url.setOriginalUrl("https://example.com/" + i);
+            url.setShortCode("count" + i);
+            url.setOrganizationUrlId((long) i + 1);
+            url.setActive(i == 0);
+            url.setCreatedBy(testUser);
+            url.setOrganization(testOrganization);
+            entityManager.persist(url);
+        }
+        entityManager.flush();
+
+        // Act
+        organizationRepository.adjustActiveUrlCount(testOrganization.getId(), 5);
+        entityManager.clear();
+        Organization adjusted = organizationRepository.findById(testOrganization.getId()).orElseThrow();
+        int reconciled = organizationRepository.reconcileCounts(1L, organizationRepository.findMaxId() + 1);
+        entityManager.clear();
+        Organization repaired = organizationRepository.findById(testOrganization.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(5L, adjusted.getActiveUrlCount());
+        assertEquals(0L, adjusted.getMemberCount());
+        assertEquals(1, reconciled);
+        assertEquals(1L, repaired.getActiveUrlCount());
+        assertEquals(1L, repaired.getMemberCount());
+    }
+}
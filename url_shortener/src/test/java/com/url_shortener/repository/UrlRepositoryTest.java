@@ -3,6 +3,7 @@ package com.url_shortener.repository;
 import com.url_shortener.entity.Organization;
 import com.url_shortener.entity.Url;
 import com.url_shortener.entity.User;
+import com.url_shortener.response.UrlResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,9 +12,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -292,4 +297,73 @@ class UrlRepositoryTest {
         // Assert
         assertEquals(2, count);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void findExistingOriginalUrlsAndShortCodes_ReturnOnlyMatches() {
+        // Arrange
+        entityManager.persistAndFlush(testUrl);
+
+        // Act
+        List<String> urls = urlRepository.findExistingOriginalUrls(testOrganization.getId(),
+                List.of("https://example.com/very-long-url", "https://example.com/new"));
+        List<String> codes = urlRepository.findExistingShortCodes(List.of("abc123", "zzz999"));
+
+        // Assert
+        assertEquals(List.of("https://example.com/very-long-url"), urls);
+        assertEquals(List.of("abc123"), codes);
+    }
+
+    @Test
+    void keysetPages_VisitEveryUrlOnceNewestFirst() {
+        // Arrange: five URLs, three of them sharing a timestamp so the id breaks ties
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Url url = new Url();
+            url.setOriginalUrl("https://example.com/" + i);
+            url.setShortCode("keyset" + i);
+            url.setOrganizationUrlId((long) i + 1);
+            url.setCreatedAt(i < 3 ? base : base.plusMinutes(i));
+            url.setCreatedBy(testUser);
+            url.setOrganization(testOrganization);
+            expected.add(entityManager.persistAndFlush(url).getId());
+        }
+        // Newest first: 4, 3, then the tied 2, 1, 0 by descending id
+        expected = List.of(expected.get(4), expected.get(3), expected.get(2), expected.get(1), expected.get(0));
+
+        // Act
+        List<Long> visited = new ArrayList<>();
+        Slice<UrlResponse> page = urlRepository.findOrganizationUrlResponsesFirst(testOrganization.getId(), PageRequest.of(0, 2));
+        page.forEach(url -> visited.add(url.getId()));
+        while (page.hasNext()) {
+            UrlResponse last = page.getContent().get(page.getNumberOfElements() - 1);
+            page = urlRepository.findOrganizationUrlResponsesAfter(testOrganization.getId(), last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+            page.forEach(url -> visited.add(url.getId()));
+        }
+
+        // Assert
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void findOrganizationUrlResponses_ProjectsCreatorAndOrganization() {
+        // Arrange
+        entityManager.persistAndFlush(testUrl);
+        entityManager.clear();
+
+        // Act
+        Page<UrlResponse> page = urlRepository.findOrganizationUrlResponses(testOrganization.getId(),
+                PageRequest.of(0, 10, Sort.by("createdAt").descending()));
+
+        // Assert
+        assertEquals(1, page.getTotalElements());
+        UrlResponse response = page.getContent().get(0);
+        assertEquals("abc123", response.getShortCode());
+        assertEquals("/s/testorg/abc123", response.getShortUrl());
+        assertEquals("John Doe", response.getCreatedByName());
+        assertEquals("test@example.com", response.getCreatedByEmail());
+        assertEquals("Test Organization", response.getOrganizationName());
+        assertEquals(testOrganization.getId(), response.getOrganizationId());
+        assertTrue(urlRepository.findUrlResponseById(response.getId()).isPresent());
+    }
+}
@@ -0,0 +1,85 @@
+package com.url_shortener.sequence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizationUrlIdAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrganizationUrlIdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        allocator = new OrganizationUrlIdAllocator(jdbcTemplate, transactionManager, 3);
+    }
+
+    @Test
+    void firstBlockContinuesAfterExistingUrls() {
+        // Arrange: no sequence row yet, organization already has 5 URLs
+        when(jdbcTemplate.update(startsWith("UPDATE"), eq(3), eq(1L))).thenReturn(0);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE"), eq(Long.class), eq(1L))).thenReturn(5L);
+
+        // Act & Assert: the whole block is served from memory
+        assertEquals(6, allocator.next(1L));
+        assertEquals(7, allocator.next(1L));
+        assertEquals(8, allocator.next(1L));
+        verify(jdbcTemplate).update(startsWith("INSERT"), eq(1L), eq(9L));
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void exhaustedBlockReservesTheNextOne() {
+        // Arrange: the row exists and another instance already took ids up to 20
+        when(jdbcTemplate.update(startsWith("UPDATE"), eq(3), eq(1L))).thenReturn(1);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT next_value"), eq(Long.class), eq(1L))).thenReturn(24L, 27L);
+
+        // Act
+        long[] ids = new long[4];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = allocator.next(1L);
+        }
+
+        // Assert
+        assertArrayEquals(new long[]{21, 22, 23, 24}, ids);
+    }
+
+    @Test
+    void concurrentSeedRetriesTheIncrement() {
+        // Arrange: another instance inserts the row between our update and insert
+        when(jdbcTemplate.update(startsWith("UPDATE"), eq(3), eq(2L))).thenReturn(0, 1);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE"), eq(Long.class), eq(2L))).thenReturn(0L);
+        when(jdbcTemplate.update(startsWith("INSERT"), eq(2L), eq(4L))).thenThrow(new DuplicateKeyException("duplicate"));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT next_value"), eq(Long.class), eq(2L))).thenReturn(7L);
+
+        // Act & Assert
+        assertEquals(4, allocator.next(2L));
+    }
+
+    @Test
+    void organizationsHaveIndependentBlocks() {
+        when(jdbcTemplate.update(startsWith("UPDATE"), eq(3), anyLong())).thenReturn(0);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE"), eq(Long.class), anyLong())).thenReturn(0L);
+
+        assertEquals(1, allocator.next(1L));
+        assertEquals(1, allocator.next(2L));
+        assertEquals(2, allocator.next(1L));
+    }
+}
@@ -0,0 +1,94 @@
+package com.url_shortener.sequence;
+
+import com.url_shortener.service.impl.UrlCreationSupport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShortCodeGeneratorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void consecutiveValuesGiveDistinctUnrelatedCodes() {
+        // Arrange
+        ShortCodeGenerator generator = generator("secret");
+        Set<String> codes = new HashSet<>();
+
+        // Act
+        for (long value = 0; value < 200_000; value++) {
+            codes.add(generator.encode(value));
+        }
+
+        // Assert
+        assertEquals(200_000, codes.size());
+        assertTrue(codes.stream().allMatch(code -> code.matches("_[a-zA-Z0-9]{6}")));
+        assertNotEquals(generator.encode(0).substring(1, 5), generator.encode(1).substring(1, 5));
+    }
+
+    @Test
+    void codesGrowToSevenCharactersPastTheFirstDomain() {
+        ShortCodeGenerator generator = generator("secret");
+
+        assertEquals(7, generator.encode((1L << 34) - 1).length());
+        assertEquals(8, generator.encode(1L << 34).length());
+        assertThrows(IllegalStateException.class, () -> generator.encode((1L << 34) + (1L << 40)));
+    }
+
+    @Test
+    void generatedCodesAreOutsideTheCustomCodeNamespace() {
+        ShortCodeGenerator generator = generator("secret");
+
+        for (long value = 0; value < 1000; value++) {
+            assertFalse(UrlCreationSupport.isValidShortCode(generator.encode(value)));
+        }
+        assertFalse(UrlCreationSupport.isValidShortCode(generator.encode(1L << 34)));
+    }
+
+    @Test
+    void permutationDependsOnSecret() {
+        assertNotEquals(generator("one").encode(42), generator("two").encode(42));
+        assertEquals(generator("one").encode(42), generator("one").encode(42));
+    }
+
+    @Test
+    void valuesComeFromReservedBlocks() {
+        // Arrange: the sequence row does not exist yet
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.update(startsWith("UPDATE"), eq(2), eq("short_code"))).thenReturn(0, 1);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT"), eq(Long.class), eq("short_code"))).thenReturn(4L);
+        ShortCodeGenerator generator = new ShortCodeGenerator(jdbcTemplate, transactionManager, 2, "secret");
+
+        // Act
+        String[] codes = {generator.nextCode(), generator.nextCode(), generator.nextCode()};
+
+        // Assert: values 0, 1 from the seeded block, then 2 from the next one
+        assertArrayEquals(new String[]{generator.encode(0), generator.encode(1), generator.encode(2)}, codes);
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    void missingSecretIsRejected() {
+        assertThrows(IllegalStateException.class, () -> generator(" "));
+    }
+
+    private ShortCodeGenerator generator(String secret) {
+        return new ShortCodeGenerator(jdbcTemplate, transactionManager, 1000, secret);
+    }
+}
@@ -0,0 +1,109 @@
+package com.url_shortener.sequence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShortCodePoolTest {
+
+    @Mock
+    private ShortCodeGenerator shortCodeGenerator;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Test
+    void disabledPoolDelegatesToGenerator() {
+        // Arrange
+        when(shortCodeGenerator.nextCode()).thenReturn("aaaaaa");
+        ShortCodePool pool = new ShortCodePool(shortCodeGenerator, jdbcTemplate, taskScheduler, false, 10, 2);
+
+        // Act & Assert
+        assertEquals("aaaaaa", pool.take());
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    void takesFromPoolAndRefillsBelowLowWater() {
+        // Arrange
+        AtomicInteger counter = new AtomicInteger();
+        when(shortCodeGenerator.nextCode()).thenAnswer(invocation -> "code" + counter.getAndIncrement());
+        ShortCodePool pool = new ShortCodePool(shortCodeGenerator, jdbcTemplate, taskScheduler, true, 4, 2);
+        pool.refill();
+
+        // Act
+        String first = pool.take();
+        String second = pool.take();
+        String third = pool.take();
+
+        // Assert: the third take drops the depth below two and schedules one refill
+        assertEquals(List.of("code0", "code1", "code2"), List.of(first, second, third));
+        assertEquals(1, pool.stats().getDepth());
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void emptyPoolFallsBackToGenerator() {
+        // Arrange
+        when(shortCodeGenerator.nextCode()).thenReturn("direct");
+        ShortCodePool pool = new ShortCodePool(shortCodeGenerator, jdbcTemplate, taskScheduler, true, 4, 2);
+
+        // Act & Assert
+        assertEquals("direct", pool.take());
+        assertEquals(1, pool.stats().getMisses());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void startReclaimsOnlyCodesItCouldDelete() {
+        // Arrange: another node claimed "b" first
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(4))).thenReturn(List.of("a", "b", "c"));
+        when(jdbcTemplate.update(anyString(), eq("a"))).thenReturn(1);
+        when(jdbcTemplate.update(anyString(), eq("b"))).thenReturn(0);
+        when(jdbcTemplate.update(anyString(), eq("c"))).thenReturn(1);
+        ShortCodePool pool = new ShortCodePool(shortCodeGenerator, jdbcTemplate, taskScheduler, true, 4, 2);
+
+        // Act
+        pool.start();
+
+        // Assert
+        assertEquals(2, pool.stats().getDepth());
+        assertEquals("a", pool.take());
+        assertEquals("c", pool.take());
+        verify(taskScheduler, atLeastOnce()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shutdownSavesUnusedCodes() {
+        // Arrange
+        AtomicInteger counter = new AtomicInteger();
+        when(shortCodeGenerator.nextCode()).thenAnswer(invocation -> "code" + counter.getAndIncrement());
+        ShortCodePool pool = new ShortCodePool(shortCodeGenerator, jdbcTemplate, taskScheduler, true, 3, 1);
+        pool.refill();
+
+        // Act
+        pool.shutdown();
+
+        // Assert
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), eq((Collection<String>) List.of("code0", "code1", "code2")),
+                eq(3), any(ParameterizedPreparedStatementSetter.class));
+    }
+}
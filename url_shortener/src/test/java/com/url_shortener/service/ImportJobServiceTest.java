@@ -0,0 +1,122 @@
+package com.url_shortener.service;
+
+import com.url_shortener.TestUtils;
+import com.url_shortener.entity.ImportJob;
+import com.url_shortener.entity.User;
+import com.url_shortener.imports.ImportJobRunner;
+import com.url_shortener.repository.ImportJobErrorRepository;
+import com.url_shortener.repository.ImportJobRepository;
+import com.url_shortener.repository.UserRepository;
+import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.ImportJobResponse;
+import com.url_shortener.service.impl.ImportJobServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OrganizationService organizationService;
+
+    @Mock
+    private ImportJobRunner importJobRunner;
+
+    @InjectMocks
+    private ImportJobServiceImpl importJobService;
+
+    @TempDir
+    Path importDirectory;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = TestUtils.createTestUser();
+        ReflectionTestUtils.setField(importJobService, "importDirectory", importDirectory.toString());
+    }
+
+    @Test
+    void startImport_StoresFileAndSubmitsJob() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "links.csv", "text/csv",
+                "originalUrl\nhttps://example.com/a\n".getBytes());
+        when(organizationService.hasAccess(1L, "test@example.com")).thenReturn(true);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(importJobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> {
+            ImportJob job = invocation.getArgument(0);
+            job.setId(9L);
+            return job;
+        });
+
+        // Act
+        ApiResponse<ImportJobResponse> response = importJobService.startImport(1L, file, null, "test@example.com");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals("CSV", response.getData().getFormat());
+        assertEquals("PENDING", response.getData().getStatus());
+        try (var stored = Files.list(importDirectory)) {
+            assertEquals(1, stored.count());
+        }
+        verify(importJobRunner).submit(9L);
+    }
+
+    @Test
+    void startImport_UnknownFormat() {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "links.xlsx", "application/octet-stream", new byte[]{1});
+        when(organizationService.hasAccess(1L, "test@example.com")).thenReturn(true);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+        // Act
+        ApiResponse<ImportJobResponse> response = importJobService.startImport(1L, file, null, "test@example.com");
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals("Unknown import format. Use csv or ndjson", response.getMessage());
+        verify(importJobRunner, never()).submit(anyLong());
+    }
+
+    @Test
+    void getImportJob_AccessDenied() {
+        // Arrange
+        ImportJob job = new ImportJob();
+        job.setId(9L);
+        job.setOrganizationId(2L);
+        when(importJobRepository.findById(9L)).thenReturn(Optional.of(job));
+        when(organizationService.hasAccess(2L, "test@example.com")).thenReturn(false);
+
+        // Act
+        ApiResponse<ImportJobResponse> response = importJobService.getImportJob(9L, "test@example.com");
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals("Access denied to this import job", response.getMessage());
+    }
+}
@@ -1,6 +1,9 @@
 package com.url_shortener.service;
 
 import com.url_shortener.TestUtils;
+import com.url_shortener.cache.AccessCache;
+import com.url_shortener.cache.AccessDecision;
+import com.url_shortener.cache.RedirectCache;
 import com.url_shortener.dto.CreateOrganizationRequest;
 import com.url_shortener.entity.Organization;
 import com.url_shortener.entity.User;
@@ -8,7 +11,6 @@ import com.url_shortener.entity.UserOrganization;
 import com.url_shortener.repository.OrganizationRepository;
 import com.url_shortener.repository.UserOrganizationRepository;
 import com.url_shortener.repository.UserRepository;
-import com.url_shortener.repository.UrlRepository;
 import com.url_shortener.response.ApiResponse;
 import com.url_shortener.response.OrganizationResponse;
 import com.url_shortener.service.impl.OrganizationServiceImpl;
@@ -29,6 +31,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,7 +47,10 @@ class OrganizationServiceTest {
     private UserOrganizationRepository userOrganizationRepository;
 
     @Mock
-    private UrlRepository urlRepository;
+    private RedirectCache redirectCache;
+
+    @Mock
+    private AccessCache accessCache;
 
     @InjectMocks
     private OrganizationServiceImpl organizationService;
@@ -73,7 +79,6 @@ class OrganizationServiceTest {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
         when(organizationRepository.save(any(Organization.class))).thenReturn(testOrganization);
         when(userOrganizationRepository.save(any(UserOrganization.class))).thenReturn(testUserOrganization);
-        when(urlRepository.countByOrganizationAndActiveTrue(any(Organization.class))).thenReturn(0L);
 
         // Act
         ApiResponse<OrganizationResponse> response = organizationService.createOrganization(createOrganizationRequest, "test@example.com");
@@ -82,6 +87,7 @@ class OrganizationServiceTest {
         assertTrue(response.isSuccess());
         assertNotNull(response.getData());
         assertEquals("Test Organization", response.getData().getName());
+        verify(organizationRepository).save(argThat(organization -> organization.getMemberCount() == 1L));
         verify(userRepository).findByEmail("test@example.com");
         verify(organizationRepository).save(any(Organization.class));
         verify(userOrganizationRepository).save(any(UserOrganization.class));
@@ -109,7 +115,6 @@ class OrganizationServiceTest {
         Page<Organization> orgPage = new PageImpl<>(Arrays.asList(testOrganization));
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
         when(organizationRepository.findUserOrganizations(any(User.class), any(Pageable.class))).thenReturn(orgPage);
-        when(urlRepository.countByOrganizationAndActiveTrue(any(Organization.class))).thenReturn(0L);
 
         // Act
         ApiResponse<Page<OrganizationResponse>> response = organizationService.getUserOrganizations("test@example.com", pageable);
@@ -142,7 +147,7 @@ class OrganizationServiceTest {
         // Arrange
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
         when(organizationRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.of(testOrganization));
-        when(userOrganizationRepository.existsByUserAndOrganizationAndActiveTrue(any(User.class), any(Organization.class))).thenReturn(true);
+        when(userOrganizationRepository.findByUserAndOrganizationAndActiveTrue(any(User.class), any(Organization.class))).thenReturn(Optional.of(testUserOrganization));
 
         // Act
         boolean hasAccess = organizationService.hasAccess(1L, "test@example.com");
@@ -158,7 +163,7 @@ class OrganizationServiceTest {
         // Arrange
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
         when(organizationRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.of(testOrganization));
-        when(userOrganizationRepository.existsByUserAndOrganizationAndActiveTrue(any(User.class), any(Organization.class))).thenReturn(false);
+        when(userOrganizationRepository.findByUserAndOrganizationAndActiveTrue(any(User.class), any(Organization.class))).thenReturn(Optional.empty());
 
         // Act
         boolean hasAccess = organizationService.hasAccess(1L, "test@example.com");
@@ -167,6 +172,50 @@ class OrganizationServiceTest {
         assertFalse(hasAccess);
         verify(userRepository).findByEmail("test@example.com");
         verify(organizationRepository).findByIdAndActiveTrue(1L);
+        // Denials are cached too
+        verify(accessCache).put(eq("test@example.com"), eq(1L), isNull(), anyLong());
+    }
+
+    @Test
+    void hasAccess_CachedDecision() {
+        // Arrange
+        when(accessCache.get("test@example.com", 1L)).thenReturn(new AccessDecision(1L, UserOrganization.Role.MEMBER));
+
+        // Act
+        Optional<UserOrganization.Role> role = organizationService.findRole(1L, "test@example.com");
+
+        // Assert
+        assertEquals(Optional.of(UserOrganization.Role.MEMBER), role);
+        verifyNoInteractions(userRepository, organizationRepository, userOrganizationRepository);
+    }
+
+    @Test
+    void findAccessibleOrganization_LoadsOrganizationOnce() {
+        // Arrange
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
+        when(organizationRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.of(testOrganization));
+        testOrganization.setOwner(testUser);
+
+        // Act
+        Optional<Organization> organization = organizationService.findAccessibleOrganization(1L, "test@example.com");
+
+        // Assert
+        assertEquals(Optional.of(testOrganization), organization);
+        verify(organizationRepository, times(1)).findByIdAndActiveTrue(1L);
+        verify(accessCache).put(eq("test@example.com"), eq(1L), eq(UserOrganization.Role.OWNER), anyLong());
+    }
+
+    @Test
+    void findAccessibleOrganization_CachedDenial() {
+        // Arrange
+        when(accessCache.get("test@example.com", 1L)).thenReturn(new AccessDecision(1L, null));
+
+        // Act
+        Optional<Organization> organization = organizationService.findAccessibleOrganization(1L, "test@example.com");
+
+        // Assert
+        assertTrue(organization.isEmpty());
+        verifyNoInteractions(userRepository, organizationRepository, userOrganizationRepository);
     }
 
     @Test
@@ -210,5 +259,6 @@ class OrganizationServiceTest {
         assertTrue(hasAccess);
         verify(userRepository).findByEmail("test@example.com");
         verify(organizationRepository).findByIdAndActiveTrue(1L);
+        verify(accessCache).put(eq("test@example.com"), eq(1L), eq(UserOrganization.Role.OWNER), anyLong());
     }
 } 
\ No newline at end of file
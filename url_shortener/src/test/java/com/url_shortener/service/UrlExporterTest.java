@@ -0,0 +1,113 @@
+package com.url_shortener.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.url_shortener.entity.Organization;
+import com.url_shortener.entity.Url;
+import com.url_shortener.entity.User;
+import com.url_shortener.repository.OrganizationRepository;
+import com.url_shortener.repository.UrlRepository;
+import com.url_shortener.repository.UserRepository;
+import com.url_shortener.service.impl.UrlExporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UrlExporterTest {
+
+    @Autowired
+    private UrlExporter urlExporter;
+
+    @Autowired
+    private UrlRepository urlRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("exporter@example.com");
+        user.setFirstName("Export");
+        user.setLastName("User");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        organization = new Organization();
+        organization.setName("Export Org");
+        organization.setShortName("exportorg");
+        organization.setOwner(user);
+        organization = organizationRepository.save(organization);
+
+        urlRepository.save(url("https://example.com/a", "exp-a", 1L, "Sale, \"spring\"", true, user));
+        urlRepository.save(url("https://example.com/b", "exp-b", 2L, null, true, user));
+        urlRepository.save(url("https://example.com/c", "exp-c", 3L, "Deleted", false, user));
+        urlRepository.flush();
+    }
+
+    @Test
+    void csvHasHeaderAndQuotesFields() throws Exception {
+        // Act
+        String csv = export(UrlExporter.Format.CSV);
+
+        // Assert
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,organizationUrlId,shortCode,shortUrl,originalUrl,title"));
+        assertTrue(lines[1].contains(",exp-a,http://localhost:8080/s/exportorg/exp-a,https://example.com/a,\"Sale, \"\"spring\"\"\","));
+        assertTrue(lines[2].endsWith(",exporter@example.com"));
+        assertFalse(csv.contains("exp-c"));
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        // Act
+        String ndjson = export(UrlExporter.Format.NDJSON);
+
+        // Assert
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("exp-a", first.get("shortCode").asText());
+        assertEquals("Sale, \"spring\"", first.get("title").asText());
+        assertEquals(0, first.get("clickCount").asLong());
+        assertTrue(objectMapper.readTree(lines[1]).get("title").isNull());
+    }
+
+    private String export(UrlExporter.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        urlExporter.export(organization.getId(), organization.getShortName(), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Url url(String originalUrl, String shortCode, Long organizationUrlId, String title, boolean active, User user) {
+        Url url = new Url();
+        url.setOriginalUrl(originalUrl);
+        url.setShortCode(shortCode);
+        url.setOrganizationUrlId(organizationUrlId);
+        url.setTitle(title);
+        url.setActive(active);
+        url.setOrganization(organization);
+        url.setCreatedBy(user);
+        return url;
+    }
+}
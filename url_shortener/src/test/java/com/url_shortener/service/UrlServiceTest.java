@@ -1,14 +1,38 @@
 package com.url_shortener.service;
 
 import com.url_shortener.TestUtils;
+import com.url_shortener.analytics.ClickCounter;
+import com.url_shortener.analytics.ClickEvent;
+import com.url_shortener.analytics.ClickEventPipeline;
+import com.url_shortener.analytics.TrendingTracker;
+import com.url_shortener.cache.RedirectCache;
+import com.url_shortener.cache.RedirectTarget;
+import com.url_shortener.cache.ShortCodeFilter;
 import com.url_shortener.dto.CreateUrlRequest;
+import com.url_shortener.dto.ForwardedClick;
+import com.url_shortener.dto.PageCursor;
+import com.url_shortener.entity.ClickRollup;
 import com.url_shortener.entity.Organization;
 import com.url_shortener.entity.Url;
 import com.url_shortener.entity.User;
+import com.url_shortener.ratelimit.RateLimiter;
+import com.url_shortener.repository.ClickRollupRepository;
+import com.url_shortener.repository.VisitorSketchRepository;
+import com.url_shortener.repository.OrganizationRepository;
 import com.url_shortener.repository.UrlRepository;
 import com.url_shortener.repository.UserRepository;
 import com.url_shortener.response.ApiResponse;
+import com.url_shortener.response.BulkCreateResponse;
+import com.url_shortener.response.CursorPageResponse;
+import com.url_shortener.response.TrendingUrlResponse;
+import com.url_shortener.response.UrlPreviewResponse;
 import com.url_shortener.response.UrlResponse;
+import com.url_shortener.response.UrlStatsResponse;
+import com.url_shortener.sequence.OrganizationUrlIdAllocator;
+import com.url_shortener.sequence.ShortCodePool;
+import com.url_shortener.service.impl.UrlBatchWriter;
+import com.url_shortener.service.impl.UrlCreationSupport;
+import com.url_shortener.service.impl.UrlExporter;
 import com.url_shortener.service.impl.UrlServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,13 +44,23 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,9 +72,51 @@ class UrlServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private OrganizationRepository organizationRepository;
+
     @Mock
     private OrganizationService organizationService;
 
+    @Mock
+    private RedirectCache redirectCache;
+
+    @Mock
+    private ShortCodeFilter shortCodeFilter;
+
+    @Mock
+    private ClickCounter clickCounter;
+
+    @Mock
+    private ClickEventPipeline clickEventPipeline;
+
+    @Mock
+    private ClickRollupRepository clickRollupRepository;
+
+    @Mock
+    private VisitorSketchRepository visitorSketchRepository;
+
+    @Mock
+    private TrendingTracker trendingTracker;
+
+    @Mock
+    private OrganizationUrlIdAllocator organizationUrlIdAllocator;
+
+    @Mock
+    private ShortCodePool shortCodePool;
+
+    @Mock
+    private UrlBatchWriter urlBatchWriter;
+
+    @Mock
+    private UrlCreationSupport urlCreationSupport;
+
+    @Mock
+    private UrlExporter urlExporter;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
     @InjectMocks
     private UrlServiceImpl urlService;
 
@@ -55,16 +131,18 @@ class UrlServiceTest {
         testOrganization = TestUtils.createTestOrganization();
         testUrl = TestUtils.createTestUrl();
         createUrlRequest = TestUtils.createUrlRequest();
+        ReflectionTestUtils.setField(urlService, "maxBulkItems", 100);
+        ReflectionTestUtils.setField(urlService, "maxForwardedClicks", 100);
+        ReflectionTestUtils.setField(urlService, "baseUrl", "http://localhost:8080");
     }
 
     @Test
     void createShortUrl_Success() {
         // Arrange
-        when(organizationService.hasAccess(any(), anyString())).thenReturn(true);
+        when(organizationService.findAccessibleOrganization(any(), anyString())).thenReturn(Optional.of(testOrganization));
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
-        when(organizationService.findOrganizationEntity(any())).thenReturn(testOrganization);
         when(urlRepository.existsByOrganizationAndOriginalUrl(any(), anyString())).thenReturn(false);
-        when(urlRepository.existsByOrganizationAndShortCodeAndActiveTrue(any(), anyString())).thenReturn(false);
+        when(shortCodePool.take()).thenReturn("Xk29Qa");
         when(urlRepository.save(any(Url.class))).thenReturn(testUrl);
 
         // Act
@@ -73,15 +151,18 @@ class UrlServiceTest {
         // Assert
         assertTrue(response.isSuccess());
         assertNotNull(response.getData());
-        verify(organizationService).hasAccess(1L, "test@example.com");
-        verify(organizationService).findOrganizationEntity(1L);
-        verify(urlRepository).save(any(Url.class));
+        verify(organizationService).findAccessibleOrganization(1L, "test@example.com");
+        verify(organizationUrlIdAllocator).next(1L);
+        verify(urlRepository, never()).existsByOrganizationAndShortCodeAndActiveTrue(any(), anyString());
+        verify(urlRepository).save(argThat(url -> "Xk29Qa".equals(url.getShortCode())));
+        verify(organizationRepository).adjustActiveUrlCount(1L, 1);
+        verify(shortCodeFilter).add("abc123");
     }
 
     @Test
     void createShortUrl_NoAccessToOrganization() {
         // Arrange
-        when(organizationService.hasAccess(any(), anyString())).thenReturn(false);
+        when(organizationService.findAccessibleOrganization(any(), anyString())).thenReturn(Optional.empty());
 
         // Act
         ApiResponse<UrlResponse> response = urlService.createShortUrl(createUrlRequest, "test@example.com");
@@ -89,7 +170,7 @@ class UrlServiceTest {
         // Assert
         assertFalse(response.isSuccess());
         assertTrue(response.getMessage().contains("Access denied"));
-        verify(organizationService).hasAccess(1L, "test@example.com");
+        verify(organizationService).findAccessibleOrganization(1L, "test@example.com");
         verify(urlRepository, never()).save(any(Url.class));
     }
 
@@ -97,9 +178,8 @@ class UrlServiceTest {
     void createShortUrl_InvalidUrl() {
         // Arrange
         createUrlRequest.setOriginalUrl("invalid-url");
-        when(organizationService.hasAccess(any(), anyString())).thenReturn(true);
+        when(organizationService.findAccessibleOrganization(any(), anyString())).thenReturn(Optional.of(testOrganization));
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
-        when(organizationService.findOrganizationEntity(any())).thenReturn(testOrganization);
 
         // Act
         ApiResponse<UrlResponse> response = urlService.createShortUrl(createUrlRequest, "test@example.com");
@@ -110,13 +190,31 @@ class UrlServiceTest {
         verify(urlRepository, never()).save(any(Url.class));
     }
 
+    @Test
+    void createShortUrl_PastExpiryAllocatesNothing() {
+        // Arrange
+        createUrlRequest.setExpiresAt(LocalDateTime.now().minusDays(1));
+        when(organizationService.findAccessibleOrganization(any(), anyString())).thenReturn(Optional.of(testOrganization));
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
+
+        // Act
+        ApiResponse<UrlResponse> response = urlService.createShortUrl(createUrlRequest, "test@example.com");
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertTrue(response.getMessage().contains("Expiration date cannot be in the past"));
+        verify(shortCodePool, never()).take();
+        verify(organizationUrlIdAllocator, never()).next(any());
+        verify(urlRepository, never()).save(any(Url.class));
+    }
+
     @Test
     void getUserUrls_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Url> urlPage = new PageImpl<>(Arrays.asList(testUrl));
+        Page<UrlResponse> urlPage = new PageImpl<>(Arrays.asList(projectedResponse(testUrl)));
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
-        when(urlRepository.findByCreatedByAndActiveTrue(any(User.class), any(Pageable.class))).thenReturn(urlPage);
+        when(urlRepository.findUserUrlResponses(any(), any(Pageable.class))).thenReturn(urlPage);
 
         // Act
         ApiResponse<Page<UrlResponse>> response = urlService.getUserUrls("test@example.com", pageable);
@@ -125,8 +223,9 @@ class UrlServiceTest {
         assertTrue(response.isSuccess());
         assertNotNull(response.getData());
         assertEquals(1, response.getData().getContent().size());
+        assertEquals("http://localhost:8080/s/testorg/abc123", response.getData().getContent().get(0).getShortUrl());
         verify(userRepository).findByEmail("test@example.com");
-        verify(urlRepository).findByCreatedByAndActiveTrue(testUser, pageable);
+        verify(urlRepository).findUserUrlResponses(testUser.getId(), pageable);
     }
 
     @Test
@@ -142,13 +241,13 @@ class UrlServiceTest {
         assertFalse(response.isSuccess());
         assertTrue(response.getMessage().contains("User not found"));
         verify(userRepository).findByEmail("test@example.com");
-        verify(urlRepository, never()).findByCreatedByAndActiveTrue(any(), any());
+        verify(urlRepository, never()).findUserUrlResponses(any(), any());
     }
 
     @Test
     void updateUrl_Success() {
         // Arrange
-        when(urlRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.of(testUrl));
+        when(urlRepository.findById(any())).thenReturn(Optional.of(testUrl));
         when(organizationService.hasAccess(any(), anyString())).thenReturn(true);
         when(urlRepository.save(any(Url.class))).thenReturn(testUrl);
 
@@ -158,7 +257,7 @@ class UrlServiceTest {
         // Assert
         assertTrue(response.isSuccess());
         assertNotNull(response.getData());
-        verify(urlRepository).findByIdAndActiveTrue(1L);
+        verify(urlRepository).findById(1L);
         verify(organizationService).hasAccess(1L, "test@example.com");
         verify(urlRepository).save(any(Url.class));
     }
@@ -166,7 +265,7 @@ class UrlServiceTest {
     @Test
     void updateUrl_UrlNotFound() {
         // Arrange
-        when(urlRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.empty());
+        when(urlRepository.findById(any())).thenReturn(Optional.empty());
 
         // Act
         ApiResponse<UrlResponse> response = urlService.updateUrl(1L, createUrlRequest, "test@example.com");
@@ -174,14 +273,14 @@ class UrlServiceTest {
         // Assert
         assertFalse(response.isSuccess());
         assertTrue(response.getMessage().contains("URL not found"));
-        verify(urlRepository).findByIdAndActiveTrue(1L);
+        verify(urlRepository).findById(1L);
         verify(urlRepository, never()).save(any(Url.class));
     }
 
     @Test
     void updateUrl_NoAccess() {
         // Arrange
-        when(urlRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.of(testUrl));
+        when(urlRepository.findById(any())).thenReturn(Optional.of(testUrl));
         when(organizationService.hasAccess(any(), anyString())).thenReturn(false);
 
         // Act
@@ -190,7 +289,7 @@ class UrlServiceTest {
         // Assert
         assertFalse(response.isSuccess());
         assertTrue(response.getMessage().contains("Access denied"));
-        verify(urlRepository).findByIdAndActiveTrue(1L);
+        verify(urlRepository).findById(1L);
         verify(organizationService).hasAccess(1L, "test@example.com");
         verify(urlRepository, never()).save(any(Url.class));
     }
@@ -210,6 +309,7 @@ class UrlServiceTest {
         verify(urlRepository).findById(1L);
         verify(organizationService).hasAccess(1L, "test@example.com");
         verify(urlRepository).delete(testUrl);
+        verify(organizationRepository).adjustActiveUrlCount(1L, -1);
     }
 
     @Test
@@ -228,33 +328,443 @@ class UrlServiceTest {
     }
 
     @Test
-    void redirectToOriginalUrl_Success() {
+    void recordForwardedClicks_FeedsCounterAndPipeline() {
+        // Arrange: one complete click, one without ids and one naming another organization
+        LocalDateTime clickedAt = LocalDateTime.now().minusSeconds(5);
+        List<ForwardedClick> clicks = List.of(
+                new ForwardedClick(1L, 2L, clickedAt, "https://referrer.example", "agent", "198.51.100.7"),
+                new ForwardedClick(null, null, clickedAt, null, null, null),
+                new ForwardedClick(3L, 2L, clickedAt, null, "agent", "198.51.100.8"));
+        when(urlRepository.findOrganizationIds(Set.of(1L, 3L))).thenReturn(List.of(new Object[]{1L, 2L}, new Object[]{3L, 9L}));
+
+        // Act
+        ApiResponse<Integer> response = urlService.recordForwardedClicks(clicks);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(1, response.getData());
+        verify(clickCounter).record(1L);
+        verify(clickCounter, never()).record(3L);
+        verify(clickEventPipeline).publish(argThat(event -> event.getUrlId() == 1L
+                && event.getOrganizationId() == 2L
+                && clickedAt.equals(event.getClickedAt())
+                && "198.51.100.0/24".equals(event.getIpPrefix())));
+    }
+
+    @Test
+    void previewUrl_CacheMissLoadsWithoutRecordingClick() {
         // Arrange
-        when(urlRepository.findByShortCodeAndActiveTrue(anyString())).thenReturn(Optional.of(testUrl));
-        when(urlRepository.save(any(Url.class))).thenReturn(testUrl);
+        testUrl.setTitle("Example");
+        when(shortCodeFilter.mightContain("abc123")).thenReturn(true);
+        when(redirectCache.stamp()).thenReturn(3L);
+        when(urlRepository.findByShortCodeAndActiveTrue("abc123")).thenReturn(Optional.of(testUrl));
+
+        // Act
+        ApiResponse<UrlPreviewResponse> response = urlService.previewUrl("abc123");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals("https://example.com/very-long-url", response.getData().getOriginalUrl());
+        assertEquals("Example", response.getData().getTitle());
+        verify(redirectCache).putPreview(eq("abc123"), any(RedirectTarget.class), eq(3L));
+        verifyNoInteractions(clickCounter, clickEventPipeline);
+    }
+
+    @Test
+    void previewUrlByOrgAndId_CacheHitSkipsLookups() {
+        // Arrange
+        RedirectTarget target = new RedirectTarget(1L, 1L, "https://example.com/very-long-url", null, false,
+                "Example", "An example link");
+        when(redirectCache.getPreview(1L, 5L)).thenReturn(target);
 
         // Act
-        ApiResponse<String> response = urlService.redirectToOriginalUrl("abc123");
+        ApiResponse<UrlPreviewResponse> response = urlService.previewUrlByOrgAndId(1L, 5L);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals("An example link", response.getData().getDescription());
+        verifyNoInteractions(urlRepository, clickCounter, clickEventPipeline);
+    }
+
+    @Test
+    void redirectByOrgShortName_CacheHitSkipsLookups() {
+        // Arrange
+        RedirectTarget target = new RedirectTarget(1L, 1L, "https://example.com/very-long-url", null, false, null, null);
+        when(redirectCache.get("testorg", "abc123")).thenReturn(target);
+
+        // Act
+        ApiResponse<String> response = urlService.redirectToOriginalUrlByOrgShortNameAndShortCode("testorg", "abc123", null);
 
         // Assert
         assertTrue(response.isSuccess());
         assertEquals("https://example.com/very-long-url", response.getData());
-        verify(urlRepository).findByShortCodeAndActiveTrue("abc123");
-        verify(urlRepository).save(any(Url.class));
+        verify(organizationService, never()).findByShortName(anyString());
+        verify(urlRepository, never()).findByOrganizationAndShortCodeAndActiveTrue(any(), anyString());
+        verify(clickEventPipeline).publish(any(ClickEvent.class));
     }
 
     @Test
-    void redirectToOriginalUrl_UrlNotFound() {
+    void redirectByOrgShortName_CacheMissPopulatesCache() {
         // Arrange
-        when(urlRepository.findByShortCodeAndActiveTrue(anyString())).thenReturn(Optional.empty());
+        when(shortCodeFilter.mightContain("abc123")).thenReturn(true);
+        when(redirectCache.stamp()).thenReturn(7L);
+        when(organizationService.findByShortName("testorg")).thenReturn(Optional.of(testOrganization));
+        when(urlRepository.findByOrganizationAndShortCodeAndActiveTrue(testOrganization, "abc123")).thenReturn(Optional.of(testUrl));
 
         // Act
-        ApiResponse<String> response = urlService.redirectToOriginalUrl("invalid");
+        ApiResponse<String> response = urlService.redirectToOriginalUrlByOrgShortNameAndShortCode("testorg", "abc123", null);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        verify(redirectCache).put(eq("testorg"), eq("abc123"), any(RedirectTarget.class), eq(7L));
+    }
+
+    @Test
+    void redirectByOrgShortName_FilterRejectsUnknownCode() {
+        // Arrange
+        when(shortCodeFilter.mightContain("nope42")).thenReturn(false);
+
+        // Act
+        ApiResponse<String> response = urlService.redirectToOriginalUrlByOrgShortNameAndShortCode("testorg", "nope42", null);
 
         // Assert
         assertFalse(response.isSuccess());
-        assertTrue(response.getMessage().contains("not found"));
-        verify(urlRepository).findByShortCodeAndActiveTrue("invalid");
+        assertEquals("Short URL not found", response.getMessage());
+        verify(organizationService, never()).findByShortName(anyString());
+        verify(urlRepository, never()).findByOrganizationAndShortCodeAndActiveTrue(any(), anyString());
+    }
+
+    @Test
+    void updateUrl_EvictsRedirectCache() {
+        // Arrange
+        when(urlRepository.findById(any())).thenReturn(Optional.of(testUrl));
+        when(organizationService.hasAccess(any(), anyString())).thenReturn(true);
+        when(urlRepository.save(any(Url.class))).thenReturn(testUrl);
+
+        // Act
+        urlService.updateUrl(1L, createUrlRequest, "test@example.com");
+
+        // Assert
+        verify(redirectCache).evict("testorg", "abc123", testOrganization.getId(), testUrl.getOrganizationUrlId());
+    }
+
+    @Test
+    void updateUrl_ExpiredLinkWithLaterExpiryIsReactivated() {
+        // Arrange
+        testUrl.setActive(false);
+        testUrl.setExpiresAt(LocalDateTime.now().minusDays(1));
+        createUrlRequest.setExpiresAt(LocalDateTime.now().plusDays(30));
+        when(urlRepository.findById(1L)).thenReturn(Optional.of(testUrl));
+        when(organizationService.hasAccess(any(), anyString())).thenReturn(true);
+        when(urlRepository.existsByOrganizationAndShortCodeAndActiveTrue(testUrl.getOrganization(), "abc123")).thenReturn(false);
+        when(urlRepository.save(any(Url.class))).thenReturn(testUrl);
+
+        // Act
+        ApiResponse<UrlResponse> response = urlService.updateUrl(1L, createUrlRequest, "test@example.com");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertTrue(testUrl.isActive());
+        verify(organizationRepository).adjustActiveUrlCount(testUrl.getOrganization().getId(), 1);
+        verify(shortCodeFilter).add("abc123");
+    }
+
+    @Test
+    void updateUrl_ExpiredLinkWithPastExpiryStaysInactive() {
+        // Arrange
+        testUrl.setActive(false);
+        testUrl.setExpiresAt(LocalDateTime.now().minusDays(1));
+        createUrlRequest.setExpiresAt(LocalDateTime.now().minusHours(1));
+        when(urlRepository.findById(1L)).thenReturn(Optional.of(testUrl));
+        when(organizationService.hasAccess(any(), anyString())).thenReturn(true);
+
+        // Act
+        ApiResponse<UrlResponse> response = urlService.updateUrl(1L, createUrlRequest, "test@example.com");
+
+        // Assert
+        assertEquals("Expiration date cannot be in the past", response.getMessage());
         verify(urlRepository, never()).save(any(Url.class));
+        verify(organizationRepository, never()).adjustActiveUrlCount(any(), anyLong());
+    }
+
+    @Test
+    void getUrlStats_FillsEmptyBuckets() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 3, 12, 0);
+        ClickRollup rollup = new ClickRollup(1L, 1L, ClickRollup.Granularity.DAY, LocalDateTime.of(2024, 1, 2, 0, 0), 5L);
+        when(urlRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(testUrl));
+        when(organizationService.hasAccess(any(), anyString())).thenReturn(true);
+        when(clickRollupRepository.findBuckets(eq(1L), eq(ClickRollup.Granularity.DAY), any(), any())).thenReturn(List.of(rollup));
+
+        // Act
+        ApiResponse<UrlStatsResponse> response = urlService.getUrlStats(1L, "test@example.com", from, to, "day");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(3, response.getData().getBuckets().size());
+        assertEquals(5L, response.getData().getTotalClicks());
+        assertEquals(0L, response.getData().getBuckets().get(0).getClicks());
+    }
+
+    @Test
+    void getUrlStats_GranularityDoesNotDependOnDefaultLocale() {
+        // Arrange: in Turkish, "minute".toUpperCase() turns the i into a dotted capital I
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 1, 0, 2);
+        when(urlRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(testUrl));
+        when(organizationService.hasAccess(any(), anyString())).thenReturn(true);
+        when(clickRollupRepository.findBuckets(eq(1L), eq(ClickRollup.Granularity.MINUTE), any(), any())).thenReturn(List.of());
+
+        try {
+            // Act
+            ApiResponse<UrlStatsResponse> response = urlService.getUrlStats(1L, "test@example.com", from, to, "minute");
+
+            // Assert
+            assertTrue(response.isSuccess());
+            assertEquals(3, response.getData().getBuckets().size());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void getUrlStats_RejectsUnknownGranularity() {
+        // Arrange
+        when(urlRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(testUrl));
+        when(organizationService.hasAccess(any(), anyString())).thenReturn(true);
+
+        // Act
+        ApiResponse<UrlStatsResponse> response = urlService.getUrlStats(1L, "test@example.com", null, null, "week");
+
+        // Assert
+        assertFalse(response.isSuccess());
+        verify(clickRollupRepository, never()).findBuckets(any(), any(), any(), any());
+    }
+
+    @Test
+    void getTrendingUrls_RanksFromTrackerAndSkipsInactive() {
+        // Arrange
+        Url inactive = TestUtils.createTestUrl();
+        inactive.setId(2L);
+        inactive.setActive(false);
+        when(organizationService.hasAccess(1L, "test@example.com")).thenReturn(true);
+        when(trendingTracker.getCapacity()).thenReturn(200);
+        when(trendingTracker.top(1L, 5)).thenReturn(List.of(
+                new TrendingTracker.Trend(2L, 40.0, 0.0),
+                new TrendingTracker.Trend(1L, 12.5, 0.0)));
+        when(urlRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testUrl, inactive));
+
+        // Act
+        ApiResponse<List<TrendingUrlResponse>> response = urlService.getTrendingUrls(1L, "test@example.com", 5);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(1, response.getData().size());
+        assertEquals("abc123", response.getData().get(0).getShortCode());
+        assertEquals(12.5, response.getData().get(0).getScore());
+    }
+
+    @Test
+    void getTrendingUrls_AccessDenied() {
+        // Arrange
+        when(organizationService.hasAccess(1L, "test@example.com")).thenReturn(false);
+
+        // Act
+        ApiResponse<List<TrendingUrlResponse>> response = urlService.getTrendingUrls(1L, "test@example.com", 5);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        verify(trendingTracker, never()).top(any(), anyInt());
+    }
+
+    @Test
+    void getUrlsByOrganizationAfter_ReturnsNextCursor() {
+        // Arrange
+        testUrl.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        when(organizationService.hasAccess(1L, "test@example.com")).thenReturn(true);
+        when(urlRepository.findOrganizationUrlResponsesAfter(1L, LocalDateTime.of(2025, 2, 1, 0, 0), 9L, PageRequest.of(0, 1)))
+                .thenReturn(new SliceImpl<>(List.of(projectedResponse(testUrl)), PageRequest.of(0, 1), true));
+        String after = new PageCursor(LocalDateTime.of(2025, 2, 1, 0, 0), 9L).encode();
+
+        // Act
+        ApiResponse<CursorPageResponse<UrlResponse>> response =
+                urlService.getUrlsByOrganizationAfter(1L, "test@example.com", after, 1);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(1, response.getData().getContent().size());
+        assertTrue(response.getData().isHasNext());
+        PageCursor next = PageCursor.decode(response.getData().getNextCursor());
+        assertEquals(testUrl.getCreatedAt(), next.getCreatedAt());
+        assertEquals(testUrl.getId(), next.getId());
+    }
+
+    @Test
+    void getUrlsByOrganizationAfter_InvalidCursor() {
+        // Arrange
+        when(organizationService.hasAccess(1L, "test@example.com")).thenReturn(true);
+
+        // Act
+        ApiResponse<CursorPageResponse<UrlResponse>> response =
+                urlService.getUrlsByOrganizationAfter(1L, "test@example.com", "not-a-cursor", 10);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals("Invalid cursor", response.getMessage());
+    }
+
+    @Test
+    void exportUrlsByOrganization_StreamsThroughExporter() throws Exception {
+        // Arrange
+        when(organizationService.findAccessibleOrganization(1L, "test@example.com")).thenReturn(Optional.of(testOrganization));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        ApiResponse<StreamingResponseBody> response = urlService.exportUrlsByOrganization(1L, "NDJSON", "test@example.com");
+        response.getData().writeTo(out);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        verify(urlExporter).export(1L, testOrganization.getShortName(), UrlExporter.Format.NDJSON, out);
+    }
+
+    @Test
+    void exportUrlsByOrganization_UnknownFormat() {
+        // Arrange
+        when(organizationService.findAccessibleOrganization(1L, "test@example.com")).thenReturn(Optional.of(testOrganization));
+
+        // Act
+        ApiResponse<StreamingResponseBody> response = urlService.exportUrlsByOrganization(1L, "xlsx", "test@example.com");
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals("Unknown export format. Use csv or ndjson", response.getMessage());
+        verifyNoInteractions(urlExporter);
+    }
+
+    @Test
+    void bulkCreateShortUrls_ReportsEachItem() {
+        // Arrange: one new URL, one already shortened, one invalid
+        CreateUrlRequest fresh = TestUtils.createUrlRequest();
+        fresh.setOriginalUrl("https://example.com/new");
+        CreateUrlRequest existing = TestUtils.createUrlRequest();
+        CreateUrlRequest invalid = TestUtils.createUrlRequest();
+        invalid.setOriginalUrl("ftp://example.com/file");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(organizationService.findAccessibleOrganization(1L, "test@example.com")).thenReturn(Optional.of(testOrganization));
+        when(urlRepository.findExistingOriginalUrls(eq(1L), anyList())).thenReturn(List.of(existing.getOriginalUrl()));
+        when(urlCreationSupport.validate(any())).thenAnswer(invocation -> invocation.getArgument(0) == invalid ? "Invalid URL format" : null);
+        when(shortCodePool.take()).thenReturn("Xk29Qa");
+        when(organizationUrlIdAllocator.next(1L)).thenReturn(7L);
+        when(urlBatchWriter.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Url> urls = invocation.getArgument(0);
+            urls.forEach(url -> url.setId(42L));
+            return urls;
+        });
+
+        // Act
+        ApiResponse<BulkCreateResponse> response = urlService.bulkCreateShortUrls(List.of(fresh, existing, invalid), "test@example.com");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        BulkCreateResponse result = response.getData();
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals("Xk29Qa", result.getResults().get(0).getShortCode());
+        assertFalse(result.getResults().get(1).isSuccess());
+        assertEquals("Invalid URL format", result.getResults().get(2).getMessage());
+        verify(organizationService, times(1)).findAccessibleOrganization(1L, "test@example.com");
+        verify(urlRepository, never()).existsByOrganizationAndOriginalUrl(any(), anyString());
+    }
+
+    @Test
+    void bulkCreateShortUrls_DuplicateCustomCodesInBatchFail() {
+        // Arrange
+        CreateUrlRequest first = TestUtils.createUrlRequest();
+        first.setCustomShortCode("spring-sale");
+        CreateUrlRequest second = TestUtils.createUrlRequest();
+        second.setOriginalUrl("https://example.com/other");
+        second.setCustomShortCode("spring-sale");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(organizationService.findAccessibleOrganization(1L, "test@example.com")).thenReturn(Optional.of(testOrganization));
+        when(urlRepository.findExistingOriginalUrls(eq(1L), anyList())).thenReturn(List.of());
+        when(urlRepository.findExistingShortCodes(List.of("spring-sale"))).thenReturn(List.of());
+        when(urlBatchWriter.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ApiResponse<BulkCreateResponse> response = urlService.bulkCreateShortUrls(List.of(first, second), "test@example.com");
+
+        // Assert
+        assertTrue(response.getData().getResults().get(0).isSuccess());
+        assertEquals("Custom short code already exists", response.getData().getResults().get(1).getMessage());
+    }
+
+    @Test
+    void bulkCreateShortUrls_FailedChunkFallsBackToSingleRows() {
+        // Arrange
+        CreateUrlRequest first = TestUtils.createUrlRequest();
+        CreateUrlRequest second = TestUtils.createUrlRequest();
+        second.setOriginalUrl("https://example.com/other");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(organizationService.findAccessibleOrganization(1L, "test@example.com")).thenReturn(Optional.of(testOrganization));
+        when(urlRepository.findExistingOriginalUrls(eq(1L), anyList())).thenReturn(List.of());
+        when(shortCodePool.take()).thenReturn("aaaaaa", "bbbbbb");
+        when(urlBatchWriter.insertAll(anyList())).thenThrow(new RuntimeException("duplicate key"));
+        when(urlBatchWriter.insert(any(Url.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new RuntimeException("duplicate key"));
+
+        // Act
+        ApiResponse<BulkCreateResponse> response = urlService.bulkCreateShortUrls(List.of(first, second), "test@example.com");
+
+        // Assert
+        assertEquals(1, response.getData().getCreated());
+        assertTrue(response.getData().getResults().get(0).isSuccess());
+        assertFalse(response.getData().getResults().get(1).isSuccess());
+    }
+
+    @Test
+    void bulkCreateShortUrls_AccessDeniedFailsItsItems() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(organizationService.findAccessibleOrganization(1L, "test@example.com")).thenReturn(Optional.empty());
+
+        // Act
+        ApiResponse<BulkCreateResponse> response = urlService.bulkCreateShortUrls(List.of(createUrlRequest), "test@example.com");
+
+        // Assert
+        assertEquals("Access denied to this organization", response.getData().getResults().get(0).getMessage());
+        verifyNoInteractions(urlBatchWriter);
+    }
+
+    @Test
+    void bulkCreateShortUrls_RateLimitedOrganizationFailsItsItems() {
+        // Arrange
+        CreateUrlRequest second = TestUtils.createUrlRequest();
+        second.setOriginalUrl("https://example.com/other");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(organizationService.findAccessibleOrganization(1L, "test@example.com")).thenReturn(Optional.of(testOrganization));
+        when(rateLimiter.tryAcquire(RateLimiter.BULK_ORGANIZATION, "1")).thenReturn(1_500_000_000L);
+
+        // Act
+        ApiResponse<BulkCreateResponse> response = urlService.bulkCreateShortUrls(List.of(createUrlRequest, second), "test@example.com");
+
+        // Assert
+        assertEquals(2, response.getData().getFailed());
+        assertEquals("Too many bulk requests for this organization; retry in 2 seconds",
+                response.getData().getResults().get(1).getMessage());
+        verifyNoInteractions(urlBatchWriter, shortCodePool);
+    }
+
+    // What UrlRepository's constructor expression builds for a URL
+    private UrlResponse projectedResponse(Url url) {
+        return new UrlResponse(url.getId(), url.getOriginalUrl(), url.getShortCode(), url.getOrganization().getShortName(),
+                url.getTitle(), url.getDescription(), url.getClickCount(), url.getUniqueVisitors(), url.getCreatedAt(),
+                url.getExpiresAt(), url.isActive(), url.isTrackable(), url.getCreatedBy().getEmail(), url.getCreatedBy().getFirstName(),
+                url.getCreatedBy().getLastName(), url.getOrganization().getName(), url.getOrganization().getId());
     }
-} 
\ No newline at end of file
+}